@@ -0,0 +1,55 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting one private message for sender and recipient, rendering both name sections from the legacy
+ * prefix each time ({@code renderNames}) or reusing the cached sections ({@code cachedNames}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageFormatBenchmark {
+
+    private static final String MESSAGE = "hey, are you coming to the event later?";
+
+    @Param({"", "&8[&6&lVIP&8] &e"})
+    public String prefix;
+
+    private Component senderSection;
+    private Component recipientSection;
+
+    @Setup
+    public void setUp() {
+        senderSection = MessageService.coloredPlayerSection(prefix, "Sender");
+        recipientSection = MessageService.coloredPlayerSection(prefix, "Recipient");
+    }
+
+    @Benchmark
+    public Component[] renderNames() {
+        Component sender = MessageService.coloredPlayerSection(prefix, "Sender");
+        Component recipient = MessageService.coloredPlayerSection(prefix, "Recipient");
+        return new Component[] {
+                MessageService.formatOutgoingMessage(recipient, MESSAGE),
+                MessageService.formatIncomingMessage(sender, MESSAGE)
+        };
+    }
+
+    @Benchmark
+    public Component[] cachedNames() {
+        return new Component[] {
+                MessageService.formatOutgoingMessage(recipientSection, MESSAGE),
+                MessageService.formatIncomingMessage(senderSection, MESSAGE)
+        };
+    }
+}
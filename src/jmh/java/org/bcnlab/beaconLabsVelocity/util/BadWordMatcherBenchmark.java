@@ -0,0 +1,94 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning one chat message against dictionaries of different sizes. {@code containsLoop} is the previous
+ * lowercase-and-{@code contains()}-per-word filter, kept here as the baseline for {@code findFirst}.
+ * Messages are mostly clean, as in real chat, so both sides usually scan the whole message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BadWordMatcherBenchmark {
+
+    private static final int MESSAGES = 1024;
+
+    @Param({"100", "3000"})
+    public int dictionarySize;
+
+    private List<String> words;
+    private BadWordMatcher matcher;
+    private String[] messages;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            words.add(randomWord(random, 4 + random.nextInt(6)));
+        }
+        matcher = BadWordMatcher.compile(words);
+        messages = new String[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            StringBuilder message = new StringBuilder();
+            int wordCount = 3 + random.nextInt(12);
+            for (int w = 0; w < wordCount; w++) {
+                if (w > 0) message.append(' ');
+                message.append(randomWord(random, 2 + random.nextInt(7)));
+            }
+            if (random.nextInt(20) == 0) {
+                message.append(' ').append(words.get(random.nextInt(words.size())));
+            }
+            messages[i] = message.toString();
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private String nextMessage() {
+        String message = messages[next];
+        next = (next + 1) & (MESSAGES - 1);
+        return message;
+    }
+
+    @Benchmark
+    public String containsLoop() {
+        String lowerCaseMessage = nextMessage().toLowerCase(Locale.ROOT);
+        for (String word : words) {
+            if (lowerCaseMessage.contains(word.toLowerCase(Locale.ROOT))) return word;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public BadWordMatcher.Match findFirst() {
+        return matcher.findFirst(nextMessage());
+    }
+
+    @Benchmark
+    public BadWordMatcher compile() {
+        return BadWordMatcher.compile(words);
+    }
+}
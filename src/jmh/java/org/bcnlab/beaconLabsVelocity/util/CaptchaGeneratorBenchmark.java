@@ -0,0 +1,32 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one captcha map (render plus reduction to map colors) per style. Run with {@code -prof gc} to see
+ * the per-pixel allocations the monochrome path no longer makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CaptchaGeneratorBenchmark {
+
+    @Param({"MONOCHROME", "PALETTE"})
+    public CaptchaGenerator.Style style;
+
+    @Param({"false", "true"})
+    public boolean dither;
+
+    @Benchmark
+    public byte[] generate() {
+        return CaptchaGenerator.generate(style, dither).mapColors;
+    }
+}
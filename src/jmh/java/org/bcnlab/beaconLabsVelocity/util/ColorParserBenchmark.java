@@ -0,0 +1,70 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy color translation and parsing of a typical config message. {@code chainedReplace} is the previous
+ * one-{@code replace}-per-code translation, kept here as the baseline for {@code translateLegacy}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorParserBenchmark {
+
+    @Param({
+            "&6&lBeaconLabs &8» &7You have been muted for &c1h &7by &eAdmin&7.",
+            "Plain message without any color codes",
+    })
+    public String text;
+
+    @Benchmark
+    public String chainedReplace() {
+        return text
+                .replace("&0", "<black>")
+                .replace("&1", "<dark_blue>")
+                .replace("&2", "<dark_green>")
+                .replace("&3", "<dark_aqua>")
+                .replace("&4", "<dark_red>")
+                .replace("&5", "<dark_purple>")
+                .replace("&6", "<gold>")
+                .replace("&7", "<gray>")
+                .replace("&8", "<dark_gray>")
+                .replace("&9", "<blue>")
+                .replace("&a", "<green>")
+                .replace("&b", "<gold>")
+                .replace("&c", "<red>")
+                .replace("&d", "<light_purple>")
+                .replace("&e", "<gold>")
+                .replace("&f", "<gray>")
+                .replace("&k", "<obfuscated>")
+                .replace("&l", "<bold>")
+                .replace("&m", "<strikethrough>")
+                .replace("&n", "<underlined>")
+                .replace("&o", "<italic>")
+                .replace("&r", "<reset>");
+    }
+
+    @Benchmark
+    public String translateLegacy() {
+        return ColorParser.translateLegacy(text);
+    }
+
+    @Benchmark
+    public Component parse() {
+        return ColorParser.parse(text);
+    }
+
+    @Benchmark
+    public Component parseCached() {
+        return ColorParser.parseCached(text);
+    }
+}
@@ -24,14 +24,19 @@ import org.bcnlab.beaconLabsVelocity.config.PunishmentConfig;
 import org.bcnlab.beaconLabsVelocity.config.AbuseConfig;
 import org.bcnlab.beaconLabsVelocity.database.DatabaseManager;
 import org.bcnlab.beaconLabsVelocity.listener.*;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsHttpServer;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.bcnlab.beaconLabsVelocity.command.chat.ChatReportCommand;
 
 import java.util.UUID;
 import org.bcnlab.beaconLabsVelocity.service.MaintenanceService;
+import org.bcnlab.beaconLabsVelocity.service.BackendHealthService;
+import org.bcnlab.beaconLabsVelocity.service.MassTransferService;
 import org.bcnlab.beaconLabsVelocity.service.MessageService;
 import org.bcnlab.beaconLabsVelocity.service.PlayerStatsService;
 import org.bcnlab.beaconLabsVelocity.service.PunishmentService;
 import org.bcnlab.beaconLabsVelocity.service.LegalService;
+import org.bcnlab.beaconLabsVelocity.service.ReportClusterService;
 import org.bcnlab.beaconLabsVelocity.service.ReportService;
 import org.bcnlab.beaconLabsVelocity.service.ServerGuardService;
 import org.bcnlab.beaconLabsVelocity.service.WhitelistService;
@@ -39,6 +44,9 @@ import org.bcnlab.beaconLabsVelocity.service.AntiBotService;
 import org.bcnlab.beaconLabsVelocity.service.ScreeningService;
 import org.bcnlab.beaconLabsVelocity.service.PlayerSettingsService;
 import org.bcnlab.beaconLabsVelocity.service.FriendService;
+import org.bcnlab.beaconLabsVelocity.service.StaffAudienceService;
+import org.bcnlab.beaconLabsVelocity.service.BadWordService;
+import org.bcnlab.beaconLabsVelocity.service.ChatAbuseService;
 import org.bcnlab.beaconLabsVelocity.command.admin.AntiAbuseCommand;
 import org.bcnlab.beaconLabsVelocity.command.admin.IpInfoCommand;
 import org.bcnlab.beaconLabsVelocity.brand.F3BrandService;
@@ -83,20 +91,29 @@ public class BeaconLabsVelocity {
     private DatabaseManager databaseManager;
     private PlayerStatsService playerStatsService;    private MaintenanceService maintenanceService;
     private MessageService messageService;
+    private StaffAudienceService staffAudienceService;
+    private BadWordService badWordService;
+    private ChatAbuseService chatAbuseService;
     private WhitelistService whitelistService;
     private ReportService reportService;
+    private ReportClusterService reportClusterService;
+    private MassTransferService massTransferService;
     private LegalService legalService;
     private ServerGuardService serverGuardService;
+    private BackendHealthService backendHealthService;
     private F3BrandService f3BrandService;
     private VisualStateListener visualStateListener;
     private org.bcnlab.beaconLabsVelocity.crossproxy.CrossProxyService crossProxyService;
     private FileChatLogger fileChatLogger;
+    private PingListener pingListener;
     private AbuseConfig abuseConfig;
     private AntiBotService antiBotService;
     private ScreeningService screeningService;
     private PlayerSettingsService playerSettingsService;
     private FriendService friendService;
     private volatile boolean featherDebug = false;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private MetricsHttpServer metricsHttpServer;
     private final org.bcnlab.beaconLabsVelocity.util.DependencyTracker dependencyTracker = new org.bcnlab.beaconLabsVelocity.util.DependencyTracker();
 
     public org.bcnlab.beaconLabsVelocity.util.DependencyTracker getDependencyTracker() {
@@ -182,6 +199,9 @@ public class BeaconLabsVelocity {
             
             screeningService = new ScreeningService(this, abuseConfig, server);
             server.getEventManager().register(this, screeningService);
+
+            chatAbuseService = new ChatAbuseService(this, abuseConfig, logger);
+            server.getEventManager().register(this, chatAbuseService);
             
             logger.info("Abuse/AntiBot module initialized.");
         }
@@ -202,10 +222,20 @@ public class BeaconLabsVelocity {
         this.playerSettingsService = new PlayerSettingsService(this, databaseManager, logger);
         this.friendService = new FriendService(this, databaseManager, server, logger);
 
+        // Online staff per permission, used for permission-filtered broadcasts
+        staffAudienceService = new StaffAudienceService(this, server, logger);
+        server.getEventManager().register(this, staffAudienceService);
+
         // Initialize MessageService for private messaging
         messageService = new MessageService(this, server, logger);
+        staffAudienceService.addPermissionListener(messageService::invalidateRenderedName);
         server.getEventManager().register(this, new MessageListener(this, messageService));
-        logger.info("Message service has been enabled.");        // Initialize WhitelistService and register WhitelistListener if database is connected
+        logger.info("Message service has been enabled.");
+
+        // Throttled mass sends for /send all and /send <server> <server>
+        massTransferService = new MassTransferService(this, logger);
+
+        // Initialize WhitelistService and register WhitelistListener if database is connected
         if (databaseManager != null && databaseManager.isConnected()) {
             whitelistService = new WhitelistService(this, server, databaseManager, logger);
             server.getEventManager().register(this, new WhitelistListener(this, whitelistService));
@@ -217,9 +247,10 @@ public class BeaconLabsVelocity {
         // Initialize ReportService for player reporting system if database is connected
         if (databaseManager != null && databaseManager.isConnected()) {
             reportService = new ReportService(this, databaseManager, logger);
+            reportClusterService = new ReportClusterService(this, reportService, logger);
             
             // Register report commands
-            commandManager.register("report", new ReportCommand(this, reportService));
+            commandManager.register("report", new ReportCommand(this, reportService, reportClusterService));
             commandManager.register("reports", new ReportsCommand(this, reportService));
             
             logger.info("Report service has been enabled.");
@@ -241,8 +272,13 @@ public class BeaconLabsVelocity {
             }
         }
 
+        // Backend health checks for lobby routing; configured from servers.yml by ServerGuardService
+        backendHealthService = new BackendHealthService(this, server, logger);
+
         // Initialize ServerGuardService
         serverGuardService = new ServerGuardService(this, server, logger);
+        staffAudienceService.addPermissionListener(serverGuardService::invalidatePlayer);
+        backendHealthService.start();
         server.getEventManager().register(this, new ServerGuardListener(this, serverGuardService));
         logger.info("Server guard system has been enabled.");
 
@@ -254,14 +290,21 @@ public class BeaconLabsVelocity {
         String publicHostname = redisNode != null ? redisNode.node("public-hostname").getString("") : "";
         boolean allowDoubleJoin = redisNode != null && redisNode.node("allow-double-join").getBoolean(false);
         crossProxyService = new org.bcnlab.beaconLabsVelocity.crossproxy.CrossProxyService(this, proxyId, sharedSecret, publicHostname, redisEnabled, allowDoubleJoin);
+        crossProxyService.addPrefixListener(messageService::invalidateRemoteRenderedName);
         if (redisEnabled) {
             crossProxyService.start(
                     redisNode.node("host").getString("localhost"),
                     redisNode.node("port").getInt(6379),
                     redisNode.node("password").getString(""),
                     redisNode.node("connect-timeout-ms").getInt(5000),
-                    redisNode.node("reconnect-interval-ms").getInt(5000)
+                    redisNode.node("reconnect-interval-ms").getInt(5000),
+                    redisNode.node("durable-commands").getString("streams")
             );
+            if (redisNode.node("chat-history", "enabled").getBoolean(false)) {
+                crossProxyService.enableChatHistory(
+                        redisNode.node("chat-history", "max-entries").getInt(1000),
+                        redisNode.node("chat-history", "ttl-hours").getInt(24));
+            }
             server.getEventManager().register(this, new CrossProxyLoginListener(this));
             server.getEventManager().register(this, new CrossProxyDisconnectListener(this));
             server.getEventManager().register(this, new CrossProxyServerSwitchListener(this));
@@ -274,6 +317,8 @@ public class BeaconLabsVelocity {
         }
 
         // Other Listeners
+        // Bad-word dictionary: badwords.yml (watched) plus the optional shared store, synced across proxies
+        badWordService = new BadWordService(this, databaseManager, logger);
         server.getEventManager().register(this, new ChatFilterListener(this, server));
         server.getEventManager().register(this, new org.bcnlab.beaconLabsVelocity.listener.FriendNotificationListener(this));
         
@@ -305,9 +350,14 @@ public class BeaconLabsVelocity {
         
         server.getEventManager().register(this, new org.bcnlab.beaconLabsVelocity.listener.ReportDialogListener(this));
 
-        fileChatLogger = new FileChatLogger(getDataDirectory().toString());
+        fileChatLogger = new FileChatLogger(getDataDirectory().toString(), logger);
+        applyChatReportLimits();
+        if (crossProxyService != null && crossProxyService.getChatHistory() != null) {
+            fileChatLogger.setSharedHistory(crossProxyService.getChatHistory());
+        }
         server.getEventManager().register(this, fileChatLogger);
-        server.getEventManager().register(this, new PingListener(this, server));
+        pingListener = new PingListener(this, server);
+        server.getEventManager().register(this, pingListener);
 
         // Feather Server API integration (server list background + Discord Rich Presence)
         org.bcnlab.beaconLabsVelocity.feather.FeatherIntegration.init(this);
@@ -352,9 +402,28 @@ public class BeaconLabsVelocity {
             logger.warn("PacketEvents init failed: {}", t.getMessage());
         }
 
+        startMetricsEndpoint();
+
         logger.info("BeaconLabsVelocity is initialized!");
     }
 
+    /** Serve {@link #getMetrics()} over HTTP when {@code metrics.enabled} is set. */
+    private void startMetricsEndpoint() {
+        ConfigurationNode metricsConfig = config != null ? config.node("metrics") : null;
+        if (metricsConfig == null || !metricsConfig.node("enabled").getBoolean(false)) {
+            return;
+        }
+        String bind = metricsConfig.node("bind").getString("127.0.0.1");
+        int port = metricsConfig.node("port").getInt(9225);
+        metricsHttpServer = new MetricsHttpServer(metrics, logger);
+        try {
+            metricsHttpServer.start(bind, port);
+        } catch (IOException e) {
+            logger.error("Failed to start metrics endpoint on {}:{}: {}", bind, port, e.getMessage());
+            metricsHttpServer = null;
+        }
+    }
+
     @Subscribe
     public void onProxyReload(ProxyReloadEvent event) {
         Path configFile = dataDirectory.resolve("config.yml");
@@ -366,6 +435,13 @@ public class BeaconLabsVelocity {
             prefix = config != null
                     ? config.node("prefix").getString("<gold>BeaconLabs</gold> <dark_gray>»</dark_gray> ")
                     : "&4ConfigError &8» ";
+            if (pingListener != null) {
+                pingListener.reload();
+            }
+            applyChatReportLimits();
+            if (badWordService != null) {
+                badWordService.reload();
+            }
             logger.info("BeaconLabsVelocity config.yml reloaded (includes f3-brand).");
         } catch (IOException e) {
             logger.warn("Failed to reload config.yml after proxy reload: {}", e.getMessage());
@@ -379,10 +455,29 @@ public class BeaconLabsVelocity {
                 com.github.retrooper.packetevents.PacketEvents.getAPI().terminate();
             }
         } catch (Throwable ignored) {}
+        if (metricsHttpServer != null) {
+            metricsHttpServer.stop();
+        }
         // Drain queued playtime/session writes before closing the database pool.
         if (playerStatsService != null) {
             playerStatsService.shutdown();
         }
+        if (antiBotService != null) {
+            antiBotService.shutdown();
+        }
+        // Write report cases still waiting for their batch
+        if (reportClusterService != null) {
+            reportClusterService.shutdown();
+        }
+        if (badWordService != null) {
+            badWordService.shutdown();
+        }
+        if (massTransferService != null) {
+            massTransferService.shutdown();
+        }
+        if (backendHealthService != null) {
+            backendHealthService.shutdown();
+        }
         if (crossProxyService != null) {
             crossProxyService.shutdown();
         }
@@ -422,6 +517,10 @@ public class BeaconLabsVelocity {
         return databaseManager;
     }
 
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
     public ConfigurationNode getConfig() {
         return config;
     }
@@ -465,9 +564,27 @@ public class BeaconLabsVelocity {
     public MaintenanceService getMaintenanceService() {
         return maintenanceService;
     }
+
+    public MassTransferService getMassTransferService() {
+        return massTransferService;
+    }
+
       public MessageService getMessageService() {
         return messageService;
     }
+
+    public StaffAudienceService getStaffAudienceService() {
+        return staffAudienceService;
+    }
+
+    public BadWordService getBadWordService() {
+        return badWordService;
+    }
+
+    /** Chat flood/spam checks; null when the abuse module is not loaded. */
+    public ChatAbuseService getChatAbuseService() {
+        return chatAbuseService;
+    }
     
     public WhitelistService getWhitelistService() {
         return whitelistService;
@@ -477,6 +594,10 @@ public class BeaconLabsVelocity {
         return legalService;
     }
 
+    public BackendHealthService getBackendHealthService() {
+        return backendHealthService;
+    }
+
     public ServerGuardService getServerGuardService() {
         return serverGuardService;
     }
@@ -515,6 +636,10 @@ public class BeaconLabsVelocity {
         return fileChatLogger;
     }
 
+    public PingListener getPingListener() {
+        return pingListener;
+    }
+
     /** When true, Feather join events (PlayerHelloEvent) are logged with player, platform, and enabled mods. */
     public boolean isFeatherDebug() {
         return featherDebug;
@@ -524,6 +649,15 @@ public class BeaconLabsVelocity {
         this.featherDebug = featherDebug;
     }
 
+    private void applyChatReportLimits() {
+        if (fileChatLogger == null || config == null) return;
+        ConfigurationNode node = config.node("chat-report");
+        fileChatLogger.setReportLimits(
+                node.node("max-lines").getInt(300),
+                node.node("max-minutes").getInt(60),
+                node.node("max-upload-kb").getInt(64) * 1024);
+    }
+
     /**
      * Perform a chat report for a player on this proxy (read log, upload, publish result).
      * Used when another proxy requests a report via CHATREPORT_REQUEST.
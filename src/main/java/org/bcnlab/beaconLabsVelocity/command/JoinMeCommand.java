@@ -11,6 +11,7 @@ import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.ChatAbuseService;
 
 import java.util.HashMap;
 import java.util.List;
@@ -92,6 +93,11 @@ public class JoinMeCommand implements SimpleCommand {
             }
         }
         
+        ChatAbuseService chatAbuse = plugin.getChatAbuseService();
+        if (chatAbuse != null && !chatAbuse.allow(player, ChatAbuseService.Channel.JOINME, null)) {
+            return;
+        }
+
         // If a player name is provided, send the joinme to that specific player
         if (args.length > 0) {
             String targetName = args[0];
@@ -7,8 +7,8 @@ import com.velocitypowered.api.proxy.ServerConnection;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.ReportClusterService;
 import org.bcnlab.beaconLabsVelocity.service.ReportService;
 
 import java.util.ArrayList;
@@ -27,6 +27,7 @@ public class ReportCommand implements SimpleCommand {
     
     private final BeaconLabsVelocity plugin;
     private final ReportService reportService;
+    private final ReportClusterService reportClusterService;
     
     // Permission
     private static final String PERMISSION = "beaconlabs.command.report";
@@ -37,9 +38,10 @@ public class ReportCommand implements SimpleCommand {
     // Default cooldown in seconds
     private static final int DEFAULT_COOLDOWN = 60;
     
-    public ReportCommand(BeaconLabsVelocity plugin, ReportService reportService) {
+    public ReportCommand(BeaconLabsVelocity plugin, ReportService reportService, ReportClusterService reportClusterService) {
         this.plugin = plugin;
         this.reportService = reportService;
+        this.reportClusterService = reportClusterService;
     }
     
     @Override
@@ -153,38 +155,22 @@ public class ReportCommand implements SimpleCommand {
             targetUuid = "offline:" + targetName;
         }
         
-        // Submit the report
-        reportService.createReport(
-            targetUuid, 
-            targetName, 
-            player.getUniqueId().toString(), 
-            player.getUsername(), 
-            reason,
-            serverName
-        ).thenAccept(reportId -> {
-            if (reportId > 0) {
-                // Success
-                player.sendMessage(plugin.getPrefix(player).append(
-                    Component.text("Your report has been submitted. Report ID: ", NamedTextColor.GREEN)
-                        .append(Component.text("#" + reportId, NamedTextColor.GOLD, TextDecoration.BOLD))
-                ));
-                
-                // Notify online staff on this proxy and publish to other proxies
-                Component notification = buildReportNotification(targetName, player.getUsername(), reason, serverName, reportId);
-                notifyStaff(notification);
-                if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
-                    plugin.getCrossProxyService().publishReportNotify(MiniMessage.miniMessage().serialize(notification));
-                }
-                
-                // Add cooldown
-                addCooldown(player.getUniqueId().toString());
-            } else {
-                // Failed
-                player.sendMessage(plugin.getPrefix(player).append(
-                    Component.text("Failed to submit your report. Please try again later.", NamedTextColor.RED)
-                ));
-            }
-        });
+        // Submit the report; reports against the same player are merged into one case and written in batches
+        ReportClusterService.SubmitResult result = reportClusterService.submit(targetUuid, targetName, player, reason, serverName);
+        if (result == ReportClusterService.SubmitResult.DUPLICATE) {
+            player.sendMessage(plugin.getPrefix(player).append(
+                Component.text("You have already reported " + targetName + ". Staff will look into it.", NamedTextColor.GOLD)
+            ));
+            return;
+        }
+        player.sendMessage(plugin.getPrefix(player).append(
+            Component.text(result == ReportClusterService.SubmitResult.MERGED
+                ? "Thank you! Other players reported " + targetName + " too; your report was added to their case."
+                : "Thank you! Your report is being submitted.", NamedTextColor.GREEN)
+        ));
+        
+        // Add cooldown
+        addCooldown(player.getUniqueId().toString());
     }
     
     /**
@@ -231,32 +217,6 @@ public class ReportCommand implements SimpleCommand {
         cooldowns.put(playerUuid, System.currentTimeMillis() + cooldownSeconds * 1000L);
     }
     
-    private static Component buildReportNotification(String reportedName, String reporterName, String reason, String serverName, int reportId) {
-        return Component.text("【REPORT】", NamedTextColor.RED, TextDecoration.BOLD)
-            .append(Component.text(" New player report #" + reportId + ":", NamedTextColor.GOLD))
-            .append(Component.newline())
-            .append(Component.text("  Reported: ", NamedTextColor.GOLD))
-            .append(Component.text(reportedName, NamedTextColor.GRAY))
-            .append(Component.newline())
-            .append(Component.text("  By: ", NamedTextColor.GOLD))
-            .append(Component.text(reporterName, NamedTextColor.GRAY))
-            .append(Component.newline())
-            .append(Component.text("  Server: ", NamedTextColor.GOLD))
-            .append(Component.text(serverName, NamedTextColor.GRAY))
-            .append(Component.newline())
-            .append(Component.text("  Reason: ", NamedTextColor.GOLD))
-            .append(Component.text(reason, NamedTextColor.GRAY));
-    }
-
-    /** Notify local staff with reports.notify permission. */
-    private void notifyStaff(Component notification) {
-        for (Player staffMember : plugin.getServer().getAllPlayers()) {
-            if (staffMember.hasPermission("beaconlabs.reports.notify")) {
-                staffMember.sendMessage(notification);
-            }
-        }
-    }
-    
     @Override
     public List<String> suggest(Invocation invocation) {
         String[] args = invocation.arguments();
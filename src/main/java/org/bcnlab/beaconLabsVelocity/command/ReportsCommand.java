@@ -13,6 +13,8 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
 import org.bcnlab.beaconLabsVelocity.service.ReportService;
 import org.bcnlab.beaconLabsVelocity.service.ReportService.Report;
+import org.bcnlab.beaconLabsVelocity.service.ReportService.ReportCursor;
+import org.bcnlab.beaconLabsVelocity.service.ReportService.ReportPage;
 import org.bcnlab.beaconLabsVelocity.service.ReportService.ReportStatus;
 import org.bcnlab.beaconLabsVelocity.util.DurationUtils;
 
@@ -22,7 +24,10 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -41,6 +46,12 @@ public class ReportsCommand implements SimpleCommand {
     // Default page size for report listings
     private static final int PAGE_SIZE = 7;
     
+    private static final Set<ReportStatus> ACTIVE_STATUSES = EnumSet.of(ReportStatus.OPEN, ReportStatus.IN_PROGRESS);
+    
+    // Cursor prefixes used by the navigation links
+    private static final String CURSOR_OLDER = "older:";
+    private static final String CURSOR_NEWER = "newer:";
+    
     // Date time formatter for human-readable timestamps
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
                                                                      .withZone(ZoneId.systemDefault());
@@ -72,16 +83,10 @@ public class ReportsCommand implements SimpleCommand {
                         listActiveReports(source, 1);
                         return;
                     }
-                    // Fetch reports async and send them
-                    CompletableFuture<List<Report>> openReportsFuture = reportService.getReports(ReportStatus.OPEN, PAGE_SIZE * 5, 0); // fetch up to 50
-                    CompletableFuture<List<Report>> inProgressReportsFuture = reportService.getReports(ReportStatus.IN_PROGRESS, PAGE_SIZE * 5, 0);
-                    
-                    CompletableFuture.allOf(openReportsFuture, inProgressReportsFuture).thenRun(() -> {
+                    // Fetch the newest active reports async and send them
+                    reportService.getReportPage(ACTIVE_STATUSES, null, true, PAGE_SIZE * 5).thenAccept(reportPage -> {
                         try {
-                            List<Report> reports = new ArrayList<>();
-                            reports.addAll(openReportsFuture.get());
-                            reports.addAll(inProgressReportsFuture.get());
-                            reports.sort((r1, r2) -> Long.compare(r2.getReportTime(), r1.getReportTime()));
+                            List<Report> reports = reportPage.reports();
                             
                             java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
                             java.io.DataOutputStream data = new java.io.DataOutputStream(out);
@@ -120,14 +125,20 @@ public class ReportsCommand implements SimpleCommand {
                 // Handle filters for report listing
                 if (args.length >= 2) {
                     String statusArg = args[1].toUpperCase();
-                    ReportStatus status;
-                    try {
-                        status = ReportStatus.valueOf(statusArg);
-                    } catch (IllegalArgumentException e) {
-                        source.sendMessage(plugin.getPrefix(source).append(
-                            Component.text("Invalid status. Use: OPEN, IN_PROGRESS, RESOLVED, REJECTED, or ALL", NamedTextColor.GRAY)
-                        ));
+                    ReportStatus status = null;
+                    if (statusArg.equals("ACTIVE")) {
+                        int page = args.length >= 3 ? parsePage(args[2]) : 1;
+                        listActiveReports(source, page, args.length >= 4 ? args[3] : null);
                         return;
+                    } else if (!statusArg.equals("ALL")) {
+                        try {
+                            status = ReportStatus.valueOf(statusArg);
+                        } catch (IllegalArgumentException e) {
+                            source.sendMessage(plugin.getPrefix(source).append(
+                                Component.text("Invalid status. Use: OPEN, IN_PROGRESS, RESOLVED, REJECTED, ACTIVE or ALL", NamedTextColor.GRAY)
+                            ));
+                            return;
+                        }
                     }
                     
                     int page = 1;
@@ -143,7 +154,7 @@ public class ReportsCommand implements SimpleCommand {
                         }
                     }
                       // List reports with the specific status
-                    listReports(source, status.equals(ReportStatus.valueOf("ALL")) ? null : status, page);
+                    listReports(source, status, page, args.length >= 4 ? args[3] : null);
                 } else {
                     // Default to listing active reports
                     listActiveReports(source, 1);
@@ -247,17 +258,102 @@ public class ReportsCommand implements SimpleCommand {
         }
     }
     
+    /**
+     * Fetch a page of a listing. Pages reached through the navigation links carry a cursor
+     * ({@code older:<time>:<id>} or {@code newer:<time>:<id>}) and are fetched by key; a page number
+     * typed without one falls back to an offset.
+     * 
+     * @param statuses The statuses to list, or null for all reports
+     * @param page The page number (1-based)
+     * @param cursorArg The cursor argument, or null
+     */
+    private CompletableFuture<ReportPage> fetchPage(Set<ReportStatus> statuses, int page, String cursorArg) {
+        if (cursorArg != null) {
+            boolean older = cursorArg.startsWith(CURSOR_OLDER);
+            if (older || cursorArg.startsWith(CURSOR_NEWER)) {
+                Optional<ReportCursor> cursor = ReportCursor.parse(cursorArg.substring(cursorArg.indexOf(':') + 1));
+                if (cursor.isPresent()) {
+                    return reportService.getReportPage(statuses, cursor.get(), older, PAGE_SIZE);
+                }
+            }
+        }
+        if (page <= 1) {
+            return reportService.getReportPage(statuses, null, true, PAGE_SIZE);
+        }
+        // Typed page number: fall back to an offset. Several statuses are merged, so each must supply the
+        // rows before the page too.
+        int offset = (page - 1) * PAGE_SIZE;
+        if (statuses == null || statuses.size() == 1) {
+            ReportStatus status = statuses == null ? null : statuses.iterator().next();
+            return reportService.getReports(status, PAGE_SIZE + 1, offset).thenApply(this::offsetPage);
+        }
+        List<CompletableFuture<List<Report>>> futures = new ArrayList<>();
+        for (ReportStatus status : statuses) {
+            futures.add(reportService.getReports(status, offset + PAGE_SIZE + 1, 0));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<Report> reports = new ArrayList<>();
+            futures.forEach(f -> reports.addAll(f.join()));
+            reports.sort(Comparator.comparingLong(Report::getReportTime).thenComparingInt(Report::getId).reversed());
+            return offsetPage(reports.subList(Math.min(offset, reports.size()), reports.size()));
+        });
+    }
+    
+    /** A page from an offset query that fetched one row more than {@link #PAGE_SIZE}. */
+    private ReportPage offsetPage(List<Report> reports) {
+        boolean hasOlder = reports.size() > PAGE_SIZE;
+        return new ReportPage(new ArrayList<>(reports.subList(0, Math.min(PAGE_SIZE, reports.size()))), hasOlder, true);
+    }
+    
+    /**
+     * Navigation footer for a listing page
+     */
+    private Component pageFooter(String listArg, int page, ReportPage reportPage) {
+        Component footer = Component.empty();
+        
+        if (reportPage.hasNewer() && page > 1) {
+            footer = footer.append(
+                Component.text("[Previous]", NamedTextColor.GOLD)
+                    .clickEvent(ClickEvent.runCommand("/reports list " + listArg + " " + (page - 1) + " " + CURSOR_NEWER + reportPage.first()))
+                    .hoverEvent(HoverEvent.showText(Component.text("Go to previous page", NamedTextColor.GOLD)))
+            );
+        } else {
+            footer = footer.append(Component.text("[Previous]", NamedTextColor.DARK_GRAY));
+        }
+        
+        footer = footer.append(Component.text(" | ", NamedTextColor.GRAY));
+        
+        if (reportPage.hasOlder()) {
+            footer = footer.append(
+                Component.text("[Next]", NamedTextColor.GOLD)
+                    .clickEvent(ClickEvent.runCommand("/reports list " + listArg + " " + (page + 1) + " " + CURSOR_OLDER + reportPage.last()))
+                    .hoverEvent(HoverEvent.showText(Component.text("Go to next page", NamedTextColor.GOLD)))
+            );
+        } else {
+            footer = footer.append(Component.text("[Next]", NamedTextColor.DARK_GRAY));
+        }
+        return footer;
+    }
+    
+    private static int parsePage(String arg) {
+        try {
+            return Math.max(1, Integer.parseInt(arg));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+    
     /**
      * List reports with pagination
      * 
      * @param source The command source
      * @param status The status to filter by, or null for all reports
      * @param page The page number (1-based)
+     * @param cursorArg Cursor from a navigation link, or null
      */
-    private void listReports(CommandSource source, ReportStatus status, int page) {
-        int offset = (page - 1) * PAGE_SIZE;
-        
-        reportService.getReports(status, PAGE_SIZE + 1, offset).thenAccept(reports -> {
+    private void listReports(CommandSource source, ReportStatus status, int page, String cursorArg) {
+        fetchPage(status != null ? EnumSet.of(status) : null, page, cursorArg).thenAccept(reportPage -> {
+            List<Report> reports = reportPage.reports();
             if (reports.isEmpty()) {
                 source.sendMessage(plugin.getPrefix(source).append(
                     Component.text("No reports found.", NamedTextColor.GOLD)
@@ -265,13 +361,6 @@ public class ReportsCommand implements SimpleCommand {
                 return;
             }
             
-            // Determine if there are more pages
-            boolean hasNextPage = reports.size() > PAGE_SIZE;
-            if (hasNextPage) {
-                // Remove the extra item we fetched to check for more pages
-                reports.remove(reports.size() - 1);
-            }
-            
             // Build header based on status
             String statusDisplay = status != null ? status.getDisplayName() : "All";
             Component header = Component.text("Player Reports - " + statusDisplay, NamedTextColor.GOLD, TextDecoration.BOLD)
@@ -307,7 +396,7 @@ public class ReportsCommand implements SimpleCommand {
                     .append(Component.text("] ", NamedTextColor.DARK_GRAY))
                     .append(Component.text(report.getReportedName(), NamedTextColor.GRAY))
                     .append(Component.text(" reported by ", NamedTextColor.GRAY))
-                    .append(Component.text(report.getReporterName(), NamedTextColor.GRAY))
+                    .append(Component.text(formatReporters(report), NamedTextColor.GRAY))
                     .append(Component.text(" (", NamedTextColor.GRAY))
                     .append(Component.text(formatTimeAgo(report.getReportTime()), NamedTextColor.GOLD))
                     .append(Component.text(")", NamedTextColor.GRAY))
@@ -317,33 +406,8 @@ public class ReportsCommand implements SimpleCommand {
                 source.sendMessage(reportEntry);
             }
             
-            // Navigation footer
-            Component footer = Component.empty();
-            
-            if (page > 1) {
-                footer = footer.append(
-                    Component.text("[Previous]", NamedTextColor.GOLD)
-                        .clickEvent(ClickEvent.runCommand("/reports list " + (status != null ? status.name() : "ALL") + " " + (page - 1)))
-                        .hoverEvent(HoverEvent.showText(Component.text("Go to previous page", NamedTextColor.GOLD)))
-                );
-            } else {
-                footer = footer.append(Component.text("[Previous]", NamedTextColor.DARK_GRAY));
-            }
-            
-            footer = footer.append(Component.text(" | ", NamedTextColor.GRAY));
-            
-            if (hasNextPage) {
-                footer = footer.append(
-                    Component.text("[Next]", NamedTextColor.GOLD)
-                        .clickEvent(ClickEvent.runCommand("/reports list " + (status != null ? status.name() : "ALL") + " " + (page + 1)))
-                        .hoverEvent(HoverEvent.showText(Component.text("Go to next page", NamedTextColor.GOLD)))
-                );
-            } else {
-                footer = footer.append(Component.text("[Next]", NamedTextColor.DARK_GRAY));
-            }
-            
             source.sendMessage(Component.text("-------------------------------", NamedTextColor.DARK_GRAY));
-            source.sendMessage(footer);
+            source.sendMessage(pageFooter(status != null ? status.name() : "ALL", page, reportPage));
         });
     }
     
@@ -399,6 +463,10 @@ public class ReportsCommand implements SimpleCommand {
             // Reporter and server
             source.sendMessage(Component.text("Reporter: ", NamedTextColor.GOLD)
                 .append(Component.text(report.getReporterName(), NamedTextColor.GRAY)));
+            if (report.getReporterCount() > 1) {
+                source.sendMessage(Component.text("Reported by: ", NamedTextColor.GOLD)
+                    .append(Component.text(report.getReporterCount() + " players", NamedTextColor.RED)));
+            }
             source.sendMessage(Component.text("Server: ", NamedTextColor.GOLD)
                 .append(Component.text(report.getServerName(), NamedTextColor.GRAY)));
             
@@ -608,7 +676,7 @@ public class ReportsCommand implements SimpleCommand {
         source.sendMessage(Component.text("-------------------------------", NamedTextColor.DARK_GRAY));
         
         sendHelpLine(source, "/reports", "Show all active reports (OPEN and IN_PROGRESS)");
-        sendHelpLine(source, "/reports list <status> [page]", "List reports with status filter (OPEN, IN_PROGRESS, RESOLVED, REJECTED, ALL)");
+        sendHelpLine(source, "/reports list <status> [page]", "List reports with status filter (OPEN, IN_PROGRESS, RESOLVED, REJECTED, ACTIVE, ALL)");
         sendHelpLine(source, "/reports view <id>", "View details of a specific report");
         sendHelpLine(source, "/reports <id>", "Shorthand for view command");
         sendHelpLine(source, "/reports player <name>", "View all reports for a specific player");
@@ -647,6 +715,18 @@ public class ReportsCommand implements SimpleCommand {
         return DurationUtils.formatTimeAgo(diff);
     }
     
+    /**
+     * First reporter, plus how many more players reported the same case
+     * 
+     * @param report The report
+     * @return e.g. "Steve" or "Steve +4"
+     */
+    private String formatReporters(Report report) {
+        return report.getReporterCount() > 1
+            ? report.getReporterName() + " +" + (report.getReporterCount() - 1)
+            : report.getReporterName();
+    }
+    
     /**
      * Shorten a reason string if it's too long
      * 
@@ -668,25 +748,20 @@ public class ReportsCommand implements SimpleCommand {
      * @param page The page number (1-based)
      */
     private void listActiveReports(CommandSource source, int page) {
-        int offset = (page - 1) * PAGE_SIZE;
-        
-        // First, fetch all the active reports (we'll need to do this in two steps)
-        CompletableFuture<List<Report>> openReportsFuture = reportService.getReports(ReportStatus.OPEN, PAGE_SIZE + 1, offset);
-        CompletableFuture<List<Report>> inProgressReportsFuture = reportService.getReports(ReportStatus.IN_PROGRESS, PAGE_SIZE + 1, offset);
-        
-        // When both futures complete, merge and display the reports
-        CompletableFuture.allOf(openReportsFuture, inProgressReportsFuture).thenRun(() -> {
+        listActiveReports(source, page, null);
+    }
+    
+    /**
+     * List all active reports (OPEN and IN_PROGRESS) with pagination
+     * 
+     * @param source The command source
+     * @param page The page number (1-based)
+     * @param cursorArg Cursor from a navigation link, or null
+     */
+    private void listActiveReports(CommandSource source, int page, String cursorArg) {
+        fetchPage(ACTIVE_STATUSES, page, cursorArg).thenAccept(reportPage -> {
             try {
-                List<Report> openReports = openReportsFuture.get();
-                List<Report> inProgressReports = inProgressReportsFuture.get();
-                
-                // Merge the reports
-                List<Report> reports = new ArrayList<>();
-                reports.addAll(openReports);
-                reports.addAll(inProgressReports);
-                
-                // Sort by report time (newest first)
-                reports.sort((r1, r2) -> Long.compare(r2.getReportTime(), r1.getReportTime()));
+                List<Report> reports = reportPage.reports();
                 
                 if (reports.isEmpty()) {
                     source.sendMessage(plugin.getPrefix(source).append(
@@ -695,16 +770,11 @@ public class ReportsCommand implements SimpleCommand {
                     return;
                 }
                 
-                // Determine if there are more reports than we can display on one page
-                boolean hasNextPage = reports.size() > PAGE_SIZE;
-                if (hasNextPage) {
-                    // Keep only the reports that fit on this page
-                    reports = reports.subList(0, PAGE_SIZE);
-                }
-                
                 // Build header
                 Component header = Component.text("Active Reports", NamedTextColor.GOLD, TextDecoration.BOLD)
-                    .append(Component.text(" (Page " + page + ")", NamedTextColor.GOLD));
+                    .append(Component.text(" (Page " + page + ")", NamedTextColor.GOLD))
+                    .append(Component.text(" " + reportService.getOpenCount() + " open, "
+                        + reportService.getInProgressCount() + " in progress", NamedTextColor.GRAY));
                     
                 source.sendMessage(Component.empty());
                 source.sendMessage(header);
@@ -730,7 +800,7 @@ public class ReportsCommand implements SimpleCommand {
                         .append(Component.text("] ", NamedTextColor.DARK_GRAY))
                         .append(Component.text(report.getReportedName(), NamedTextColor.GRAY))
                         .append(Component.text(" reported by ", NamedTextColor.GRAY))
-                        .append(Component.text(report.getReporterName(), NamedTextColor.GRAY))
+                        .append(Component.text(formatReporters(report), NamedTextColor.GRAY))
                         .append(Component.text(" (", NamedTextColor.GRAY))
                         .append(Component.text(formatTimeAgo(report.getReportTime()), NamedTextColor.GOLD))
                         .append(Component.text(")", NamedTextColor.GRAY))
@@ -740,33 +810,9 @@ public class ReportsCommand implements SimpleCommand {
                     source.sendMessage(reportEntry);
                 }
                 
-                // Navigation footer
-                Component footer = Component.empty();
-                
-                if (page > 1) {
-                    footer = footer.append(
-                        Component.text("[Previous]", NamedTextColor.GOLD)
-                            .clickEvent(ClickEvent.runCommand("/reports list ALL " + (page - 1)))
-                            .hoverEvent(HoverEvent.showText(Component.text("Go to previous page", NamedTextColor.GOLD)))
-                    );
-                } else {
-                    footer = footer.append(Component.text("[Previous]", NamedTextColor.DARK_GRAY));
-                }
-                
-                footer = footer.append(Component.text(" | ", NamedTextColor.GRAY));
-                
-                if (hasNextPage) {
-                    footer = footer.append(
-                        Component.text("[Next]", NamedTextColor.GOLD)
-                            .clickEvent(ClickEvent.runCommand("/reports list ALL " + (page + 1)))
-                            .hoverEvent(HoverEvent.showText(Component.text("Go to next page", NamedTextColor.GOLD)))
-                    );
-                } else {
-                    footer = footer.append(Component.text("[Next]", NamedTextColor.DARK_GRAY));
-                }
-                
                 source.sendMessage(Component.text("-------------------------------", NamedTextColor.DARK_GRAY));
-                source.sendMessage(footer);            } catch (Exception e) {
+                source.sendMessage(pageFooter("ACTIVE", page, reportPage));
+            } catch (Exception e) {
                 source.sendMessage(plugin.getPrefix(source).append(
                     Component.text("An error occurred while fetching reports.", NamedTextColor.RED)
                 ));
@@ -787,9 +833,12 @@ public class ReportsCommand implements SimpleCommand {
         switch (subCommand) {
             case "list":
                 if (args.length == 2) {
-                    return Arrays.stream(ReportStatus.values())
+                    List<String> options = Arrays.stream(ReportStatus.values())
                         .map(ReportStatus::name)
                         .collect(Collectors.toList());
+                    options.add("ACTIVE");
+                    options.add("ALL");
+                    return options;
                 }
                 break;
                 
@@ -14,7 +14,6 @@ import net.luckperms.api.cacheddata.CachedMetaData;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
 import org.bcnlab.beaconLabsVelocity.crossproxy.CrossProxyService;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -74,25 +73,22 @@ public class StaffCommand implements SimpleCommand {
                 }
             }
         } else {
-            Collection<Player> onlinePlayers = plugin.getServer().getAllPlayers();
-            for (Player onlinePlayer : onlinePlayers) {
-                if (onlinePlayer.hasPermission(PERMISSION)) {
-                    Component displayName = getDisplayName(onlinePlayer);
-                    String serverName = onlinePlayer.getCurrentServer()
-                            .map(sc -> sc.getServerInfo().getName())
-                            .orElse("Unknown");
-                    Component hoverText = Component.text("Server: " + serverName, NamedTextColor.GOLD);
-                    Component playerComponent = displayName
-                            .hoverEvent(HoverEvent.showText(hoverText))
-                            .clickEvent(ClickEvent.runCommand("/server " + serverName));
-                    staffList = staffList.append(Component.newline())
-                            .append(Component.text(" - ", NamedTextColor.GRAY))
-                            .append(playerComponent)
-                            .append(Component.text(" [", NamedTextColor.DARK_GRAY))
-                            .append(Component.text(serverName, NamedTextColor.GREEN))
-                            .append(Component.text("]", NamedTextColor.DARK_GRAY));
-                    hasStaff = true;
-                }
+            for (Player onlinePlayer : plugin.getStaffAudienceService().getMembers(PERMISSION)) {
+                Component displayName = getDisplayName(onlinePlayer);
+                String serverName = onlinePlayer.getCurrentServer()
+                        .map(sc -> sc.getServerInfo().getName())
+                        .orElse("Unknown");
+                Component hoverText = Component.text("Server: " + serverName, NamedTextColor.GOLD);
+                Component playerComponent = displayName
+                        .hoverEvent(HoverEvent.showText(hoverText))
+                        .clickEvent(ClickEvent.runCommand("/server " + serverName));
+                staffList = staffList.append(Component.newline())
+                        .append(Component.text(" - ", NamedTextColor.GRAY))
+                        .append(playerComponent)
+                        .append(Component.text(" [", NamedTextColor.DARK_GRAY))
+                        .append(Component.text(serverName, NamedTextColor.GREEN))
+                        .append(Component.text("]", NamedTextColor.DARK_GRAY));
+                hasStaff = true;
             }
         }
 
@@ -12,6 +12,7 @@ import org.bcnlab.beaconLabsVelocity.config.AbuseConfig;
 import org.bcnlab.beaconLabsVelocity.service.AntiBotService;
 import org.bcnlab.beaconLabsVelocity.service.PlayerStatsService;
 import org.bcnlab.beaconLabsVelocity.service.PunishmentService;
+import org.bcnlab.beaconLabsVelocity.service.StaffAudienceService;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -112,9 +113,7 @@ public class AntiAbuseCommand implements SimpleCommand {
                 .append(Component.text(" by " + issuerName, NamedTextColor.GRAY)));
             
             plugin.getLogger().info(MiniMessage.miniMessage().serialize(comp));
-            plugin.getServer().getAllPlayers().stream()
-                .filter(p -> p.hasPermission("beaconlabs.antiabuse"))
-                .forEach(p -> p.sendMessage(comp));
+            plugin.getStaffAudienceService().broadcast(StaffAudienceService.ANTI_ABUSE, comp);
                 
             if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
                 plugin.getCrossProxyService().publishDefenseModeUpdate(mode, issuerName);
@@ -25,6 +25,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.bcnlab.beaconLabsVelocity.util.ColorParser;
 
@@ -56,7 +57,7 @@ public class InfoCommand implements SimpleCommand {
         // Permission check
         if (!src.hasPermission("beaconlabs.punish.info")) {
             src.sendMessage(plugin.getPrefix(src).append(
-                ColorParser.parse(config.getMessage("no-permission"))));
+                ColorParser.parseCached(config.getMessage("no-permission"))));
             return;
         }
         
@@ -108,6 +109,7 @@ public class InfoCommand implements SimpleCommand {
         }
         
         // If online player, show detailed info
+        CompletableFuture<Void> punishmentInfoSent = CompletableFuture.completedFuture(null);
         if (optionalTarget.isPresent()) {
             Player target = optionalTarget.get();
             UUID uuid = target.getUniqueId();
@@ -137,7 +139,7 @@ public class InfoCommand implements SimpleCommand {
                 .decorate(TextDecoration.BOLD));
             
             // Send punishment info
-            sendPunishmentInfo(src, uuid, targetName);
+            punishmentInfoSent = sendPunishmentInfo(src, uuid, targetName);
             
         } else {
             // Player is offline - try to find in the database
@@ -322,7 +324,7 @@ public class InfoCommand implements SimpleCommand {
                     .decorate(TextDecoration.BOLD));
                 
                 // Send punishment info for offline player, using the effective (canonical) name
-                sendPunishmentInfo(src, offlineUuid, effectivePlayerName);
+                punishmentInfoSent = sendPunishmentInfo(src, offlineUuid, effectivePlayerName);
             } else {
                 // Completely unknown player
                 src.sendMessage(Component.text("⚠ Player has never been seen on this server", NamedTextColor.RED)
@@ -333,7 +335,7 @@ public class InfoCommand implements SimpleCommand {
         }
         
         // Bottom divider for clean look
-        sendDivider(src, NamedTextColor.GOLD);
+        punishmentInfoSent.thenRun(() -> sendDivider(src, NamedTextColor.GOLD));
         
         // Send webhook notification
         DiscordWebhook.send("Info viewed for " + targetName + " by " + 
@@ -529,9 +531,10 @@ public class InfoCommand implements SimpleCommand {
         }
     }/**
      * Sends punishment information section for a player using UUID and name
-     * This works for both online and offline players
+     * This works for both online and offline players. Completes once the section was sent,
+     * which may be after the screening passes were loaded.
      */
-    private void sendPunishmentInfo(CommandSource src, UUID uuid, String playerName) {
+    private CompletableFuture<Void> sendPunishmentInfo(CommandSource src, UUID uuid, String playerName) {
         boolean banned = service.isBanned(uuid);
         boolean muted = service.isMuted(uuid);
         
@@ -550,10 +553,13 @@ public class InfoCommand implements SimpleCommand {
                 Component.text(muteSymbol + "MUTED", NamedTextColor.RED).decorate(TextDecoration.BOLD) : 
                 Component.text(muteSymbol + "Not Muted", NamedTextColor.GREEN));
         
-        boolean screened = false;
-        if (plugin.getAntiBotService() != null) {
-            screened = plugin.getAntiBotService().hasPlayerBeenScreened(uuid);
-        }
+        CompletableFuture<Boolean> screenedLookup = plugin.getAntiBotService() != null
+            ? plugin.getAntiBotService().hasPlayerBeenScreened(uuid)
+            : CompletableFuture.completedFuture(false);
+        return screenedLookup.thenAccept(screened -> sendPunishmentStatus(src, uuid, banStatus, muteStatus, screened));
+    }
+
+    private void sendPunishmentStatus(CommandSource src, UUID uuid, Component banStatus, Component muteStatus, boolean screened) {
         Component screenedStatus = Component.text("Screened: ", NamedTextColor.GOLD)
             .append(screened ? 
                 Component.text("✓ Yes (Passed)", NamedTextColor.GREEN) : 
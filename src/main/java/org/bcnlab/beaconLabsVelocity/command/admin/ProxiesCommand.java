@@ -178,11 +178,10 @@ public class ProxiesCommand implements SimpleCommand {
         ProxyServer server = plugin.getServer();
 
         for (TransferTarget t : targets) {
-            cross.setPendingTransfer(targetProxyId, t.uuid, t.backendServer);
             if (t.onThisProxy) {
                 Optional<Player> p = server.getPlayer(t.uuid);
                 if (p.isPresent()) {
-                    Optional<String> err = cross.performTransferToHost(p.get(), hostname);
+                    Optional<String> err = cross.transferToProxy(p.get(), targetProxyId, t.backendServer, hostname);
                     if (err.isEmpty()) ok++;
                     else if (err.get().contains("version is too old")) versionTooOld++;
                     else source.sendMessage(plugin.getPrefix(source).append(Component.text(p.get().getUsername() + ": " + err.get(), NamedTextColor.RED)));
@@ -82,9 +82,7 @@ public class ProxyCommand implements SimpleCommand {
         String backendServer = player.getCurrentServer()
                 .map(s -> s.getServerInfo().getName())
                 .orElse("lobby");
-        cross.setPendingTransfer(targetProxyId, player.getUniqueId(), backendServer);
-
-        Optional<String> err = cross.performTransferToHost(player, hostname);
+        Optional<String> err = cross.transferToProxy(player, targetProxyId, backendServer, hostname);
         if (err.isEmpty()) {
             invocation.source().sendMessage(plugin.getPrefix(invocation.source()).append(
                     Component.text("Transferring you to proxy " + targetProxyId + "...", NamedTextColor.GREEN)));
@@ -40,8 +40,8 @@ public class ScreenCommand implements SimpleCommand {
 
         if (action.equals("clean")) {
             if (target.matches("^\\d{1,3}(\\.\\d{1,3}){3}$")) {
-                int removed = plugin.getAntiBotService().removeScreeningPassByIp(target);
-                src.sendMessage(plugin.getPrefix(src).append(Component.text("Cleaned screening passes for IP " + target + " (" + removed + " removed)", NamedTextColor.GREEN)));
+                plugin.getAntiBotService().removeScreeningPassByIp(target).thenAccept(removed ->
+                        src.sendMessage(plugin.getPrefix(src).append(Component.text("Cleaned screening passes for IP " + target + " (" + removed + " removed)", NamedTextColor.GREEN))));
             } else {
                 UUID targetUuid = null;
                 
@@ -63,8 +63,8 @@ public class ScreenCommand implements SimpleCommand {
                     return;
                 }
 
-                int removed = plugin.getAntiBotService().removeScreeningPassByUuid(targetUuid);
-                src.sendMessage(plugin.getPrefix(src).append(Component.text("Cleaned screening passes for player " + target + " (" + removed + " removed)", NamedTextColor.GREEN)));
+                plugin.getAntiBotService().removeScreeningPassByUuid(targetUuid).thenAccept(removed ->
+                        src.sendMessage(plugin.getPrefix(src).append(Component.text("Cleaned screening passes for player " + target + " (" + removed + " removed)", NamedTextColor.GREEN))));
             }
         } else if (action.equals("force")) {
             UUID targetUuid = plugin.getPunishmentService().getPlayerUUID(target);
@@ -8,7 +8,9 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.MassTransferService;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -58,17 +60,12 @@ public class SendCommand implements SimpleCommand {
 
         if ("*".equals(target) || "all".equalsIgnoreCase(target)) {
             if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
-                plugin.getCrossProxyService().publishSendAll(serverName);
+                String jobId = plugin.getMassTransferService().trackNetworkSend(source);
+                plugin.getCrossProxyService().publishSendAll(serverName, jobId);
                 source.sendMessage(plugin.getPrefix(source).append(
                         Component.text("Sending all players on the network to " + serverName + "...", NamedTextColor.GREEN)));
             } else {
-                int count = 0;
-                for (Player p : server.getAllPlayers()) {
-                    p.createConnectionRequest(registeredServer.get()).connectWithIndication();
-                    count++;
-                }
-                source.sendMessage(plugin.getPrefix(source).append(
-                        Component.text("Sent " + count + " player(s) to " + serverName + ".", NamedTextColor.GREEN)));
+                sendLocal(source, registeredServer.get(), server.getAllPlayers());
             }
             return;
         }
@@ -89,19 +86,15 @@ public class SendCommand implements SimpleCommand {
         if (sourceServerOpt.isPresent()) {
             String srcServerName = sourceServerOpt.get().getServerInfo().getName();
             if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
-                plugin.getCrossProxyService().publishSendServer(srcServerName, serverName);
+                String jobId = plugin.getMassTransferService().trackNetworkSend(source);
+                plugin.getCrossProxyService().publishSendServer(srcServerName, serverName, jobId);
                 source.sendMessage(plugin.getPrefix(source).append(
                         Component.text("Sending all players on server '" + srcServerName + "' to '" + serverName + "' across the network...", NamedTextColor.GREEN)));
             } else {
-                int count = 0;
-                for (Player p : server.getAllPlayers()) {
-                    if (p.getCurrentServer().isPresent() && p.getCurrentServer().get().getServerInfo().getName().equalsIgnoreCase(srcServerName)) {
-                        p.createConnectionRequest(registeredServer.get()).connectWithIndication();
-                        count++;
-                    }
-                }
-                source.sendMessage(plugin.getPrefix(source).append(
-                        Component.text("Sent " + count + " player(s) from " + srcServerName + " to " + serverName + ".", NamedTextColor.GREEN)));
+                List<Player> players = server.getAllPlayers().stream()
+                        .filter(p -> p.getCurrentServer().isPresent() && p.getCurrentServer().get().getServerInfo().getName().equalsIgnoreCase(srcServerName))
+                        .collect(Collectors.toList());
+                sendLocal(source, registeredServer.get(), players);
             }
             return;
         }
@@ -135,6 +128,20 @@ public class SendCommand implements SimpleCommand {
                 Component.text("Player or server not found: " + target, NamedTextColor.RED)));
     }
 
+    /** Queue players on this proxy for a throttled send and report progress to the issuer. */
+    private void sendLocal(CommandSource source, RegisteredServer targetServer, Collection<Player> players) {
+        String serverName = targetServer.getServerInfo().getName();
+        if (players.isEmpty()) {
+            source.sendMessage(plugin.getPrefix(source).append(
+                    Component.text("No players to send to " + serverName + ".", NamedTextColor.GRAY)));
+            return;
+        }
+        source.sendMessage(plugin.getPrefix(source).append(
+                Component.text("Sending " + players.size() + " player(s) to " + serverName + "...", NamedTextColor.GREEN)));
+        plugin.getMassTransferService().send(targetServer, players, progress -> source.sendMessage(
+                plugin.getPrefix(source).append(MassTransferService.describe(null, serverName, progress))));
+    }
+
     @Override
     public List<String> suggest(Invocation invocation) {
         String[] args = invocation.arguments();
@@ -97,6 +97,15 @@ public class ServerMetricsCommand implements SimpleCommand {
             .append(Component.newline())
             .append(Component.text("Java Version: ", NamedTextColor.GOLD))
             .append(Component.text(System.getProperty("java.version"), NamedTextColor.GRAY));
+
+        if (plugin.getPingListener() != null) {
+            var ping = plugin.getPingListener();
+            message = message.append(Component.newline())
+                .append(Component.text("Server List Pings: ", NamedTextColor.GOLD))
+                .append(Component.text(ping.getPingsPerSecond() + "/s ", NamedTextColor.GRAY))
+                .append(Component.text("(total " + ping.getTotalPings() + ", limited " + ping.getLimitedPings()
+                        + ", tracked IPs " + ping.getTrackedPingAddresses() + ")", NamedTextColor.GRAY));
+        }
         
         source.sendMessage(plugin.getPrefix(source).append(message));
     }
@@ -24,6 +24,8 @@ public class ChatReportCommand implements SimpleCommand {
 
     private static final String PASTEBIN_URL = "https://paste.md-5.net/documents";
     private static final String HSTSH_URL = "https://hst.sh/documents";
+    /** Hard cap for any upload; the chat-report limits normally keep logs well below it. */
+    private static final int MAX_UPLOAD_BYTES = 512 * 1024;
     private final FileChatLogger chatLogger;
     private final BeaconLabsVelocity plugin;
     private final ProxyServer proxy;
@@ -67,14 +69,16 @@ public class ChatReportCommand implements SimpleCommand {
         }
 
         boolean targetOnThisProxy = proxy.getPlayer(playerId).isPresent();
-        if (!targetOnThisProxy && plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()
+        // With network-wide history the log is read here directly, wherever the player is
+        boolean sharedHistory = chatLogger.hasSharedHistory();
+        if (!targetOnThisProxy && !sharedHistory && plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()
                 && plugin.getCrossProxyService().getPlayerProxy(playerId) != null) {
             String reporterName = sender instanceof Player ? ((Player) sender).getUsername() : "Console";
             plugin.getCrossProxyService().publishChatReportRequest(playerId, targetName, reporterName);
             sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Requesting chat log from the proxy where " + targetName + " is connected. You will receive the link when it's ready.", NamedTextColor.GOLD)));
             return;
         }
-        if (!targetOnThisProxy) {
+        if (!targetOnThisProxy && !sharedHistory) {
             sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Player " + targetName + " is not online on the network.", net.kyori.adventure.text.format.NamedTextColor.GRAY)));
             return;
         }
@@ -124,6 +128,7 @@ public class ChatReportCommand implements SimpleCommand {
 
     /** Tries paste.md-5 first, then hst.sh on failure. Public for cross-proxy report from plugin. */
     public static String uploadToPastebinWithFallback(String content) throws IOException {
+        content = capToTail(content, MAX_UPLOAD_BYTES);
         try {
             return uploadToPasteMd5(content);
         } catch (IOException e) {
@@ -136,6 +141,15 @@ public class ChatReportCommand implements SimpleCommand {
         }
     }
 
+    /** Keep the newest part of the text (whole lines) if it is larger than maxBytes in UTF-8. */
+    static String capToTail(String content, int maxBytes) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) return content;
+        int start = bytes.length - maxBytes;
+        while (start < bytes.length && bytes[start - 1] != '\n') start++;
+        return "[... older lines omitted ...]\n" + new String(bytes, start, bytes.length - start, StandardCharsets.UTF_8);
+    }
+
     private static String uploadToPasteMd5(String content) throws IOException {
         URL url = new URL(PASTEBIN_URL);
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
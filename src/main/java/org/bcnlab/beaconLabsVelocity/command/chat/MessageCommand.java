@@ -6,6 +6,7 @@ import com.velocitypowered.api.proxy.Player;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.ChatAbuseService;
 import org.bcnlab.beaconLabsVelocity.service.MessageService;
 
 import java.util.ArrayList;
@@ -52,53 +53,32 @@ public class MessageCommand implements SimpleCommand {
         System.arraycopy(args, 1, messageArgs, 0, args.length - 1);
         String message = String.join(" ", messageArgs);
         String recipientName = args[0];
+        ChatAbuseService chatAbuse = plugin.getChatAbuseService();
+        if (chatAbuse != null && !chatAbuse.allow(sender, ChatAbuseService.Channel.MSG, message)) {
+            return;
+        }
 
         Optional<Player> optRecipient = plugin.getServer().getPlayer(recipientName);
         if (optRecipient.isPresent()) {
             Player recipient = optRecipient.get();
-            String privacy = plugin.getPlayerSettingsService().getPlayerSetting(recipient.getUniqueId(), "msg_privacy", "everyone");
-            
-            if (privacy.equals("nobody")) {
-                sender.sendMessage(plugin.getPrefix(sender).append(Component.text("You cannot message this player.", NamedTextColor.RED)));
+            MessageService.DeliveryStatus status = messageService.checkPrivacy(sender.getUniqueId(), recipient.getUniqueId());
+            if (status != MessageService.DeliveryStatus.DELIVERED) {
+                sender.sendMessage(plugin.getPrefix(sender).append(messageService.describeFailure(status, recipient.getUsername())));
                 return;
-            } else if (privacy.equals("friends_only")) {
-                if (!plugin.getFriendService().areFriends(sender.getUniqueId(), recipient.getUniqueId())) {
-                    sender.sendMessage(plugin.getPrefix(sender).append(Component.text("This player only accepts messages from friends.", NamedTextColor.RED)));
-                    return;
-                }
             }
             
             messageService.sendPrivateMessage(sender, recipient, message);
             return;
         }
 
-        // Not on this proxy: try cross-proxy /msg
+        // Not on this proxy: send to the proxy hosting the recipient, which checks their privacy setting
         if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
             java.util.UUID targetUuid = plugin.getCrossProxyService().getPlayerUuidByName(recipientName);
             if (targetUuid == null) {
                 sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Player '" + recipientName + "' not found or offline.", NamedTextColor.RED)));
                 return;
             }
-
-            // Note: Since target is on another proxy, we can't easily synchronously check their privacy setting from DB if it's strictly cached locally.
-            // But since it's the database, we can check it directly via service which falls back to DB.
-            String privacy = plugin.getPlayerSettingsService().getPlayerSetting(targetUuid, "msg_privacy", "everyone");
-            if (privacy.equals("nobody")) {
-                sender.sendMessage(plugin.getPrefix(sender).append(Component.text("You cannot message this player.", NamedTextColor.RED)));
-                return;
-            } else if (privacy.equals("friends_only")) {
-                if (!plugin.getFriendService().areFriends(sender.getUniqueId(), targetUuid)) {
-                    sender.sendMessage(plugin.getPrefix(sender).append(Component.text("This player only accepts messages from friends.", NamedTextColor.RED)));
-                    return;
-                }
-            }
-
-            String recipientMessage = messageService.formatIncomingMessage(sender, message);
-            plugin.getCrossProxyService().publishPrivateMsg(recipientName, sender.getUniqueId().toString(), sender.getUsername(), recipientMessage);
-            // Get the recipient's prefix from Redis for the outgoing display
-            Component senderMsg = messageService.formatOutgoingMessage(
-                    plugin.getCrossProxyService().getPlayerPrefix(recipientName), recipientName, message);
-            sender.sendMessage(senderMsg);
+            messageService.sendRemotePrivateMessage(sender, targetUuid, recipientName, message);
         } else {
             sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Player '" + recipientName + "' not found or offline.", NamedTextColor.RED)));
         }
@@ -6,6 +6,7 @@ import com.velocitypowered.api.proxy.Player;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.ChatAbuseService;
 import org.bcnlab.beaconLabsVelocity.service.MessageService;
 
 import java.util.Optional;
@@ -45,59 +46,37 @@ public class ReplyCommand implements SimpleCommand {
         }
 
         String message = String.join(" ", args);
+        ChatAbuseService chatAbuse = plugin.getChatAbuseService();
+        if (chatAbuse != null && !chatAbuse.allow(sender, ChatAbuseService.Channel.MSG, message)) {
+            return;
+        }
 
-        // Try local last sender first
-        Optional<Player> optRecipient = messageService.getLastMessageSender(sender);
+        MessageService.ReplyTarget target = messageService.getReplyTarget(sender.getUniqueId());
+        if (target == null) {
+            sender.sendMessage(plugin.getPrefix(sender).append(Component.text("You have no one to reply to.", NamedTextColor.RED)));
+            return;
+        }
+
+        // Local partner first
+        Optional<Player> optRecipient = plugin.getServer().getPlayer(target.uuid());
         if (optRecipient.isPresent()) {
             Player recipient = optRecipient.get();
-            if (!recipient.isActive()) {
-                sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Player '" + recipient.getUsername() + "' is no longer online.", NamedTextColor.RED)));
-                return;
-            }
-            
-            String privacy = plugin.getPlayerSettingsService().getPlayerSetting(recipient.getUniqueId(), "msg_privacy", "everyone");
-            if (privacy.equals("nobody")) {
-                sender.sendMessage(plugin.getPrefix(sender).append(Component.text("You cannot message this player.", NamedTextColor.RED)));
+            MessageService.DeliveryStatus status = messageService.checkPrivacy(sender.getUniqueId(), recipient.getUniqueId());
+            if (status != MessageService.DeliveryStatus.DELIVERED) {
+                sender.sendMessage(plugin.getPrefix(sender).append(messageService.describeFailure(status, recipient.getUsername())));
                 return;
-            } else if (privacy.equals("friends_only")) {
-                if (!plugin.getFriendService().areFriends(sender.getUniqueId(), recipient.getUniqueId())) {
-                    sender.sendMessage(plugin.getPrefix(sender).append(Component.text("This player only accepts messages from friends.", NamedTextColor.RED)));
-                    return;
-                }
             }
             
             messageService.sendPrivateMessage(sender, recipient, message);
             return;
         }
 
-        String lastSenderUsername = messageService.getLastSenderUsername(sender.getUniqueId());
-        if (lastSenderUsername != null && !lastSenderUsername.isEmpty() && plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
-            java.util.UUID targetUuid = plugin.getCrossProxyService().getPlayerUuidByName(lastSenderUsername);
-            if (targetUuid == null) {
-                sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Player '" + lastSenderUsername + "' is no longer online.", NamedTextColor.RED)));
-                return;
-            }
-            
-            String privacy = plugin.getPlayerSettingsService().getPlayerSetting(targetUuid, "msg_privacy", "everyone");
-            if (privacy.equals("nobody")) {
-                sender.sendMessage(plugin.getPrefix(sender).append(Component.text("You cannot message this player.", NamedTextColor.RED)));
-                return;
-            } else if (privacy.equals("friends_only")) {
-                if (!plugin.getFriendService().areFriends(sender.getUniqueId(), targetUuid)) {
-                    sender.sendMessage(plugin.getPrefix(sender).append(Component.text("This player only accepts messages from friends.", NamedTextColor.RED)));
-                    return;
-                }
-            }
-            
-            String recipientMessage = messageService.formatIncomingMessage(sender, message);
-            plugin.getCrossProxyService().publishPrivateMsg(lastSenderUsername, sender.getUniqueId().toString(), sender.getUsername(), recipientMessage);
-            Component senderMsg = messageService.formatOutgoingMessage(
-                    plugin.getCrossProxyService().getPlayerPrefix(lastSenderUsername), lastSenderUsername, message);
-            sender.sendMessage(senderMsg);
+        if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
+            messageService.sendRemotePrivateMessage(sender, target.uuid(), target.name(), message);
             return;
         }
 
-        sender.sendMessage(plugin.getPrefix(sender).append(Component.text("You have no one to reply to.", NamedTextColor.RED)));
+        sender.sendMessage(plugin.getPrefix(sender).append(Component.text("Player '" + target.name() + "' is no longer online.", NamedTextColor.RED)));
     }
 
     @Override
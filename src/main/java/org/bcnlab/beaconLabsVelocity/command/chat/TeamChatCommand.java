@@ -7,7 +7,9 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.ChatAbuseService;
 import org.bcnlab.beaconLabsVelocity.service.MessageService;
+import org.bcnlab.beaconLabsVelocity.service.StaffAudienceService;
 import org.bcnlab.beaconLabsVelocity.util.ColorParser;
 
 /**
@@ -47,6 +49,10 @@ public class TeamChatCommand implements SimpleCommand {
 
         // Combine arguments into message
         String message = String.join(" ", args);
+        ChatAbuseService chatAbuse = plugin.getChatAbuseService();
+        if (chatAbuse != null && !chatAbuse.allow(sender, ChatAbuseService.Channel.TEAM_CHAT, message)) {
+            return;
+        }
         String senderPrefix = messageService.getPlayerPrefix(sender);
         String messageLegacy = String.format(teamChatFormat, senderPrefix, sender.getUsername(), message);
 
@@ -54,11 +60,7 @@ public class TeamChatCommand implements SimpleCommand {
             plugin.getCrossProxyService().publishTeamChat(messageLegacy);
         } else {
             Component formattedMessage = ColorParser.parse(messageLegacy);
-            for (Player player : plugin.getServer().getAllPlayers()) {
-                if (player.hasPermission("beaconlabs.teamchat")) {
-                    player.sendMessage(formattedMessage);
-                }
-            }
+            plugin.getStaffAudienceService().broadcast(StaffAudienceService.TEAM_CHAT, formattedMessage);
         }
         plugin.getLogger().info("[TeamChat] {}: {}", sender.getUsername(), message);
     }
@@ -35,15 +35,15 @@ public class BanCommand implements SimpleCommand {
         CommandSource src = invocation.source();
         String[] args = invocation.arguments();
         if (!src.hasPermission("beaconlabs.punish.ban")) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse(config.getMessage("no-permission"))));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached(config.getMessage("no-permission"))));
             return;
         }
         if (args.length < 2) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse("&7Usage: /ban <player> <duration> [reason]")));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached("&7Usage: /ban <player> <duration> [reason]")));
             return;
         }        String targetName = args[0];
         if (src instanceof Player && ((Player) src).getUsername().equalsIgnoreCase(targetName)) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse(config.getMessage("self-punish"))));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached(config.getMessage("self-punish"))));
             return;
         }
         
@@ -38,13 +38,13 @@ public class ClearPunishmentCommand implements SimpleCommand {
         
         if (!src.hasPermission("beaconlabs.punish.clear")) {
             src.sendMessage(plugin.getPrefix(src).append(
-                ColorParser.parse(config.getMessage("no-permission"))));
+                ColorParser.parseCached(config.getMessage("no-permission"))));
             return;
         }
         
         if (args.length < 1) {
             src.sendMessage(plugin.getPrefix(src).append(
-                ColorParser.parse("&7Usage: /cpunish <player>")));
+                ColorParser.parseCached("&7Usage: /cpunish <player>")));
             return;
         }
         
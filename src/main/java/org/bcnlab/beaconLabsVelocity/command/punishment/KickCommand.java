@@ -36,16 +36,16 @@ public class KickCommand implements SimpleCommand {
         CommandSource src = invocation.source();
         String[] args = invocation.arguments();
         if (!src.hasPermission("beaconlabs.punish.kick")) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse(config.getMessage("no-permission"))));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached(config.getMessage("no-permission"))));
             return;
         }
         if (args.length < 1) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse("&7Usage: /kick <player> [reason]")));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached("&7Usage: /kick <player> [reason]")));
             return;
         }
         String targetName = args[0];
         if (src instanceof Player && ((Player) src).getUsername().equalsIgnoreCase(targetName)) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse(config.getMessage("self-punish"))));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached(config.getMessage("self-punish"))));
             return;
         }
         String reason = config.getMessage("default-reason");
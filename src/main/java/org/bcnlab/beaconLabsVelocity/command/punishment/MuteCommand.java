@@ -35,18 +35,18 @@ public class MuteCommand implements SimpleCommand {
     public void execute(Invocation invocation) {
         CommandSource src = invocation.source();
         String[] args = invocation.arguments();
-        Component noPerm = plugin.getPrefix().append(ColorParser.parse(config.getMessage("no-permission")));
+        Component noPerm = plugin.getPrefix().append(ColorParser.parseCached(config.getMessage("no-permission")));
         if (!src.hasPermission("beaconlabs.punish.mute")) {
             src.sendMessage(noPerm);
             return;
         }
         if (args.length < 2) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse("&7Usage: /mute <player> <duration> [reason]")));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached("&7Usage: /mute <player> <duration> [reason]")));
             return;
         }
         String targetName = args[0];
         if (src instanceof Player && ((Player) src).getUsername().equalsIgnoreCase(targetName)) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse(config.getMessage("self-punish"))));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached(config.getMessage("self-punish"))));
             return;
         }
         long duration = DurationUtils.parseDuration(args[1]);
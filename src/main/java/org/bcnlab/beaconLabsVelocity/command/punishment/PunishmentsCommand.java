@@ -40,11 +40,11 @@ public class PunishmentsCommand implements SimpleCommand {
         CommandSource src = invocation.source();
         String[] args = invocation.arguments();
         if (!src.hasPermission("beaconlabs.punish.history")) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse(config.getMessage("no-permission"))));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached(config.getMessage("no-permission"))));
             return;
         }
         if (args.length < 1) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse("&7Usage: /punishments <player>")));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached("&7Usage: /punishments <player>")));
             return;
         }
         String targetName = args[0];
@@ -106,7 +106,7 @@ public class PunishmentsCommand implements SimpleCommand {
         src.sendMessage(ColorParser.parse(header));
 
         if (history.isEmpty()) {
-            src.sendMessage(ColorParser.parse(config.getMessage("history-empty")));
+            src.sendMessage(ColorParser.parseCached(config.getMessage("history-empty")));
             return;
         }        for (PunishmentRecord record : history) {            String status = record.active ? "&aActive" : "&cInactive";
             String durationStr = DurationUtils.formatDuration(record.duration);
@@ -50,7 +50,7 @@ public class UnbanCommand implements SimpleCommand {
 
         // Usage Message with Prefix
         if (args.length < 1) {
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse("&7Usage: /unban <player>")));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached("&7Usage: /unban <player>")));
             return;
         }        String targetName = args[0];
         // Use the new method to get UUID for both online and offline players
@@ -73,7 +73,7 @@ public class UnbanCommand implements SimpleCommand {
             success = service.unban(targetUUID); // Use unban() with UUID
         } catch (Exception e) {
             logger.error("Error occurred while unbanning " + targetName, e);
-            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parse("&cAn internal error occurred.")));
+            src.sendMessage(plugin.getPrefix(src).append(ColorParser.parseCached("&cAn internal error occurred.")));
             return;
         }
 
@@ -28,10 +28,13 @@ public class LimboCommand implements SimpleCommand {
         String[] args = invocation.arguments();
         
         String limboServerName = plugin.getConfig().node("limbo-server").getString("limbo");
-        Optional<RegisteredServer> targetServer = server.getServer(limboServerName);
+        Player self = invocation.source() instanceof Player ? (Player) invocation.source() : null;
+        Optional<RegisteredServer> targetServer = plugin.getBackendHealthService() != null
+                ? plugin.getBackendHealthService().selectFromGroup("limbo", args.length == 0 ? self : null)
+                : server.getServer(limboServerName);
         
         if (targetServer.isEmpty()) {
-            invocation.source().sendMessage(plugin.getPrefix(invocation.source()).append(Component.text("Limbo server '" + limboServerName + "' not found!", NamedTextColor.RED)));
+            invocation.source().sendMessage(plugin.getPrefix(invocation.source()).append(Component.text("No limbo server is available.", NamedTextColor.RED)));
             return;
         }
 
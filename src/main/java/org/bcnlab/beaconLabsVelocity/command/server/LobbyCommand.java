@@ -28,9 +28,9 @@ public class LobbyCommand implements SimpleCommand {
         }
 
         Player player = (Player) invocation.source();
-        String lobbyServerName = plugin.getConfig().node("lobby-server").getString("lobby");
-        
-        Optional<RegisteredServer> targetServer = server.getServer(lobbyServerName);
+        Optional<RegisteredServer> targetServer = plugin.getBackendHealthService() != null
+                ? plugin.getBackendHealthService().selectFromGroup("lobby", player)
+                : server.getServer(plugin.getConfig().node("lobby-server").getString("lobby"));
         
         if (targetServer.isEmpty()) {
             player.sendMessage(plugin.getPrefix(player).append(
@@ -7,7 +7,9 @@ import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class AbuseConfig {
@@ -16,6 +18,8 @@ public class AbuseConfig {
     private String defenseMode = "normal"; // normal, elevated, attack
     private String screeningServer = "limbo";
     private int screeningTimeout = 15;
+    private String captchaStyle = "monochrome"; // monochrome, palette
+    private boolean captchaDither = false;
 
     // AntiBot settings
     private String apiKey = "YOUR_API_KEY_HERE";
@@ -31,6 +35,20 @@ public class AbuseConfig {
     private boolean screenDataCenters = true;
     private List<String> screenCountries = Arrays.asList("CN", "RU");
 
+    // Chat abuse settings; off unless abuse.yml has a chat section, so upgrades keep their old behavior
+    private boolean chatEnabled = false;
+    private double chatRatePerSecond = 1.0;
+    private int chatBurst = 5;
+    private int duplicateWindowSeconds = 30;
+    private int duplicateDistance = 6;
+    private int duplicateLimit = 2;
+    private int burstWindowSeconds = 10;
+    private final Map<String, Integer> burstLimits = new HashMap<>(Map.of("chat", 8, "msg", 8, "teamchat", 10, "joinme", 2));
+    private int violationWindowSeconds = 60;
+    private int alertAfterViolations = 3;
+    private int muteAfterViolations = 6;
+    private String muteDuration = "10m";
+
     private final File configFile;
     private final Logger logger;
     private ConfigurationNode rootNode;
@@ -67,6 +85,8 @@ public class AbuseConfig {
                 defenseMode = abuseNode.node("defense-mode").getString("normal").toLowerCase();
                 screeningServer = abuseNode.node("screening-server").getString("limbo");
                 screeningTimeout = abuseNode.node("screening-timeout").getInt(15);
+                captchaStyle = abuseNode.node("captcha-style").getString("monochrome").toLowerCase();
+                captchaDither = abuseNode.node("captcha-dither").getBoolean(false);
 
                 ConfigurationNode botNode = abuseNode.node("antibot");
                 if (!botNode.virtual()) {
@@ -87,6 +107,26 @@ public class AbuseConfig {
                     roleIdToPing = botNode.node("role-id-to-ping").getString("");
                     webhookCooldownMinutes = botNode.node("webhook-cooldown-minutes").getInt(60);
                 }
+
+                ConfigurationNode chatNode = abuseNode.node("chat");
+                if (!chatNode.virtual()) {
+                    chatEnabled = chatNode.node("enabled").getBoolean(true);
+                    chatRatePerSecond = chatNode.node("rate-per-second").getDouble(1.0);
+                    chatBurst = chatNode.node("burst").getInt(5);
+                    duplicateWindowSeconds = chatNode.node("duplicate-window-seconds").getInt(30);
+                    duplicateDistance = chatNode.node("duplicate-distance").getInt(6);
+                    duplicateLimit = chatNode.node("duplicate-limit").getInt(2);
+                    burstWindowSeconds = chatNode.node("burst-window-seconds").getInt(10);
+                    for (Map.Entry<Object, ? extends ConfigurationNode> entry : chatNode.node("burst-limits").childrenMap().entrySet()) {
+                        burstLimits.put(String.valueOf(entry.getKey()).toLowerCase(), entry.getValue().getInt(0));
+                    }
+                    violationWindowSeconds = chatNode.node("violation-window-seconds").getInt(60);
+                    alertAfterViolations = chatNode.node("alert-after").getInt(3);
+                    muteAfterViolations = chatNode.node("mute-after").getInt(6);
+                    muteDuration = chatNode.node("mute-duration").getString("10m");
+                } else {
+                    chatEnabled = false;
+                }
             }
         } catch (IOException e) {
             logger.error("Failed to load abuse.yml", e);
@@ -114,6 +154,8 @@ public class AbuseConfig {
 
     public String getScreeningServer() { return screeningServer; }
     public int getScreeningTimeout() { return screeningTimeout; }
+    public String getCaptchaStyle() { return captchaStyle; }
+    public boolean isCaptchaDither() { return captchaDither; }
 
     public String getApiKey() { return apiKey; }
     public int getDailyLimit() { return dailyLimit; }
@@ -126,4 +168,18 @@ public class AbuseConfig {
     public String getWebhookUrl() { return webhookUrl; }
     public String getRoleIdToPing() { return roleIdToPing; }
     public int getWebhookCooldownMinutes() { return webhookCooldownMinutes; }
+
+    public boolean isChatEnabled() { return chatEnabled; }
+    public double getChatRatePerSecond() { return chatRatePerSecond; }
+    public int getChatBurst() { return chatBurst; }
+    public int getDuplicateWindowSeconds() { return duplicateWindowSeconds; }
+    public int getDuplicateDistance() { return duplicateDistance; }
+    public int getDuplicateLimit() { return duplicateLimit; }
+    public int getBurstWindowSeconds() { return burstWindowSeconds; }
+    /** Messages allowed per burst window on the channel (chat, msg, teamchat, joinme); 0 means no limit. */
+    public int getBurstLimit(String channel) { return burstLimits.getOrDefault(channel, 0); }
+    public int getViolationWindowSeconds() { return violationWindowSeconds; }
+    public int getAlertAfterViolations() { return alertAfterViolations; }
+    public int getMuteAfterViolations() { return muteAfterViolations; }
+    public String getMuteDuration() { return muteDuration; }
 }
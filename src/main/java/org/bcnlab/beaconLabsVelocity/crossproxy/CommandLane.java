@@ -0,0 +1,26 @@
+package org.bcnlab.beaconLabsVelocity.crossproxy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Durable delivery path for cross-proxy commands that must not be lost (kicks, mutes, maintenance and
+ * whitelist toggles). Unlike pub/sub, every proxy eventually receives every command appended here, even if it
+ * was disconnected when the command was sent. Messages use the same wire format as {@link CrossProxyMessage}.
+ */
+public interface CommandLane {
+
+    /**
+     * Start delivering commands to the handler, beginning with any that were delivered but never acknowledged.
+     * The handler returns a future that completes once the command was applied; only then is it acknowledged.
+     */
+    void start(Function<String, CompletableFuture<Void>> handler);
+
+    /** Queue a command for every proxy. Never blocks on the network; failed appends are retried. */
+    void append(String message);
+
+    void shutdown();
+
+    /** Lines for /proxies debug. */
+    java.util.List<String> getDebugInfo();
+}
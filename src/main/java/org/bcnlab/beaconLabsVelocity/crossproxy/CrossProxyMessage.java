@@ -38,7 +38,12 @@ public final class CrossProxyMessage {
         FRIEND_JOIN,
         FRIEND_LEAVE,
         PING_REQUEST,
-        PING_RESPONSE
+        PING_RESPONSE,
+        BADWORDS_UPDATED,
+        TRANSFER_HINT,
+        DIRECT_MSG,
+        DIRECT_MSG_ACK,
+        MASS_SEND_PROGRESS
     }
 
     private final Type type;
@@ -49,8 +54,19 @@ public final class CrossProxyMessage {
     private final String serverName;
     private final String username;
     private final String durationFormatted;
+    private final String jobId;
+    private final int sent;
+    private final int failed;
+    private final int skipped;
+    private final int total;
+    private final boolean done;
 
     private CrossProxyMessage(Type type, String secret, String proxyId, String uuid, String reason, String serverName, String username, String durationFormatted) {
+        this(type, secret, proxyId, uuid, reason, serverName, username, durationFormatted, null, 0, 0, 0, 0, false);
+    }
+
+    private CrossProxyMessage(Type type, String secret, String proxyId, String uuid, String reason, String serverName, String username, String durationFormatted,
+                              String jobId, int sent, int failed, int skipped, int total, boolean done) {
         this.type = type;
         this.secret = secret;
         this.proxyId = proxyId;
@@ -59,6 +75,12 @@ public final class CrossProxyMessage {
         this.serverName = serverName;
         this.username = username;
         this.durationFormatted = durationFormatted;
+        this.jobId = jobId;
+        this.sent = sent;
+        this.failed = failed;
+        this.skipped = skipped;
+        this.total = total;
+        this.done = done;
     }
 
     public Type getType() { return type; }
@@ -71,6 +93,15 @@ public final class CrossProxyMessage {
     public String getUsername() { return username; }
     /** For MUTE_APPLIED, the formatted duration string. */
     public String getDurationFormatted() { return durationFormatted; }
+    /** For SENDALL, SEND_SERVER and MASS_SEND_PROGRESS, the mass-send job ID; null if the issuer wants no progress. */
+    public String getJobId() { return jobId; }
+    /** For MASS_SEND_PROGRESS, the counts so far on the reporting proxy. */
+    public int getSent() { return sent; }
+    public int getFailed() { return failed; }
+    public int getSkipped() { return skipped; }
+    public int getTotal() { return total; }
+    /** For MASS_SEND_PROGRESS, whether this is the final report. */
+    public boolean isDone() { return done; }
 
     /** Build outbound KICK message (uuid, reason, secret, proxyId). */
     public static String kick(UUID uuid, String reason, String secret, String proxyId) {
@@ -82,14 +113,24 @@ public final class CrossProxyMessage {
         return "KICK_BY_NAME" + SEP + (username != null ? username : "") + SEP + (reason != null ? reason : "") + SEP + secret + SEP + proxyId;
     }
 
-    /** Build outbound SENDALL message. */
-    public static String sendAll(String serverName, String secret, String proxyId) {
-        return "SENDALL" + SEP + serverName + SEP + secret + SEP + proxyId;
+    /**
+     * Build outbound SENDALL message (target server, job ID for progress reports). The job ID trails the proxy ID
+     * so proxies that predate progress reports still find the secret where they expect it and ignore the rest.
+     */
+    public static String sendAll(String serverName, String jobId, String secret, String proxyId) {
+        return "SENDALL" + SEP + serverName + SEP + secret + SEP + proxyId + SEP + (jobId != null ? jobId : "");
+    }
+
+    /** Build outbound SEND_SERVER message (source server, target server, trailing job ID as for SENDALL). */
+    public static String sendServer(String sourceServer, String targetServer, String jobId, String secret, String proxyId) {
+        return "SEND_SERVER" + SEP + (sourceServer != null ? sourceServer : "") + SEP + (targetServer != null ? targetServer : "") + SEP + secret + SEP + proxyId + SEP + (jobId != null ? jobId : "");
     }
 
-    /** Build outbound SEND_SERVER message. */
-    public static String sendServer(String sourceServer, String targetServer, String secret, String proxyId) {
-        return "SEND_SERVER" + SEP + (sourceServer != null ? sourceServer : "") + SEP + (targetServer != null ? targetServer : "") + SEP + secret + SEP + proxyId;
+    /** Build outbound MASS_SEND_PROGRESS: progress of a SENDALL/SEND_SERVER on the responding proxy (job ID, target server, counts, done). */
+    public static String massSendProgress(String jobId, String targetServer, int sent, int failed, int skipped, int total, boolean done,
+                                          String secret, String proxyId) {
+        return "MASS_SEND_PROGRESS" + SEP + jobId + SEP + targetServer + SEP + sent + SEP + failed + SEP + skipped + SEP + total + SEP + done
+                + SEP + secret + SEP + proxyId;
     }
 
     /** Build outbound PLAYER_CONNECT message. */
@@ -117,11 +158,6 @@ public final class CrossProxyMessage {
         return "MUTE_APPLIED" + SEP + uuid.toString() + SEP + (reason != null ? reason : "") + SEP + (durationFormatted != null ? durationFormatted : "") + SEP + secret + SEP + proxyId;
     }
 
-    /** Build outbound PRIVATE_MSG (target username, sender uuid, sender username, preformatted recipient message legacy string). */
-    public static String privateMsg(String targetUsername, String senderUuid, String senderUsername, String recipientMessageLegacy, String secret, String proxyId) {
-        return "PRIVATE_MSG" + SEP + (targetUsername != null ? targetUsername : "") + SEP + (senderUuid != null ? senderUuid : "") + SEP + (senderUsername != null ? senderUsername : "") + SEP + (recipientMessageLegacy != null ? recipientMessageLegacy : "") + SEP + secret + SEP + proxyId;
-    }
-
     /** Build outbound BROADCAST (message legacy string). */
     public static String broadcast(String messageLegacy, String secret, String proxyId) {
         return "BROADCAST" + SEP + (messageLegacy != null ? messageLegacy : "") + SEP + secret + SEP + proxyId;
@@ -213,6 +249,30 @@ public final class CrossProxyMessage {
         return "PING_RESPONSE" + SEP + requestId + SEP + targetName + SEP + ping + SEP + originProxyId + SEP + secret + SEP + responderProxyId;
     }
 
+    /** Build outbound BADWORDS_UPDATED: the shared bad-word dictionary changed, rebuild from its sources. */
+    public static String badWordsUpdated(String secret, String proxyId) {
+        return "BADWORDS_UPDATED" + SEP + secret + SEP + proxyId;
+    }
+
+    /** Build outbound TRANSFER_HINT: a pending transfer for this player was stored for the receiving proxy. */
+    public static String transferHint(UUID uuid, String secret, String proxyId) {
+        return "TRANSFER_HINT" + SEP + uuid.toString() + SEP + secret + SEP + proxyId;
+    }
+
+    /**
+     * Build outbound DIRECT_MSG: a private message for the proxy hosting the recipient, as raw text plus sender
+     * metadata (message ID, recipient UUID, sender UUID, sender name, text). The receiver renders it and answers
+     * with DIRECT_MSG_ACK.
+     */
+    public static String directMessage(String messageId, UUID targetUuid, UUID senderUuid, String senderName, String text, String secret, String proxyId) {
+        return "DIRECT_MSG" + SEP + messageId + SEP + targetUuid + SEP + senderUuid + SEP + (senderName != null ? senderName : "") + SEP + (text != null ? text : "") + SEP + secret + SEP + proxyId;
+    }
+
+    /** Build outbound DIRECT_MSG_ACK: delivery status for a DIRECT_MSG (message ID, status, origin proxy ID). */
+    public static String directMessageAck(String messageId, String status, String originProxyId, String secret, String responderProxyId) {
+        return "DIRECT_MSG_ACK" + SEP + messageId + SEP + status + SEP + originProxyId + SEP + secret + SEP + responderProxyId;
+    }
+
     /**
      * Parse an incoming message. Returns null if invalid or unknown type.
      * Reason field may contain SEP; we reassemble it from middle parts for KICK.
@@ -231,10 +291,17 @@ public final class CrossProxyMessage {
                 return new CrossProxyMessage(Type.KICK_BY_NAME, parts[parts.length - 2], parts.length > 4 ? parts[parts.length - 1] : null, null, reason, null, parts[1], null);
             }
             if ("SENDALL".equals(typeStr) && parts.length >= 4) {
-                return new CrossProxyMessage(Type.SENDALL, parts[2], parts.length > 3 ? parts[3] : null, null, null, parts[1], null, null);
+                String jobId = parts.length >= 5 && !parts[4].isEmpty() ? parts[4] : null; // absent from proxies without progress reports
+                return new CrossProxyMessage(Type.SENDALL, parts[2], parts[3], null, null, parts[1], null, null, jobId, 0, 0, 0, 0, false);
             }
             if ("SEND_SERVER".equals(typeStr) && parts.length >= 5) {
-                return new CrossProxyMessage(Type.SEND_SERVER, parts[3], parts[4], null, parts[1], parts[2], null, null); // reason=sourceServer, serverName=targetServer
+                String jobId = parts.length >= 6 && !parts[5].isEmpty() ? parts[5] : null;
+                return new CrossProxyMessage(Type.SEND_SERVER, parts[3], parts[4], null, parts[1], parts[2], null, null, jobId, 0, 0, 0, 0, false); // reason=sourceServer, serverName=targetServer
+            }
+            if ("MASS_SEND_PROGRESS".equals(typeStr) && parts.length >= 10) {
+                return new CrossProxyMessage(Type.MASS_SEND_PROGRESS, parts[8], parts[9], null, null, parts[2], null, null, parts[1],
+                        Integer.parseInt(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]), Integer.parseInt(parts[6]),
+                        Boolean.parseBoolean(parts[7])); // serverName=target
             }
             if ("PLAYER_CONNECT".equals(typeStr) && parts.length >= 4) {
                 return new CrossProxyMessage(Type.PLAYER_CONNECT, parts[3], parts[1], parts[2], null, null, null, null);
@@ -319,6 +386,19 @@ public final class CrossProxyMessage {
             if ("PING_RESPONSE".equals(typeStr) && parts.length >= 7) {
                 return new CrossProxyMessage(Type.PING_RESPONSE, parts[5], parts[6], null, parts[3], parts[1], parts[2], parts[4]); // reason=ping, serverName=request ID, duration=origin proxy
             }
+            if ("TRANSFER_HINT".equals(typeStr) && parts.length >= 4) {
+                return new CrossProxyMessage(Type.TRANSFER_HINT, parts[2], parts[3], parts[1], null, null, null, null);
+            }
+            if ("DIRECT_MSG".equals(typeStr) && parts.length >= 8) {
+                String text = parts.length == 8 ? parts[5] : String.join(SEP, java.util.Arrays.copyOfRange(parts, 5, parts.length - 2));
+                return new CrossProxyMessage(Type.DIRECT_MSG, parts[parts.length - 2], parts[parts.length - 1], parts[2], text, parts[3], parts[4], parts[1]); // uuid=target, reason=text, serverName=sender UUID, username=sender name, duration=message ID
+            }
+            if ("DIRECT_MSG_ACK".equals(typeStr) && parts.length >= 6) {
+                return new CrossProxyMessage(Type.DIRECT_MSG_ACK, parts[4], parts[5], null, parts[2], parts[1], null, parts[3]); // reason=status, serverName=message ID, duration=origin proxy
+            }
+            if ("BADWORDS_UPDATED".equals(typeStr) && parts.length >= 3) {
+                return new CrossProxyMessage(Type.BADWORDS_UPDATED, parts[1], parts[2], null, null, null, null, null);
+            }
         } catch (Exception ignored) { }
         return null;
     }
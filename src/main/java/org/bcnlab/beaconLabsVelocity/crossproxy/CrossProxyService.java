@@ -8,6 +8,7 @@ import io.lettuce.core.RedisURI;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import io.lettuce.core.pubsub.api.sync.RedisPubSubCommands;
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -16,8 +17,14 @@ import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.luckperms.api.LuckPermsProvider;
 import net.luckperms.api.model.user.User;
+import com.velocitypowered.api.network.HandshakeIntent;
 import com.velocitypowered.api.proxy.Player;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
+import org.bcnlab.beaconLabsVelocity.service.MassTransferService;
+import org.bcnlab.beaconLabsVelocity.service.MessageService;
+import org.bcnlab.beaconLabsVelocity.service.StaffAudienceService;
 import org.slf4j.Logger;
 
 import java.lang.reflect.Method;
@@ -35,10 +42,18 @@ import org.bcnlab.beaconLabsVelocity.util.ColorParser;
  * Optional cross-proxy sync via Redis Pub/Sub. When enabled, kick/ban/send and
  * duplicate-session handling work across multiple Velocity proxies. All messages
  * are verified with a shared secret so only authorized proxies act on messages.
+ * <p>
+ * Network-wide messages go to the shared channel. Messages addressed to specific players are routed to the
+ * inbox channel of the proxy hosting them ({@code blv:crossproxy:<proxyId>}), looked up in the snapshot;
+ * when the recipient's proxy is unknown they fall back to the shared channel.
+ * <p>
+ * Commands that must not be lost (kicks, mutes, maintenance and whitelist toggles) go through a durable
+ * {@link CommandLane} instead of pub/sub when one is configured.
  */
 public class CrossProxyService {
 
     private static final String CHANNEL = "blv:crossproxy";
+    private static final String PROXY_CHANNEL_PREFIX = CHANNEL + ":";
     private static final String ONLINE_KEY_PREFIX = "blv:online:";
     private static final String PROXIES_SET = "blv:proxies";
     private static final String PLIST_KEY_PREFIX = "blv:plist:";
@@ -48,9 +63,15 @@ public class CrossProxyService {
     private static final String STAFF_KEY_PREFIX = "blv:staff:";
     private static final String PREFIX_HASH_KEY = "blv:prefixes";
     private static final String SUPPORTED_SERVERS_KEY = "blv:supported-servers";
+    /** Shared bad-word dictionary: field = word, value = time added (ms). */
+    private static final String BADWORDS_HASH_KEY = "blv:badwords";
     private static final int HEARTBEAT_TTL_SECONDS = 90;
     /** TTL for pending transfer (player reconnected to backend after cross-proxy transfer). */
     private static final int TRANSFER_PENDING_TTL_SECONDS = 60;
+    /** Client cookie carrying signed transfer metadata (1.20.5+); the Redis pending key is the fallback. */
+    private static final Key TRANSFER_COOKIE_KEY = Key.key("beaconlabs", "transfer");
+    /** How long the initial server choice waits for a transferred player's cookie. */
+    private static final long TRANSFER_COOKIE_WAIT_MS = 2000L;
     private static final int HEARTBEAT_REFRESH_INTERVAL_SECONDS = 20;
     /** TTL for plist key so dead proxies disappear; also used as fallback "live" signal when heartbeat is delayed (e.g. Redis replication). */
     private static final int PLIST_TTL_SECONDS = 120;
@@ -61,6 +82,8 @@ public class CrossProxyService {
     private final ProxyServer server;
     private final Logger logger;
     private final String proxyId;
+    /** This proxy's inbox channel for player-addressed messages. */
+    private final String inboxChannel;
     private final String sharedSecret;
     private final String publicHostname;
     private final boolean enabled;
@@ -72,8 +95,29 @@ public class CrossProxyService {
     private Thread subscriberThread;
     private ScheduledTask heartbeatTask;
     private ScheduledTask snapshotTask;
+    /** Durable path for moderation/state commands; null means they use pub/sub like everything else. */
+    private volatile CommandLane commandLane;
+    private RedisChatHistory chatHistory;
+    /** Players another proxy announced a pending transfer for (TRANSFER_HINT), with the hint's expiry time. */
+    private final java.util.Map<UUID, Long> expectedTransfers = new ConcurrentHashMap<>();
+    /** Transferred players whose cookie was requested at login: resolves to the verified target server, or null. */
+    private final java.util.Map<UUID, CompletableFuture<String>> transferCookies = new ConcurrentHashMap<>();
+    /** Nonces of transfer cookies already consumed here, with the time they stop being valid anyway. */
+    private final java.util.Map<String, Long> usedTransferNonces = new ConcurrentHashMap<>();
     private final java.util.Map<String, PendingPing> pendingPings = new ConcurrentHashMap<>();
+    private final java.util.Map<String, PendingDirectMessage> pendingDirectMessages = new ConcurrentHashMap<>();
     private final AtomicBoolean snapshotRefreshInProgress = new AtomicBoolean();
+    private final java.util.List<java.util.function.Consumer<String>> prefixListeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    private final MetricsRegistry.Counter publishedPubSub;
+    private final MetricsRegistry.Counter publishedDurable;
+    private final MetricsRegistry.Counter publishFailures;
+    private final MetricsRegistry.Counter rejectedMessages;
+    private final java.util.Map<CrossProxyMessage.Type, MetricsRegistry.Counter> receivedByType =
+            new java.util.EnumMap<>(CrossProxyMessage.Type.class);
+    /** Time from receiving a message to the end of its handler on the scheduler, including queueing. */
+    private final LatencyHistogram handleTime;
+    private final LatencyHistogram snapshotRefreshTime;
 
     private static final class PendingPing {
         private final CompletableFuture<Long> future;
@@ -84,6 +128,18 @@ public class CrossProxyService {
         }
     }
 
+    private static final class PendingDirectMessage {
+        private final CompletableFuture<MessageService.DeliveryStatus> future;
+        private volatile ScheduledTask timeoutTask;
+
+        private PendingDirectMessage(CompletableFuture<MessageService.DeliveryStatus> future) {
+            this.future = future;
+        }
+    }
+
+    /** How long a direct message waits for the receiving proxy's acknowledgement. */
+    private static final int DIRECT_MSG_ACK_TIMEOUT_SECONDS = 3;
+
     private volatile CrossProxySnapshot snapshot = CrossProxySnapshot.empty();
 
     private static final class CrossProxySnapshot {
@@ -129,10 +185,25 @@ public class CrossProxyService {
         this.server = plugin.getServer();
         this.logger = plugin.getLogger();
         this.proxyId = proxyId != null ? proxyId : "default";
+        this.inboxChannel = PROXY_CHANNEL_PREFIX + this.proxyId;
         this.sharedSecret = sharedSecret != null ? sharedSecret : "";
         this.publicHostname = publicHostname != null ? publicHostname.trim() : "";
         this.enabled = enabled;
         this.allowDoubleJoin = allowDoubleJoin;
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        publishedPubSub = metrics.counter("blv_crossproxy_published_total", "Cross-proxy messages published by path", "path", "pubsub");
+        publishedDurable = metrics.counter("blv_crossproxy_published_total", "Cross-proxy messages published by path", "path", "durable");
+        publishFailures = metrics.counter("blv_crossproxy_publish_failures_total", "Cross-proxy publishes that threw before reaching Redis");
+        rejectedMessages = metrics.counter("blv_crossproxy_rejected_total", "Incoming cross-proxy messages dropped as unparsable or with a wrong secret");
+        for (CrossProxyMessage.Type type : CrossProxyMessage.Type.values()) {
+            receivedByType.put(type, metrics.counter("blv_crossproxy_received_total", "Incoming cross-proxy messages by type", "type", type.name()));
+        }
+        handleTime = metrics.histogram("blv_crossproxy_handle_seconds", "Time from receiving a cross-proxy message until its handler finished");
+        snapshotRefreshTime = metrics.histogram("blv_crossproxy_snapshot_refresh_seconds", "Duration of Redis snapshot refreshes");
+        metrics.gauge("blv_crossproxy_proxies", "Live proxies in the current snapshot", () -> snapshot.proxyIds.size());
+        metrics.gauge("blv_crossproxy_network_players", "Players across all proxies in the current snapshot",
+                () -> snapshot.proxyByPlayerUuid.size());
     }
 
     public boolean isEnabled() {
@@ -215,30 +286,63 @@ public class CrossProxyService {
         return snapshot.proxyHostnames.get(targetProxyId);
     }
 
-    /** Set pending transfer: when this player connects to targetProxyId, send them to serverName. TTL 60s. */
+    /**
+     * Set pending transfer: when this player connects to targetProxyId, send them to serverName. TTL 60s.
+     * Written asynchronously; once stored, the target proxy gets a TRANSFER_HINT so it only looks the key up
+     * for players it expects.
+     */
     public void setPendingTransfer(String targetProxyId, UUID playerUuid, String serverName) {
         if (!enabled || pubConnection == null || targetProxyId == null || playerUuid == null || serverName == null || serverName.isEmpty()) return;
-        try {
-            pubConnection.sync().setex(TRANSFER_PENDING_KEY_PREFIX + targetProxyId + ":" + playerUuid.toString(), TRANSFER_PENDING_TTL_SECONDS, serverName);
-        } catch (Exception e) {
-            logger.debug("Failed to set pending transfer: {}", e.getMessage());
-        }
+        pubConnection.async().setex(TRANSFER_PENDING_KEY_PREFIX + targetProxyId + ":" + playerUuid.toString(), TRANSFER_PENDING_TTL_SECONDS, serverName)
+                .whenComplete((ok, e) -> {
+                    if (e != null) {
+                        logger.debug("Failed to set pending transfer: {}", e.getMessage());
+                    } else if (targetProxyId.equals(proxyId)) {
+                        expectTransfer(playerUuid);
+                    } else {
+                        publishToProxy(targetProxyId, CrossProxyMessage.transferHint(playerUuid, sharedSecret, proxyId));
+                    }
+                });
     }
 
-    /** Get and remove pending transfer for this player on this proxy. Returns server name to connect to, or null. */
-    public String getAndClearPendingTransfer(UUID playerUuid) {
-        if (!enabled || pubConnection == null || playerUuid == null) return null;
-        try {
-            String key = TRANSFER_PENDING_KEY_PREFIX + proxyId + ":" + playerUuid.toString();
-            String serverName = pubConnection.sync().get(key);
-            if (serverName != null && !serverName.isEmpty()) {
-                pubConnection.sync().del(key);
-                return serverName;
-            }
-        } catch (Exception e) {
-            logger.debug("Failed to get pending transfer: {}", e.getMessage());
-        }
-        return null;
+    /**
+     * Take the pending transfer for this player on this proxy: the server name to connect to, or null.
+     * Players without a TRANSFER_HINT (i.e. almost every join) complete immediately without touching Redis;
+     * expected players are looked up with one async GETDEL.
+     */
+    public CompletableFuture<String> takePendingTransfer(UUID playerUuid) {
+        if (!enabled || pubConnection == null || playerUuid == null) return CompletableFuture.completedFuture(null);
+        Long expiresAt = expectedTransfers.remove(playerUuid);
+        if (expiresAt == null || expiresAt < System.currentTimeMillis()) return CompletableFuture.completedFuture(null);
+        String key = TRANSFER_PENDING_KEY_PREFIX + proxyId + ":" + playerUuid.toString();
+        var async = pubConnection.async();
+        return async.getdel(key).toCompletableFuture()
+                .exceptionallyCompose(e -> {
+                    // GETDEL needs Redis 6.2; fall back to GET followed by DEL
+                    if (e.getMessage() == null || !e.getMessage().toLowerCase().contains("unknown command")) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    return async.get(key).toCompletableFuture()
+                            .thenCompose(value -> async.del(key).toCompletableFuture().thenApply(deleted -> value));
+                })
+                .handle((serverName, e) -> {
+                    if (e != null) {
+                        logger.debug("Failed to get pending transfer: {}", e.getMessage());
+                        return null;
+                    }
+                    return serverName != null && !serverName.isEmpty() ? serverName : null;
+                });
+    }
+
+    private void expectTransfer(UUID playerUuid) {
+        long now = System.currentTimeMillis();
+        expectedTransfers.values().removeIf(expiresAt -> expiresAt < now);
+        expectedTransfers.put(playerUuid, now + TimeUnit.SECONDS.toMillis(TRANSFER_PENDING_TTL_SECONDS));
+    }
+
+    private void handleTransferHint(CrossProxyMessage msg) {
+        UUID uuid = msg.getUuidAsUUID();
+        if (uuid != null) expectTransfer(uuid);
     }
 
     /** Unregister this proxy on shutdown. */
@@ -266,7 +370,7 @@ public class CrossProxyService {
             for (com.velocitypowered.api.proxy.Player p : server.getAllPlayers()) {
                 String serverName = p.getCurrentServer().map(s -> s.getServerInfo().getName()).orElse("?");
                 entries.add(p.getUniqueId().toString() + PLAYER_SERVER_PAIR_SEP + p.getUsername() + PLAYER_SERVER_PAIR_SEP + serverName);
-                if (p.hasPermission("beaconlabs.visual.staff")) {
+                if (plugin.getStaffAudienceService().isMember(StaffAudienceService.STAFF, p)) {
                     staffNames.add(p.getUsername().toLowerCase());
                 }
                 try {
@@ -309,6 +413,11 @@ public class CrossProxyService {
         return snapshot.prefixes.getOrDefault(playerName.toLowerCase(), "");
     }
 
+    /** Register a callback for players whose shared prefix changed (lower-case name), e.g. to drop rendered names. */
+    public void addPrefixListener(java.util.function.Consumer<String> listener) {
+        prefixListeners.add(listener);
+    }
+
     /** Remove a player's prefix from the shared Redis hash. */
     public void removePlayerPrefix(String playerName) {
         if (playerName == null || playerName.isEmpty() || !enabled || pubConnection == null) return;
@@ -328,11 +437,19 @@ public class CrossProxyService {
         }
         out.add("[Cross-proxy] Enabled: true");
         out.add("[Cross-proxy] This proxy ID: " + proxyId);
+        out.add("[Cross-proxy] Inbox channel: " + inboxChannel);
         out.add("[Cross-proxy] Local player count: " + server.getAllPlayers().size());
         if (pubConnection == null) {
             out.add("[Cross-proxy] Redis: not connected");
             return out;
         }
+        CommandLane lane = commandLane;
+        if (lane != null) out.addAll(lane.getDebugInfo());
+        else out.add("[Command stream] Mode: off (pub/sub only)");
+        RedisChatHistory history = chatHistory;
+        if (history != null) out.addAll(history.getDebugInfo());
+        MassTransferService massTransfer = plugin.getMassTransferService();
+        if (massTransfer != null) out.addAll(massTransfer.getDebugInfo());
         try {
             var sync = pubConnection.sync();
             out.add("[Cross-proxy] Redis: connected");
@@ -389,6 +506,7 @@ public class CrossProxyService {
 
     private void refreshRemoteSnapshotNow() {
         if (!enabled || pubConnection == null) return;
+        long start = System.nanoTime();
         try {
             var sync = pubConnection.sync();
             for (String supportedServer : sync.smembers(SUPPORTED_SERVERS_KEY)) {
@@ -452,16 +570,36 @@ public class CrossProxyService {
                 if (list != null) staff.put(id, parseStaffList(rawStaff.get(STAFF_KEY_PREFIX + id), list));
             }
 
+            java.util.Map<String, String> previousPrefixes = snapshot.prefixes;
+            java.util.Map<String, String> prefixes = java.util.Map.copyOf(sync.hgetall(PREFIX_HASH_KEY));
             snapshot = new CrossProxySnapshot(
                     java.util.Set.copyOf(live), immutableListMap(players), immutableListMap(staff),
                     java.util.Map.copyOf(uuids), java.util.Map.copyOf(proxyByUuid),
                     java.util.Map.copyOf(servers), java.util.Map.copyOf(rawHostnames),
-                    java.util.Map.copyOf(sync.hgetall(PREFIX_HASH_KEY)));
+                    prefixes);
+            notifyPrefixChanges(previousPrefixes, prefixes);
+            snapshotRefreshTime.recordSince(start);
         } catch (Exception e) {
             logger.debug("Failed to refresh cross-proxy snapshot: {}", e.getMessage());
         }
     }
 
+    private void notifyPrefixChanges(java.util.Map<String, String> before, java.util.Map<String, String> after) {
+        if (prefixListeners.isEmpty() || before.equals(after)) return;
+        java.util.Set<String> changed = new java.util.HashSet<>();
+        before.forEach((name, prefix) -> {
+            if (!prefix.equals(after.get(name))) changed.add(name);
+        });
+        after.forEach((name, prefix) -> {
+            if (!before.containsKey(name)) changed.add(name);
+        });
+        for (String name : changed) {
+            for (java.util.function.Consumer<String> listener : prefixListeners) {
+                listener.accept(name);
+            }
+        }
+    }
+
     private static java.util.Map<String, java.util.List<java.util.Map.Entry<String, String>>> immutableListMap(
             java.util.Map<String, java.util.List<java.util.Map.Entry<String, String>>> source) {
         java.util.Map<String, java.util.List<java.util.Map.Entry<String, String>>> result = new java.util.HashMap<>();
@@ -492,8 +630,13 @@ public class CrossProxyService {
         return result;
     }
 
-    /** Call after config is loaded. Connects and subscribes if enabled and config valid. */
-    public void start(String host, int port, String password, int connectTimeoutMs, int reconnectIntervalMs) {
+    /**
+     * Call after config is loaded. Connects and subscribes if enabled and config valid.
+     *
+     * @param durableCommands "streams" (Redis Streams), "local" (in-process stand-in, single proxy only; dropped
+     *                        for pub/sub once another proxy shows up) or "off" (pub/sub only)
+     */
+    public void start(String host, int port, String password, int connectTimeoutMs, int reconnectIntervalMs, String durableCommands) {
         if (!enabled) return;
         if (host == null || host.isEmpty()) {
             logger.warn("Cross-proxy Redis is enabled but redis.host is not set. Cross-proxy features disabled.");
@@ -521,7 +664,7 @@ public class CrossProxyService {
             subConnection.addListener(new io.lettuce.core.pubsub.RedisPubSubAdapter<String, String>() {
                 @Override
                 public void message(String channel, String message) {
-                    if (!CHANNEL.equals(channel)) return;
+                    if (!CHANNEL.equals(channel) && !inboxChannel.equals(channel)) return;
                     handleIncoming(message);
                 }
             });
@@ -529,7 +672,7 @@ public class CrossProxyService {
             subscriberThread = new Thread(() -> {
                 try {
                     RedisPubSubCommands<String, String> sync = subConnection.sync();
-                    sync.subscribe(CHANNEL); // blocks until connection closed
+                    sync.subscribe(CHANNEL, inboxChannel); // blocks until connection closed
                 } catch (Exception e) {
                     if (!subConnection.isOpen()) return;
                     logger.warn("Redis subscriber ended: {}", e.getMessage());
@@ -538,6 +681,16 @@ public class CrossProxyService {
             subscriberThread.setDaemon(true);
             subscriberThread.start();
 
+            String laneMode = durableCommands != null ? durableCommands.trim().toLowerCase() : "streams";
+            if ("streams".equals(laneMode)) {
+                commandLane = new RedisStreamCommandLane(plugin, redisClient, proxyId, reconnectIntervalMs);
+            } else if ("local".equals(laneMode)) {
+                commandLane = new LocalCommandLane(plugin, proxyId);
+            }
+            if (commandLane != null) {
+                commandLane.start(this::handleIncoming);
+            }
+
             registerProxy();
             updatePlayerList();
             requestRemoteSnapshotRefresh();
@@ -545,6 +698,7 @@ public class CrossProxyService {
                     .repeat(1, TimeUnit.SECONDS)
                     .schedule();
             heartbeatTask = server.getScheduler().buildTask(plugin, () -> {
+                rejectLocalLaneIfShared();
                 refreshProxyHostname();
                 updatePlayerList(); // Keep plist key alive (TTL 120s); otherwise plist shows 0 after ~2 mins of no join/leave/switch
             })
@@ -557,6 +711,44 @@ public class CrossProxyService {
         }
     }
 
+    /**
+     * The local lane only reaches lanes in this JVM, so commands sent through it never leave this proxy. When
+     * other proxies are live, drop it and send durable commands over pub/sub instead.
+     */
+    private void rejectLocalLaneIfShared() {
+        CommandLane lane = commandLane;
+        if (!(lane instanceof LocalCommandLane)) return;
+        for (String id : snapshot.proxyIds) {
+            if (id.equals(proxyId)) continue;
+            logger.error("redis.durable-commands: local only works with a single proxy, but proxy {} is live. "
+                    + "Sending kicks, mutes and toggles over pub/sub; use \"streams\" on a multi-proxy network.", id);
+            commandLane = null;
+            lane.shutdown();
+            return;
+        }
+    }
+
+    /**
+     * Keep every player's chat in a capped Redis Stream so any proxy can build chat reports. Call after
+     * {@link #start}; does nothing if Redis is not connected.
+     */
+    public void enableChatHistory(int maxEntries, int ttlHours) {
+        if (!enabled || redisClient == null || chatHistory != null) return;
+        try {
+            RedisChatHistory history = new RedisChatHistory(plugin, proxyId, maxEntries, ttlHours);
+            history.start(redisClient);
+            chatHistory = history;
+            logger.info("Network-wide chat history enabled (Redis streams, ~{} entries per player).", maxEntries);
+        } catch (Exception e) {
+            logger.error("Failed to enable network-wide chat history", e);
+        }
+    }
+
+    /** Shared chat history, or null when it is not enabled. */
+    public RedisChatHistory getChatHistory() {
+        return chatHistory;
+    }
+
     public void shutdown() {
         if (snapshotTask != null) {
             snapshotTask.cancel();
@@ -567,6 +759,14 @@ public class CrossProxyService {
             heartbeatTask = null;
         }
         unregisterProxy();
+        if (commandLane != null) {
+            commandLane.shutdown();
+            commandLane = null;
+        }
+        if (chatHistory != null) {
+            chatHistory.shutdown();
+            chatHistory = null;
+        }
         if (subscriberThread != null && subscriberThread.isAlive()) {
             subscriberThread.interrupt();
             subscriberThread = null;
@@ -585,19 +785,27 @@ public class CrossProxyService {
         }
     }
 
-    private void handleIncoming(String raw) {
+    /** Handle one message on a scheduler thread. The future completes once it was handled, exceptionally if that failed. */
+    private CompletableFuture<Void> handleIncoming(String raw) {
+        long receivedAt = System.nanoTime();
         CrossProxyMessage msg = CrossProxyMessage.parse(raw);
-        if (msg == null) return;
+        if (msg == null) {
+            rejectedMessages.inc();
+            return CompletableFuture.completedFuture(null);
+        }
         if (!sharedSecret.equals(msg.getSecret())) {
+            rejectedMessages.inc();
             logger.debug("Ignoring cross-proxy message with invalid secret.");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        receivedByType.get(msg.getType()).inc();
         if (msg.getType() == CrossProxyMessage.Type.PLAYER_LIST_UPDATED) {
             requestRemoteSnapshotRefresh();
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         // Run on Velocity main thread
+        CompletableFuture<Void> handled = new CompletableFuture<>();
         server.getScheduler().buildTask(plugin, () -> {
             try {
                 switch (msg.getType()) {
@@ -688,13 +896,33 @@ public class CrossProxyService {
                     case PING_RESPONSE:
                         handlePingResponse(msg);
                         break;
+                    case BADWORDS_UPDATED:
+                        handleBadWordsUpdated(msg);
+                        break;
+                    case TRANSFER_HINT:
+                        handleTransferHint(msg);
+                        break;
+                    case DIRECT_MSG:
+                        handleDirectMessage(msg);
+                        break;
+                    case DIRECT_MSG_ACK:
+                        handleDirectMessageAck(msg);
+                        break;
+                    case MASS_SEND_PROGRESS:
+                        handleMassSendProgress(msg);
+                        break;
                     default:
                         break;
                 }
-            } catch (Exception e) {
+                handled.complete(null);
+            } catch (Exception | LinkageError e) {
                 logger.warn("Error handling cross-proxy message: {}", e.getMessage());
+                handled.completeExceptionally(e);
+            } finally {
+                handleTime.recordSince(receivedAt);
             }
         }).schedule();
+        return handled;
     }
 
     private void handleKick(CrossProxyMessage msg) {
@@ -727,9 +955,7 @@ public class CrossProxyService {
         if (serverName == null || serverName.isEmpty()) return;
         Optional<RegisteredServer> target = server.getServer(serverName);
         if (target.isEmpty()) return;
-        RegisteredServer rs = target.get();
-        server.getAllPlayers().forEach(player ->
-                player.createConnectionRequest(rs).connectWithIndication());
+        startMassSend(target.get(), server.getAllPlayers(), msg.getJobId(), msg.getProxyId());
     }
 
     private void handleSendServer(CrossProxyMessage msg) {
@@ -738,10 +964,32 @@ public class CrossProxyService {
         if (sourceServer == null || sourceServer.isEmpty() || targetServer == null || targetServer.isEmpty()) return;
         Optional<RegisteredServer> target = server.getServer(targetServer);
         if (target.isEmpty()) return;
-        RegisteredServer rs = target.get();
-        server.getAllPlayers().stream()
+        java.util.List<Player> players = server.getAllPlayers().stream()
                 .filter(p -> p.getCurrentServer().isPresent() && p.getCurrentServer().get().getServerInfo().getName().equalsIgnoreCase(sourceServer))
-                .forEach(p -> p.createConnectionRequest(rs).connectWithIndication());
+                .toList();
+        startMassSend(target.get(), players, msg.getJobId(), msg.getProxyId());
+    }
+
+    /** Send local players through the throttled mass-send queue, reporting progress to the issuing proxy. */
+    private void startMassSend(RegisteredServer target, java.util.Collection<Player> players, String jobId, String originProxyId) {
+        MassTransferService massTransfer = plugin.getMassTransferService();
+        if (massTransfer == null) {
+            players.forEach(player -> player.createConnectionRequest(target).connectWithIndication());
+            return;
+        }
+        String targetName = target.getServerInfo().getName();
+        boolean reportBack = jobId != null && !jobId.isEmpty() && originProxyId != null && !originProxyId.isEmpty();
+        massTransfer.send(target, players, !reportBack || players.isEmpty() ? null : progress -> publishToProxy(originProxyId,
+                CrossProxyMessage.massSendProgress(jobId, targetName, progress.sent(), progress.failed(), progress.skipped(),
+                        progress.total(), progress.done(), sharedSecret, proxyId)));
+    }
+
+    private void handleMassSendProgress(CrossProxyMessage msg) {
+        MassTransferService massTransfer = plugin.getMassTransferService();
+        if (massTransfer == null) return;
+        MassTransferService.Progress progress = new MassTransferService.Progress(msg.getTotal(), msg.getSent(), msg.getFailed(),
+                msg.getSkipped(), msg.isDone());
+        massTransfer.handleNetworkProgress(msg.getJobId(), msg.getProxyId(), msg.getServerName(), progress);
     }
 
     private void handlePlayerConnect(CrossProxyMessage msg) {
@@ -776,6 +1024,7 @@ public class CrossProxyService {
         });
     }
 
+    /** Legacy pre-rendered private message from proxies that predate DIRECT_MSG; kept for rolling upgrades. */
     private void handlePrivateMsg(CrossProxyMessage msg) {
         String targetUsername = msg.getUsername();
         if (targetUsername == null || targetUsername.isEmpty()) return;
@@ -800,9 +1049,7 @@ public class CrossProxyService {
         String legacy = msg.getReason();
         if (legacy == null) return;
         Component comp = ColorParser.parse(legacy);
-        server.getAllPlayers().stream()
-                .filter(p -> p.hasPermission("beaconlabs.teamchat"))
-                .forEach(p -> p.sendMessage(comp));
+        plugin.getStaffAudienceService().broadcast(StaffAudienceService.TEAM_CHAT, comp);
     }
 
     private void handleChatReportResult(CrossProxyMessage msg) {
@@ -823,39 +1070,107 @@ public class CrossProxyService {
         // Only skip reporter when this proxy did the report (avoid duplicate for reporter); when report came from another proxy, reporter must get the link here
         final boolean skipReporter = (msg.getProxyId() != null && msg.getProxyId().equals(proxyId))
                 && reporterName != null && !reporterName.isEmpty();
-        server.getAllPlayers().stream()
-                .filter(p -> p.hasPermission("beaconlabs.chat.chatreport"))
-                .filter(p -> !skipReporter || !reporterName.equalsIgnoreCase(p.getUsername()))
-                .forEach(p -> p.sendMessage(linkMessage));
+        for (Player p : plugin.getStaffAudienceService().getMembers(StaffAudienceService.CHAT_REPORT)) {
+            if (!skipReporter || !reporterName.equalsIgnoreCase(p.getUsername())) p.sendMessage(linkMessage);
+        }
     }
 
 
     /** Ask other proxies to kick a player by name (used when player is not on this proxy). */
     public void publishKickByName(String username, String reason) {
-        publish(CrossProxyMessage.kickByName(username, reason, sharedSecret, proxyId));
+        publishDurable(CrossProxyMessage.kickByName(username, reason, sharedSecret, proxyId));
     }
 
-    public void publishSendAll(String serverName) {
-        publish(CrossProxyMessage.sendAll(serverName, sharedSecret, proxyId));
+    /** Send every player on the network to a server; each proxy reports progress for {@code jobId} back here. */
+    public void publishSendAll(String serverName, String jobId) {
+        publish(CrossProxyMessage.sendAll(serverName, jobId, sharedSecret, proxyId));
     }
 
-    public void publishSendServer(String sourceServer, String targetServer) {
-        publish(CrossProxyMessage.sendServer(sourceServer, targetServer, sharedSecret, proxyId));
+    /** Send every player on a server to another; each proxy reports progress for {@code jobId} back here. */
+    public void publishSendServer(String sourceServer, String targetServer, String jobId) {
+        publish(CrossProxyMessage.sendServer(sourceServer, targetServer, jobId, sharedSecret, proxyId));
     }
 
     public void publishKick(UUID uuid, String reason) {
-        publish(CrossProxyMessage.kick(uuid, reason, sharedSecret, proxyId));
+        publishDurable(CrossProxyMessage.kick(uuid, reason, sharedSecret, proxyId));
     }
 
+    /** Publish a network-wide message on the shared channel. */
     private void publish(String message) {
+        publishOn(CHANNEL, message);
+    }
+
+    private void publishOn(String channel, String message) {
         if (!enabled || pubConnection == null) return;
         try {
-            pubConnection.async().publish(CHANNEL, message);
+            pubConnection.async().publish(channel, message);
+            publishedPubSub.inc();
         } catch (Exception e) {
+            publishFailures.inc();
             logger.warn("Failed to publish cross-proxy message: {}", e.getMessage());
         }
     }
 
+    /**
+     * Publish a command that every proxy must receive, even one that is briefly disconnected. Uses the
+     * durable lane when configured and falls back to the shared pub/sub channel otherwise.
+     */
+    private void publishDurable(String message) {
+        CommandLane lane = commandLane;
+        if (!enabled || lane == null) {
+            publish(message);
+            return;
+        }
+        lane.append(message);
+        publishedDurable.inc();
+    }
+
+    /** Publish to one proxy's inbox, or on the shared channel when the target proxy is unknown. */
+    private void publishToProxy(String targetProxyId, String message) {
+        if (targetProxyId == null || targetProxyId.isEmpty()) {
+            publish(message);
+            return;
+        }
+        publishOn(PROXY_CHANNEL_PREFIX + targetProxyId, message);
+    }
+
+    /** Route a message to the proxy hosting this player; broadcast if the snapshot doesn't know them yet. */
+    private void publishToPlayer(UUID playerUuid, String message) {
+        publishToProxy(playerUuid != null ? getPlayerProxy(playerUuid) : null, message);
+    }
+
+    private void publishToPlayerName(String playerName, String message) {
+        if (playerName != null && !playerName.isEmpty()) {
+            if (server.getPlayer(playerName).isPresent()) {
+                publishToProxy(proxyId, message);
+                return;
+            }
+            UUID uuid = snapshot.playerUuidsByName.get(playerName.toLowerCase());
+            if (uuid != null) {
+                publishToPlayer(uuid, message);
+                return;
+            }
+        }
+        publish(message);
+    }
+
+    /**
+     * Send a message once to every other proxy hosting at least one of the recipients. Recipients that are
+     * not online anywhere are skipped, so nothing is published when none of them are on another proxy.
+     */
+    private void publishToRemotePlayers(java.util.Collection<UUID> recipients, String message) {
+        if (!enabled || pubConnection == null || recipients.isEmpty()) return;
+        CrossProxySnapshot current = snapshot;
+        java.util.Set<String> targets = new java.util.HashSet<>();
+        for (UUID uuid : recipients) {
+            String pid = current.proxyByPlayerUuid.get(uuid);
+            if (pid != null && !pid.equals(proxyId) && current.proxyIds.contains(pid)) targets.add(pid);
+        }
+        for (String target : targets) {
+            publishOn(PROXY_CHANNEL_PREFIX + target, message);
+        }
+    }
+
     public void publishPlayerConnect(UUID uuid) {
         publish(CrossProxyMessage.playerConnect(proxyId, uuid, sharedSecret));
     }
@@ -881,15 +1196,11 @@ public class CrossProxyService {
     }
 
     public void publishSendPlayer(UUID uuid, String serverName) {
-        publish(CrossProxyMessage.sendPlayer(uuid, serverName, sharedSecret, proxyId));
+        publishToPlayer(uuid, CrossProxyMessage.sendPlayer(uuid, serverName, sharedSecret, proxyId));
     }
 
     public void publishMuteApplied(UUID uuid, String reason, String durationFormatted) {
-        publish(CrossProxyMessage.muteApplied(uuid, reason, durationFormatted, sharedSecret, proxyId));
-    }
-
-    public void publishPrivateMsg(String targetUsername, String senderUuid, String senderUsername, String recipientMessageLegacy) {
-        publish(CrossProxyMessage.privateMsg(targetUsername, senderUuid != null ? senderUuid : "", senderUsername, recipientMessageLegacy, sharedSecret, proxyId));
+        publishDurable(CrossProxyMessage.muteApplied(uuid, reason, durationFormatted, sharedSecret, proxyId));
     }
 
     public void publishBroadcast(String messageLegacy) {
@@ -905,13 +1216,13 @@ public class CrossProxyService {
     }
 
     public void publishChatReportRequest(UUID targetUuid, String targetUsername, String reporterUsername) {
-        publish(CrossProxyMessage.chatReportRequest(targetUuid != null ? targetUuid.toString() : "", targetUsername, reporterUsername, sharedSecret, proxyId));
+        publishToPlayer(targetUuid, CrossProxyMessage.chatReportRequest(targetUuid != null ? targetUuid.toString() : "", targetUsername, reporterUsername, sharedSecret, proxyId));
     }
 
     /** Ask the proxy that has this player to show them the ente (duck) title. Used for /ente cross-proxy. */
     public void publishEnte(String targetUsername) {
         if (targetUsername == null || targetUsername.isEmpty()) return;
-        publish(CrossProxyMessage.ente(targetUsername, sharedSecret, proxyId));
+        publishToPlayerName(targetUsername, CrossProxyMessage.ente(targetUsername, sharedSecret, proxyId));
     }
 
     private void handleChatReportRequest(CrossProxyMessage msg) {
@@ -938,7 +1249,7 @@ public class CrossProxyService {
             PendingPing expired = pendingPings.remove(requestId);
             if (expired != null) expired.future.completeExceptionally(new java.util.concurrent.TimeoutException("Ping request timed out"));
         }).delay(3, TimeUnit.SECONDS).schedule();
-        publish(CrossProxyMessage.pingRequest(targetUuid, requestId, sharedSecret, proxyId));
+        publishToPlayer(targetUuid, CrossProxyMessage.pingRequest(targetUuid, requestId, sharedSecret, proxyId));
         return future;
     }
 
@@ -947,7 +1258,7 @@ public class CrossProxyService {
         String requestId = msg.getServerName();
         String originProxyId = msg.getProxyId();
         if (targetUuid == null || requestId == null || requestId.isEmpty() || originProxyId == null || originProxyId.isEmpty()) return;
-        server.getPlayer(targetUuid).ifPresent(target -> publish(CrossProxyMessage.pingResponse(
+        server.getPlayer(targetUuid).ifPresent(target -> publishToProxy(originProxyId, CrossProxyMessage.pingResponse(
                 requestId, target.getUsername(), target.getPing(), originProxyId, sharedSecret, proxyId)));
     }
 
@@ -965,6 +1276,74 @@ public class CrossProxyService {
         }
     }
 
+    /**
+     * Send a private message to a player on another proxy. Only the proxy hosting the recipient receives it;
+     * it renders the message itself and answers with the delivery status. Completes with
+     * {@link MessageService.DeliveryStatus#OFFLINE} right away when the recipient is on no known proxy, and
+     * with {@link MessageService.DeliveryStatus#TIMEOUT} when no answer arrives in time.
+     */
+    public CompletableFuture<MessageService.DeliveryStatus> sendDirectMessage(UUID targetUuid, UUID senderUuid, String senderName, String text) {
+        if (!enabled || pubConnection == null || targetUuid == null) {
+            return CompletableFuture.completedFuture(MessageService.DeliveryStatus.OFFLINE);
+        }
+        String targetProxyId = getPlayerProxy(targetUuid);
+        if (targetProxyId == null || targetProxyId.equals(proxyId)) {
+            return CompletableFuture.completedFuture(MessageService.DeliveryStatus.OFFLINE);
+        }
+        String messageId = UUID.randomUUID().toString();
+        CompletableFuture<MessageService.DeliveryStatus> future = new CompletableFuture<>();
+        PendingDirectMessage pending = new PendingDirectMessage(future);
+        pendingDirectMessages.put(messageId, pending);
+        pending.timeoutTask = server.getScheduler().buildTask(plugin, () -> {
+            PendingDirectMessage expired = pendingDirectMessages.remove(messageId);
+            if (expired != null) expired.future.complete(MessageService.DeliveryStatus.TIMEOUT);
+        }).delay(DIRECT_MSG_ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS).schedule();
+        publishToProxy(targetProxyId, CrossProxyMessage.directMessage(messageId, targetUuid, senderUuid, senderName, text, sharedSecret, proxyId));
+        return future;
+    }
+
+    private void handleDirectMessage(CrossProxyMessage msg) {
+        UUID targetUuid = msg.getUuidAsUUID();
+        String messageId = msg.getDurationFormatted();
+        String originProxyId = msg.getProxyId();
+        if (targetUuid == null || messageId == null || messageId.isEmpty() || originProxyId == null || originProxyId.isEmpty()) return;
+        UUID senderUuid;
+        try {
+            senderUuid = UUID.fromString(msg.getServerName());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return;
+        }
+        // Privacy checks may hit the database; keep them off the subscriber thread
+        server.getScheduler().buildTask(plugin, () -> {
+            MessageService messageService = plugin.getMessageService();
+            MessageService.DeliveryStatus status = MessageService.DeliveryStatus.OFFLINE;
+            try {
+                if (messageService != null) {
+                    status = messageService.deliverRemotePrivateMessage(targetUuid, senderUuid, msg.getUsername(), msg.getReason());
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to deliver cross-proxy private message: {}", e.getMessage());
+            }
+            publishToProxy(originProxyId, CrossProxyMessage.directMessageAck(messageId, status.name(), originProxyId, sharedSecret, proxyId));
+        }).schedule();
+    }
+
+    private void handleDirectMessageAck(CrossProxyMessage msg) {
+        if (msg.getDurationFormatted() == null || !proxyId.equals(msg.getDurationFormatted())) return;
+        String messageId = msg.getServerName();
+        if (messageId == null || messageId.isEmpty()) return;
+        PendingDirectMessage pending = pendingDirectMessages.remove(messageId);
+        if (pending == null) return;
+        if (pending.timeoutTask != null) pending.timeoutTask.cancel();
+        MessageService.DeliveryStatus status;
+        try {
+            status = MessageService.DeliveryStatus.valueOf(msg.getReason());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            status = MessageService.DeliveryStatus.OFFLINE;
+        }
+        pending.future.complete(status);
+    }
+
     // Friend System Handlers
 
     private void handleFriendRequest(CrossProxyMessage msg) {
@@ -996,13 +1375,11 @@ public class CrossProxyService {
         UUID joinedUuid = msg.getUuidAsUUID();
         if (joinedUuid == null) return;
         String joinedName = msg.getUsername();
-        server.getAllPlayers().forEach(player -> {
-            if (plugin.getFriendService().areFriends(player.getUniqueId(), joinedUuid)) {
-                player.sendMessage(plugin.getPrefix(player).append(Component.text("Friend ", NamedTextColor.GOLD))
-                        .append(Component.text(joinedName, NamedTextColor.GREEN))
-                        .append(Component.text(" has joined the network.", NamedTextColor.GOLD)));
-            }
-        });
+        for (Player player : plugin.getFriendService().getOnlineFriends(joinedUuid)) {
+            player.sendMessage(plugin.getPrefix(player).append(Component.text("Friend ", NamedTextColor.GOLD))
+                    .append(Component.text(joinedName, NamedTextColor.GREEN))
+                    .append(Component.text(" has joined the network.", NamedTextColor.GOLD)));
+        }
     }
 
     private void handleFriendLeave(CrossProxyMessage msg) {
@@ -1010,29 +1387,29 @@ public class CrossProxyService {
         UUID leftUuid = msg.getUuidAsUUID();
         if (leftUuid == null) return;
         String leftName = msg.getUsername();
-        server.getAllPlayers().forEach(player -> {
-            if (plugin.getFriendService().areFriends(player.getUniqueId(), leftUuid)) {
-                player.sendMessage(plugin.getPrefix(player).append(Component.text("Friend ", NamedTextColor.GOLD))
-                        .append(Component.text(leftName, NamedTextColor.GREEN))
-                        .append(Component.text(" has left the network.", NamedTextColor.GOLD)));
-            }
-        });
+        for (Player player : plugin.getFriendService().getOnlineFriends(leftUuid)) {
+            player.sendMessage(plugin.getPrefix(player).append(Component.text("Friend ", NamedTextColor.GOLD))
+                    .append(Component.text(leftName, NamedTextColor.GREEN))
+                    .append(Component.text(" has left the network.", NamedTextColor.GOLD)));
+        }
     }
 
     public void publishFriendRequest(UUID targetUuid, String senderName) {
-        publish(CrossProxyMessage.friendRequest(targetUuid.toString(), senderName, sharedSecret, proxyId));
+        publishToPlayer(targetUuid, CrossProxyMessage.friendRequest(targetUuid.toString(), senderName, sharedSecret, proxyId));
     }
 
     public void publishFriendAccept(UUID targetUuid, String acceptorName) {
-        publish(CrossProxyMessage.friendAccept(targetUuid.toString(), acceptorName, sharedSecret, proxyId));
+        publishToPlayer(targetUuid, CrossProxyMessage.friendAccept(targetUuid.toString(), acceptorName, sharedSecret, proxyId));
     }
 
+    /** Notify only the proxies hosting this player's friends. */
     public void publishFriendJoin(UUID uuid, String name) {
-        publish(CrossProxyMessage.friendJoin(uuid.toString(), name, sharedSecret, proxyId));
+        publishToRemotePlayers(plugin.getFriendService().getFriends(uuid), CrossProxyMessage.friendJoin(uuid.toString(), name, sharedSecret, proxyId));
     }
 
+    /** Notify only the proxies hosting this player's friends. */
     public void publishFriendLeave(UUID uuid, String name) {
-        publish(CrossProxyMessage.friendLeave(uuid.toString(), name, sharedSecret, proxyId));
+        publishToRemotePlayers(plugin.getFriendService().getFriends(uuid), CrossProxyMessage.friendLeave(uuid.toString(), name, sharedSecret, proxyId));
     }
 
     private void handleMaintenanceSet(CrossProxyMessage msg) {
@@ -1074,15 +1451,13 @@ public class CrossProxyService {
                 .append(Component.text(" by " + (issuerName != null ? issuerName : "Console"), net.kyori.adventure.text.format.NamedTextColor.GRAY)));
 
             logger.info(MiniMessage.miniMessage().serialize(comp));
-            server.getAllPlayers().stream()
-                    .filter(p -> p.hasPermission("beaconlabs.antiabuse"))
-                    .forEach(p -> p.sendMessage(comp));
+            plugin.getStaffAudienceService().broadcast(StaffAudienceService.ANTI_ABUSE, comp);
         }
     }
 
 
     public void publishMaintenanceSet(boolean enabled, String broadcastMessageLegacy) {
-        publish(CrossProxyMessage.maintenanceSet(enabled, broadcastMessageLegacy, sharedSecret, proxyId));
+        publishDurable(CrossProxyMessage.maintenanceSet(enabled, broadcastMessageLegacy, sharedSecret, proxyId));
     }
 
     private void handleWhitelistSet(CrossProxyMessage msg) {
@@ -1093,7 +1468,7 @@ public class CrossProxyService {
     }
 
     public void publishWhitelistSet(boolean enabled) {
-        publish(CrossProxyMessage.whitelistSet(enabled, sharedSecret, proxyId));
+        publishDurable(CrossProxyMessage.whitelistSet(enabled, sharedSecret, proxyId));
     }
 
     /** Server name the player is on, or null if not found on any proxy. */
@@ -1154,9 +1529,7 @@ public class CrossProxyService {
         String legacy = msg.getReason();
         if (legacy == null || legacy.isEmpty()) return;
         Component notification = ColorParser.parse(legacy);
-        server.getAllPlayers().stream()
-                .filter(p -> p.hasPermission("beaconlabs.reports.notify"))
-                .forEach(p -> p.sendMessage(notification));
+        plugin.getStaffAudienceService().broadcast(StaffAudienceService.REPORT_NOTIFY, notification);
     }
 
     private void handleBadWordAlert(CrossProxyMessage msg) {
@@ -1166,9 +1539,68 @@ public class CrossProxyService {
         String badWord = msg.getServerName();
         if (playerName == null && message == null && badWord == null) return;
         Component notification = org.bcnlab.beaconLabsVelocity.listener.ChatFilterListener.buildBadWordAlertComponent(playerName, message, badWord);
-        server.getAllPlayers().stream()
-                .filter(p -> p.hasPermission("beaconlabs.chatfilter.alert"))
-                .forEach(p -> p.sendMessage(notification));
+        plugin.getStaffAudienceService().broadcast(StaffAudienceService.CHATFILTER_ALERT, notification);
+    }
+
+    private void handleBadWordsUpdated(CrossProxyMessage msg) {
+        if (msg.getProxyId() != null && msg.getProxyId().equals(proxyId)) return; // originator already rebuilt
+        if (plugin.getBadWordService() != null) {
+            plugin.getBadWordService().requestRebuild();
+        }
+    }
+
+    /** Tell other proxies the shared bad-word dictionary changed. */
+    public void publishBadWordsUpdated() {
+        publish(CrossProxyMessage.badWordsUpdated(sharedSecret, proxyId));
+    }
+
+    /** Words in the shared Redis dictionary, or null if Redis is not available. Blocking; call off the main thread. */
+    public java.util.Set<String> getSharedBadWords() {
+        if (!enabled || pubConnection == null) return null;
+        try {
+            return new java.util.HashSet<>(pubConnection.sync().hkeys(BADWORDS_HASH_KEY));
+        } catch (Exception e) {
+            logger.debug("Failed to read shared bad words: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Add words to the shared Redis dictionary; existing entries are kept. Returns how many were new.
+     * Two round trips however many words there are: the existing keys, then one HSET with the new ones.
+     * Blocking; call off the main thread.
+     */
+    public int addSharedBadWords(java.util.Collection<String> words) {
+        if (!enabled || pubConnection == null || words.isEmpty()) return 0;
+        try {
+            var sync = pubConnection.sync();
+            java.util.Set<String> existing = new java.util.HashSet<>(sync.hkeys(BADWORDS_HASH_KEY));
+            String now = String.valueOf(System.currentTimeMillis());
+            java.util.Map<String, String> added = new java.util.HashMap<>();
+            for (String word : words) {
+                if (!existing.contains(word)) added.put(word, now);
+            }
+            if (!added.isEmpty()) sync.hset(BADWORDS_HASH_KEY, added);
+            return added.size();
+        } catch (Exception e) {
+            logger.debug("Failed to write shared bad words: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Remove words from the shared Redis dictionary. Returns how many were present.
+     * Blocking; call off the main thread.
+     */
+    public int removeSharedBadWords(java.util.Collection<String> words) {
+        if (!enabled || pubConnection == null || words.isEmpty()) return 0;
+        try {
+            Long removed = pubConnection.sync().hdel(BADWORDS_HASH_KEY, words.toArray(new String[0]));
+            return removed != null ? removed.intValue() : 0;
+        } catch (Exception e) {
+            logger.debug("Failed to remove shared bad words: {}", e.getMessage());
+            return 0;
+        }
     }
 
     private void handleProxyTransferRequest(CrossProxyMessage msg) {
@@ -1179,19 +1611,113 @@ public class CrossProxyService {
         Optional<Player> opt = server.getPlayer(uuid);
         if (opt.isEmpty()) return;
         Player player = opt.get();
-        setPendingTransfer(targetProxyId, uuid, backendServerName);
         String hostPort = getProxyHostname(targetProxyId);
         if (hostPort == null || hostPort.isEmpty()) {
             logger.warn("Proxy transfer for {} to {} failed: target proxy hostname not set.", player.getUsername(), targetProxyId);
             return;
         }
-        performTransferToHost(player, hostPort).ifPresent(err ->
+        transferToProxy(player, targetProxyId, backendServerName, hostPort).ifPresent(err ->
                 player.sendMessage(plugin.getPrefix(player).append(Component.text(err, NamedTextColor.RED))));
     }
 
     /** Minecraft 1.20.5+ protocol (transfer packet support). */
     private static final int PROTOCOL_VERSION_TRANSFER = 766;
 
+    /**
+     * Transfer a player to another proxy and have it connect them to {@code serverName}. The destination travels
+     * in a signed client cookie, so the target can route the player before they reach the default server, with
+     * no Redis round-trip. Only when no cookie could be stored is the short-lived Redis pending transfer written
+     * instead, which the target applies after login.
+     * @return empty if success, or error message if transfer could not be performed (e.g. version too old)
+     */
+    public Optional<String> transferToProxy(Player player, String targetProxyId, String serverName, String hostPort) {
+        if (player == null || targetProxyId == null || serverName == null || serverName.isEmpty()) return Optional.of("Invalid transfer target.");
+        if (!storeTransferCookie(player, targetProxyId, serverName)) {
+            setPendingTransfer(targetProxyId, player.getUniqueId(), serverName);
+        }
+        return performTransferToHost(player, hostPort);
+    }
+
+    /** Returns whether the cookie was stored; false for clients below 1.20.5 or proxies without cookie support. */
+    private boolean storeTransferCookie(Player player, String targetProxyId, String serverName) {
+        if (!enabled || player.getProtocolVersion().getProtocol() < PROTOCOL_VERSION_TRANSFER) return false;
+        try {
+            player.storeCookie(TRANSFER_COOKIE_KEY, TransferCookie.sign(sharedSecret, player.getUniqueId(), proxyId, targetProxyId, serverName));
+            return true;
+        } catch (Exception | LinkageError e) {
+            logger.debug("Could not store transfer cookie for {}: {}", player.getUsername(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Ask a player who arrived by transfer for their transfer cookie. Call in the login phase; the answer is
+     * picked up by {@link #handleTransferCookie} and awaited with {@link #awaitTransferCookie}.
+     */
+    public void requestTransferCookie(Player player) {
+        if (!enabled || player.getProtocolVersion().getProtocol() < PROTOCOL_VERSION_TRANSFER) return;
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            if (player.getHandshakeIntent() != HandshakeIntent.TRANSFER) return; // ordinary join: nothing to wait for
+            transferCookies.put(uuid, future);
+            player.requestCookie(TRANSFER_COOKIE_KEY);
+        } catch (Exception | LinkageError e) {
+            logger.debug("Could not request transfer cookie from {}: {}", player.getUsername(), e.getMessage());
+            future.complete(null);
+        }
+        future.completeOnTimeout(null, TRANSFER_COOKIE_WAIT_MS, TimeUnit.MILLISECONDS)
+                .whenComplete((serverName, e) -> transferCookies.remove(uuid, future));
+    }
+
+    /**
+     * Handle a cookie sent by a player. Returns true if it is the transfer cookie, which must then not be
+     * forwarded to the backend. A verified cookie is consumed: it is cleared on the client and its nonce is
+     * remembered so a replayed copy is refused. A cookie that does not verify leaves any Redis pending transfer
+     * to route the player after login.
+     */
+    public boolean handleTransferCookie(Player player, Key key, byte[] data) {
+        if (!TRANSFER_COOKIE_KEY.equals(key)) return false;
+        CompletableFuture<String> future = transferCookies.get(player.getUniqueId());
+        if (future == null) return true;
+        TransferCookie cookie = TransferCookie.verify(sharedSecret, data, player.getUniqueId(), proxyId,
+                TimeUnit.SECONDS.toMillis(TRANSFER_PENDING_TTL_SECONDS));
+        if (cookie == null) {
+            if (data != null && data.length > 0) {
+                logger.warn("Ignoring invalid or expired transfer cookie from {}.", player.getUsername());
+            }
+            future.complete(null);
+            return true;
+        }
+        clearTransferCookie(player);
+        long now = System.currentTimeMillis();
+        usedTransferNonces.values().removeIf(validUntil -> validUntil < now);
+        long validUntil = cookie.getIssuedAt() + TimeUnit.SECONDS.toMillis(TRANSFER_PENDING_TTL_SECONDS);
+        if (usedTransferNonces.putIfAbsent(cookie.getNonce(), validUntil) != null) {
+            logger.warn("Ignoring reused transfer cookie from {}.", player.getUsername());
+            future.complete(null);
+            return true;
+        }
+        expectedTransfers.remove(player.getUniqueId()); // routed by the cookie; don't look up Redis after login
+        logger.debug("{} transferred from proxy {} to server {}.", player.getUsername(), cookie.getOriginProxyId(), cookie.getServerName());
+        future.complete(cookie.getServerName());
+        return true;
+    }
+
+    private void clearTransferCookie(Player player) {
+        try {
+            player.storeCookie(TRANSFER_COOKIE_KEY, new byte[0]);
+        } catch (Exception | LinkageError e) {
+            logger.debug("Could not clear transfer cookie for {}: {}", player.getUsername(), e.getMessage());
+        }
+    }
+
+    /** The server a transferred player's cookie points to, or null if there is none. Completes within a few seconds. */
+    public CompletableFuture<String> awaitTransferCookie(UUID playerUuid) {
+        CompletableFuture<String> future = transferCookies.get(playerUuid);
+        return future != null ? future : CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Transfer a player to another host (e.g. another proxy) using 1.20.5+ transfer packets.
      * @return empty if success, or error message if transfer could not be performed (e.g. version too old)
@@ -1251,7 +1777,7 @@ public class CrossProxyService {
     }
 
     public void publishJoinMeToPlayer(String targetUsername, String senderUsername, String serverName) {
-        publish(CrossProxyMessage.joinMeToPlayer(targetUsername, senderUsername, serverName, sharedSecret, proxyId));
+        publishToPlayerName(targetUsername, CrossProxyMessage.joinMeToPlayer(targetUsername, senderUsername, serverName, sharedSecret, proxyId));
     }
 
     public void publishJoinMeBroadcast(String senderUsername, String serverName) {
@@ -1269,6 +1795,6 @@ public class CrossProxyService {
     /** Ask the proxy that has this player to transfer them to targetProxyId (for /proxies send when player is on another proxy). */
     public void publishProxyTransferRequest(UUID playerUuid, String targetProxyId, String backendServerName) {
         if (playerUuid == null || targetProxyId == null || backendServerName == null) return;
-        publish(CrossProxyMessage.proxyTransferRequest(playerUuid.toString(), targetProxyId, backendServerName, sharedSecret, proxyId));
+        publishToPlayer(playerUuid, CrossProxyMessage.proxyTransferRequest(playerUuid.toString(), targetProxyId, backendServerName, sharedSecret, proxyId));
     }
 }
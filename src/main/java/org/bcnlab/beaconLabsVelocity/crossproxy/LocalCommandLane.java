@@ -0,0 +1,149 @@
+package org.bcnlab.beaconLabsVelocity.crossproxy;
+
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for {@link RedisStreamCommandLane}, for testing without Redis Streams
+ * ({@code redis.durable-commands: local}). It never leaves the JVM, so it is only for a single proxy;
+ * {@link CrossProxyService} drops it in favour of pub/sub once another proxy is live. Lanes in the same JVM
+ * share one log with the same consumer-group semantics: each proxy ID has a cursor and a set of
+ * delivered-but-unacknowledged entries (acknowledged once the handler has applied them), a stopped lane keeps
+ * its position, and a restarted lane first re-delivers its pending entries, then everything appended while it
+ * was stopped.
+ */
+public class LocalCommandLane implements CommandLane {
+
+    private static final LocalLog LOG = new LocalLog();
+    private static final long POLL_INTERVAL_MS = 50L;
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final BeaconLabsVelocity plugin;
+    private final String proxyId;
+    private ScheduledTask pollTask;
+    private volatile boolean running;
+    private final AtomicLong delivered = new AtomicLong();
+    /** Pending entries are re-delivered once per start, like the first read of a Redis consumer group. */
+    private boolean pendingDrained;
+
+    public LocalCommandLane(BeaconLabsVelocity plugin, String proxyId) {
+        this.plugin = plugin;
+        this.proxyId = proxyId;
+    }
+
+    @Override
+    public void start(Function<String, CompletableFuture<Void>> handler) {
+        LOG.ensureGroup(proxyId);
+        pendingDrained = false;
+        running = true;
+        pollTask = plugin.getServer().getScheduler().buildTask(plugin, () -> poll(handler))
+                .repeat(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+    }
+
+    @Override
+    public void append(String message) {
+        if (message == null || !running) return;
+        LOG.append(message);
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        if (pollTask != null) {
+            pollTask.cancel();
+            pollTask = null;
+        }
+    }
+
+    @Override
+    public List<String> getDebugInfo() {
+        List<String> out = new ArrayList<>();
+        out.add("[Command stream] Mode: local stand-in (in-process, not shared with other proxies)");
+        out.add("[Command stream] Delivered: " + delivered.get() + " | log size: " + LOG.size());
+        return out;
+    }
+
+    private void poll(Function<String, CompletableFuture<Void>> handler) {
+        if (!running) return;
+        boolean includePending = !pendingDrained;
+        pendingDrained = true;
+        for (Map.Entry<Long, String> entry : LOG.read(proxyId, includePending)) {
+            CompletableFuture<Void> handled;
+            try {
+                handled = handler.apply(entry.getValue());
+            } catch (Exception e) {
+                handled = CompletableFuture.failedFuture(e);
+            }
+            handled.whenComplete((ok, e) -> {
+                if (e != null) {
+                    plugin.getLogger().warn("Error handling local cross-proxy command: {}", e.getMessage());
+                } else {
+                    delivered.incrementAndGet();
+                }
+                LOG.ack(proxyId, entry.getKey());
+            });
+        }
+    }
+
+    /** Append-only log with per-group cursors and pending sets, trimmed to roughly {@link #MAX_ENTRIES}. */
+    private static final class LocalLog {
+        private final List<String> entries = new ArrayList<>();
+        /** ID of entries.get(0); IDs keep increasing when the head is trimmed. */
+        private long firstId;
+        private final Map<String, Long> cursors = new HashMap<>();
+        private final Map<String, TreeSet<Long>> pending = new HashMap<>();
+
+        synchronized void ensureGroup(String group) {
+            cursors.putIfAbsent(group, firstId + entries.size());
+            pending.putIfAbsent(group, new TreeSet<>());
+        }
+
+        synchronized void append(String message) {
+            entries.add(message);
+            if (entries.size() > MAX_ENTRIES) {
+                int trim = MAX_ENTRIES / 2;
+                entries.subList(0, trim).clear();
+                firstId += trim;
+            }
+        }
+
+        /** Pending entries first if asked for, then new ones; new ones are marked pending until acknowledged. */
+        synchronized List<Map.Entry<Long, String>> read(String group, boolean includePending) {
+            List<Map.Entry<Long, String>> out = new ArrayList<>();
+            TreeSet<Long> groupPending = pending.get(group);
+            groupPending.removeIf(id -> id < firstId);
+            if (includePending) {
+                for (Long id : groupPending) {
+                    out.add(Map.entry(id, entries.get((int) (id - firstId))));
+                }
+            }
+            long end = firstId + entries.size();
+            for (long id = Math.max(cursors.get(group), firstId); id < end; id++) {
+                out.add(Map.entry(id, entries.get((int) (id - firstId))));
+                groupPending.add(id);
+            }
+            cursors.put(group, end);
+            return out;
+        }
+
+        synchronized void ack(String group, long id) {
+            TreeSet<Long> groupPending = pending.get(group);
+            if (groupPending != null) groupPending.remove(id);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
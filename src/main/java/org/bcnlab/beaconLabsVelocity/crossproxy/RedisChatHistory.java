@@ -0,0 +1,188 @@
+package org.bcnlab.beaconLabsVelocity.crossproxy;
+
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import io.lettuce.core.Limit;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.util.ChatLogStore;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Network-wide chat history: one capped Redis Stream per player ({@code blv:chat:<uuid>}), so any proxy can
+ * build a chat report with a single {@code XREVRANGE}, wherever the player is or was connected.
+ * <p>
+ * Appends are queued and written in pipelined batches on a connection with manual flushing, so a busy chat
+ * costs one round-trip per batch instead of one per line. Streams are trimmed with {@code MAXLEN ~} and expire
+ * after a period without chat.
+ */
+public class RedisChatHistory {
+
+    private static final String KEY_PREFIX = "blv:chat:";
+    private static final long FLUSH_INTERVAL_MS = 200L;
+    private static final int MAX_BATCH = 500;
+    private static final int MAX_QUEUE = 20_000;
+    private static final long WRITE_TIMEOUT_MS = 2000L;
+
+    private final BeaconLabsVelocity plugin;
+    private final Logger logger;
+    private final String proxyId;
+    private final long maxEntries;
+    private final long ttlSeconds;
+
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final Object flushLock = new Object();
+
+    private StatefulRedisConnection<String, String> writeConnection;
+    private StatefulRedisConnection<String, String> readConnection;
+    private ScheduledTask flushTask;
+    private volatile long written;
+
+    private record Entry(UUID playerId, String playerName, String message) {}
+
+    public RedisChatHistory(BeaconLabsVelocity plugin, String proxyId, int maxEntries, int ttlHours) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.proxyId = proxyId;
+        this.maxEntries = Math.max(10, maxEntries);
+        this.ttlSeconds = TimeUnit.HOURS.toSeconds(Math.max(1, ttlHours));
+    }
+
+    public void start(RedisClient redisClient) {
+        writeConnection = redisClient.connect();
+        // Commands are buffered until flushCommands(), which sends a whole batch in one write
+        writeConnection.setAutoFlushCommands(false);
+        readConnection = redisClient.connect();
+        flushTask = plugin.getServer().getScheduler().buildTask(plugin, this::flush)
+                .repeat(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+        if (writeConnection != null) {
+            try { writeConnection.close(); } catch (Exception ignored) { }
+            writeConnection = null;
+        }
+        if (readConnection != null) {
+            try { readConnection.close(); } catch (Exception ignored) { }
+            readConnection = null;
+        }
+    }
+
+    /** Queue a chat or command line for the player's stream. Never blocks. */
+    public void append(UUID playerId, String playerName, String message) {
+        if (writeConnection == null) return;
+        queue.offer(new Entry(playerId, playerName, message));
+        if (queueSize.incrementAndGet() > MAX_QUEUE && queue.poll() != null) {
+            queueSize.decrementAndGet();
+        }
+    }
+
+    /**
+     * The newest lines for the player, oldest first, formatted like the local chat log: at most
+     * {@code maxLines} lines, none older than {@code sinceMillis} (0 for no limit), at most {@code maxBytes}.
+     * Blocking; call off the main thread.
+     *
+     * @return the lines (empty if there are none), or null if Redis could not be read
+     */
+    public List<String> latest(UUID playerId, int maxLines, long sinceMillis, int maxBytes) {
+        StatefulRedisConnection<String, String> connection = readConnection;
+        if (connection == null) return null;
+        try {
+            // Stream IDs start with the append time in ms, so the time limit is a plain ID range
+            Range<String> range = sinceMillis > 0
+                    ? Range.from(Range.Boundary.including(String.valueOf(sinceMillis)), Range.Boundary.unbounded())
+                    : Range.unbounded();
+            List<StreamMessage<String, String>> entries = connection.sync()
+                    .xrevrange(KEY_PREFIX + playerId, range, Limit.from(maxLines));
+            List<String> newestFirst = new ArrayList<>(entries.size());
+            int bytes = 0;
+            for (StreamMessage<String, String> entry : entries) {
+                Map<String, String> body = entry.getBody();
+                String message = body != null ? body.get("m") : null;
+                if (message == null) continue;
+                String proxy = body.get("p");
+                String line = ChatLogStore.formatLine(entryTime(entry.getId()), proxy != null ? "[" + proxy + "] " + message : message);
+                bytes += line.length() + 1;
+                if (bytes > maxBytes) break;
+                newestFirst.add(line);
+            }
+            List<String> out = new ArrayList<>(newestFirst.size());
+            for (int i = newestFirst.size() - 1; i >= 0; i--) out.add(newestFirst.get(i));
+            return out;
+        } catch (Exception e) {
+            logger.warn("Failed to read chat history for {}: {}", playerId, e.getMessage());
+            return null;
+        }
+    }
+
+    public List<String> getDebugInfo() {
+        return List.of("[Chat history] Redis streams (" + KEY_PREFIX + "<uuid>, ~" + maxEntries + " entries) | written: " + written + " | queued: " + queueSize.get());
+    }
+
+    /** Send queued lines as one pipelined batch per {@link #MAX_BATCH}; on failure the batch is dropped. */
+    private void flush() {
+        StatefulRedisConnection<String, String> connection = writeConnection;
+        if (connection == null || queue.isEmpty()) return;
+        synchronized (flushLock) {
+            RedisAsyncCommands<String, String> async = connection.async();
+            XAddArgs args = new XAddArgs().maxlen(maxEntries).approximateTrimming();
+            while (!queue.isEmpty()) {
+                List<RedisFuture<?>> futures = new ArrayList<>();
+                Set<String> touched = new HashSet<>();
+                Entry entry;
+                while (futures.size() < MAX_BATCH && (entry = queue.poll()) != null) {
+                    queueSize.decrementAndGet();
+                    String key = KEY_PREFIX + entry.playerId();
+                    futures.add(async.xadd(key, args, Map.of("n", entry.playerName(), "m", entry.message(), "p", proxyId)));
+                    touched.add(key);
+                }
+                for (String key : touched) {
+                    futures.add(async.expire(key, ttlSeconds));
+                }
+                connection.flushCommands();
+                try {
+                    if (!LettuceFutures.awaitAll(WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS, futures.toArray(new RedisFuture[0]))) {
+                        logger.debug("Chat history batch timed out.");
+                        return;
+                    }
+                    written += futures.size() - touched.size();
+                } catch (Exception e) {
+                    logger.debug("Chat history batch failed: {}", e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long entryTime(String id) {
+        int dash = id.indexOf('-');
+        try {
+            return Long.parseLong(dash > 0 ? id.substring(0, dash) : id);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
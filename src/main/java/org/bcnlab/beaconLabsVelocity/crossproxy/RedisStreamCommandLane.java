@@ -0,0 +1,352 @@
+package org.bcnlab.beaconLabsVelocity.crossproxy;
+
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link CommandLane} on a Redis Stream. Every proxy has its own consumer group on the shared stream, so each
+ * group sees every entry; entries are acknowledged once the handler has applied them. On start the proxy
+ * first re-reads its own pending entries (delivered before a crash or disconnect but never acknowledged),
+ * then continues with new ones. The group's position survives disconnects, so entries added while this proxy
+ * was away are read once it is back.
+ * <p>
+ * Appends go through a local outbox that is retried until Redis accepts them, so a command issued during a
+ * Redis outage is delivered once the connection recovers. One append is in flight at a time, which keeps
+ * them in order without blocking the caller.
+ * <p>
+ * Groups whose consumers have been idle for longer than {@link #ABANDONED_GROUP_MS} belong to proxies that
+ * are gone (e.g. renamed or removed) and are destroyed, so their pending lists do not keep growing. A proxy
+ * that comes back after that recreates its group; anything it missed would be past the replay age anyway.
+ */
+public class RedisStreamCommandLane implements CommandLane {
+
+    private static final String STREAM_KEY = "blv:commands";
+    private static final String GROUP_PREFIX = "blv:proxy:";
+    private static final String BODY_FIELD = "m";
+    /** Approximate stream length cap; old entries are trimmed by Redis on append. */
+    private static final long MAX_STREAM_LENGTH = 10_000L;
+    /** Entries older than this are acknowledged without being handled, e.g. after a long outage. */
+    private static final long MAX_REPLAY_AGE_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long READ_BLOCK_MS = 1000L;
+    private static final int READ_BATCH = 100;
+    private static final int MAX_OUTBOX = 10_000;
+    private static final long OUTBOX_RETRY_MS = 1000L;
+    /** How long shutdown waits for the outbox to drain before closing the connection. */
+    private static final long SHUTDOWN_FLUSH_MS = 2000L;
+    private static final long GROUP_SWEEP_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final long ABANDONED_GROUP_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final BeaconLabsVelocity plugin;
+    private final Logger logger;
+    private final RedisClient redisClient;
+    private final String proxyId;
+    private final String group;
+    private final long reconnectIntervalMs;
+
+    private final ConcurrentLinkedQueue<String> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outboxSize = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private StatefulRedisConnection<String, String> writeConnection;
+    private StatefulRedisConnection<String, String> readConnection;
+    private Thread readerThread;
+    private ScheduledTask retryTask;
+    private volatile boolean running;
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile long skippedStale;
+
+    public RedisStreamCommandLane(BeaconLabsVelocity plugin, RedisClient redisClient, String proxyId, long reconnectIntervalMs) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.redisClient = redisClient;
+        this.proxyId = proxyId;
+        this.group = GROUP_PREFIX + proxyId;
+        this.reconnectIntervalMs = Math.max(500L, reconnectIntervalMs);
+    }
+
+    @Override
+    public void start(Function<String, CompletableFuture<Void>> handler) {
+        writeConnection = redisClient.connect();
+        // Blocking reads get their own connection so they never delay appends
+        readConnection = redisClient.connect();
+        running = true;
+        retryTask = plugin.getServer().getScheduler().buildTask(plugin, this::flushOutbox)
+                .repeat(OUTBOX_RETRY_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+        readerThread = new Thread(() -> readLoop(handler), "BeaconLabs-Command-Stream");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    @Override
+    public void append(String message) {
+        if (message == null || !running) return;
+        outbox.offer(message);
+        if (outboxSize.incrementAndGet() > MAX_OUTBOX && outbox.poll() != null) {
+            outboxSize.decrementAndGet();
+            logger.warn("Cross-proxy command outbox is full; dropped the oldest command.");
+        }
+        flushOutbox();
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        if (retryTask != null) {
+            retryTask.cancel();
+            retryTask = null;
+        }
+        long deadline = System.currentTimeMillis() + SHUTDOWN_FLUSH_MS;
+        while (!outbox.isEmpty() && System.currentTimeMillis() < deadline) {
+            flushOutbox();
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (readerThread != null) {
+            readerThread.interrupt();
+            readerThread = null;
+        }
+        if (readConnection != null) {
+            try { readConnection.close(); } catch (Exception ignored) { }
+            readConnection = null;
+        }
+        if (writeConnection != null) {
+            try { writeConnection.close(); } catch (Exception ignored) { }
+            writeConnection = null;
+        }
+    }
+
+    @Override
+    public List<String> getDebugInfo() {
+        List<String> out = new ArrayList<>();
+        out.add("[Command stream] Mode: redis-streams (" + STREAM_KEY + ", group " + group + ")");
+        out.add("[Command stream] Delivered: " + delivered.get() + " | skipped stale: " + skippedStale + " | outbox: " + outboxSize.get());
+        return out;
+    }
+
+    /**
+     * Append queued commands in order, one XADD in flight at a time; the next one is sent when the previous
+     * was accepted. Stops at the first failure and leaves the rest for the retry task.
+     */
+    private void flushOutbox() {
+        StatefulRedisConnection<String, String> connection = writeConnection;
+        if (connection == null || !flushing.compareAndSet(false, true)) return;
+        String next = outbox.peek();
+        if (next == null) {
+            flushing.set(false);
+            // An append may have queued between the peek and clearing the flag
+            if (outbox.peek() != null) flushOutbox();
+            return;
+        }
+        connection.async().xadd(STREAM_KEY,
+                new XAddArgs().maxlen(MAX_STREAM_LENGTH).approximateTrimming(),
+                Map.of(BODY_FIELD, next)).whenComplete((id, e) -> {
+            if (e != null) {
+                logger.debug("Command stream append failed, will retry: {}", e.getMessage());
+                flushing.set(false);
+                return;
+            }
+            // Unless a full outbox already dropped it
+            if (outbox.peek() == next && outbox.poll() != null) {
+                outboxSize.decrementAndGet();
+            }
+            flushing.set(false);
+            flushOutbox();
+        });
+    }
+
+    private void readLoop(Function<String, CompletableFuture<Void>> handler) {
+        boolean groupReady = false;
+        boolean pendingDrained = false;
+        long nextGroupSweep = 0L;
+        Set<String> groupsWithoutConsumers = new HashSet<>();
+        io.lettuce.core.Consumer<String> consumer = io.lettuce.core.Consumer.from(group, proxyId);
+        while (running) {
+            try {
+                RedisCommands<String, String> sync = readConnection.sync();
+                if (!groupReady) {
+                    ensureGroup(sync);
+                    groupReady = true;
+                }
+                if (!pendingDrained) {
+                    // Reading from 0 returns this consumer's own delivered-but-unacknowledged entries
+                    List<StreamMessage<String, String>> pending = sync.xreadgroup(consumer,
+                            XReadArgs.Builder.count(READ_BATCH),
+                            XReadArgs.StreamOffset.from(STREAM_KEY, "0"));
+                    if (pending.isEmpty()) {
+                        pendingDrained = true;
+                        continue;
+                    }
+                    handleBatch(sync, pending, handler);
+                    continue;
+                }
+                List<StreamMessage<String, String>> batch = sync.xreadgroup(consumer,
+                        XReadArgs.Builder.block(Duration.ofMillis(READ_BLOCK_MS)).count(READ_BATCH),
+                        XReadArgs.StreamOffset.lastConsumed(STREAM_KEY));
+                handleBatch(sync, batch, handler);
+                if (System.currentTimeMillis() >= nextGroupSweep) {
+                    nextGroupSweep = System.currentTimeMillis() + GROUP_SWEEP_INTERVAL_MS;
+                    destroyAbandonedGroups(sync, groupsWithoutConsumers);
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                logger.warn("Command stream read failed, retrying in {} ms: {}", reconnectIntervalMs, e.getMessage());
+                // The stream or group may have been deleted; recreate it and re-read pending entries after reconnect
+                groupReady = false;
+                pendingDrained = false;
+                try {
+                    Thread.sleep(reconnectIntervalMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hand the batch to the handler and acknowledge it once every entry was applied. If the proxy stops first,
+     * the entries stay pending and are delivered again on the next start. A command whose handler failed is
+     * acknowledged too; it would fail the same way again.
+     */
+    private void handleBatch(RedisCommands<String, String> sync, List<StreamMessage<String, String>> batch,
+                             Function<String, CompletableFuture<Void>> handler) throws InterruptedException {
+        if (batch == null || batch.isEmpty()) return;
+        // Entry IDs carry the Redis server's clock, so compare against that rather than this proxy's
+        long now = redisTime(sync);
+        String[] ids = new String[batch.size()];
+        List<CompletableFuture<Void>> handled = new ArrayList<>(batch.size());
+        int i = 0;
+        for (StreamMessage<String, String> entry : batch) {
+            String id = entry.getId();
+            ids[i++] = id;
+            String body = entry.getBody() != null ? entry.getBody().get(BODY_FIELD) : null;
+            if (body == null) continue;
+            if (now - entryTimestamp(id) > MAX_REPLAY_AGE_MS) {
+                skippedStale++;
+                continue;
+            }
+            CompletableFuture<Void> future;
+            try {
+                future = handler.apply(body);
+            } catch (Exception e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            handled.add(future.whenComplete((ok, e) -> {
+                if (e != null) {
+                    logger.warn("Error handling cross-proxy command {}: {}", id, e.getMessage());
+                } else {
+                    delivered.incrementAndGet();
+                }
+            }));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(handled.toArray(new CompletableFuture<?>[0]));
+        while (true) {
+            try {
+                all.get(READ_BLOCK_MS, TimeUnit.MILLISECONDS);
+                break;
+            } catch (ExecutionException e) {
+                break; // already logged per entry
+            } catch (TimeoutException e) {
+                if (!running) return; // leave the batch pending for the next start
+            }
+        }
+        sync.xack(STREAM_KEY, group, ids);
+    }
+
+    private void ensureGroup(RedisCommands<String, String> sync) {
+        try {
+            // "$": a new group starts with entries added from now on
+            sync.xgroupCreate(XReadArgs.StreamOffset.from(STREAM_KEY, "$"), group, XGroupCreateArgs.Builder.mkstream());
+            logger.info("Created cross-proxy command stream group {}.", group);
+        } catch (RedisCommandExecutionException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) throw e;
+        }
+    }
+
+    /**
+     * Destroy other proxies' groups whose consumers all have been idle for longer than
+     * {@link #ABANDONED_GROUP_MS}. A group without any consumer is only destroyed if it had none on the
+     * previous sweep too, so a group another proxy just created is left alone.
+     */
+    private void destroyAbandonedGroups(RedisCommands<String, String> sync, Set<String> groupsWithoutConsumers) {
+        Set<String> stillWithoutConsumers = new HashSet<>();
+        try {
+            for (Object groupInfo : sync.xinfoGroups(STREAM_KEY)) {
+                if (!(field(groupInfo, "name") instanceof String name)) continue;
+                if (name.equals(group) || !name.startsWith(GROUP_PREFIX)) continue;
+                long idle = Long.MAX_VALUE;
+                for (Object consumerInfo : sync.xinfoConsumers(STREAM_KEY, name)) {
+                    if (field(consumerInfo, "idle") instanceof Long consumerIdle) {
+                        idle = Math.min(idle, consumerIdle);
+                    }
+                }
+                if (idle == Long.MAX_VALUE) {
+                    stillWithoutConsumers.add(name);
+                    if (!groupsWithoutConsumers.contains(name)) continue;
+                } else if (idle < ABANDONED_GROUP_MS) {
+                    continue;
+                }
+                sync.xgroupDestroy(STREAM_KEY, name);
+                logger.info("Destroyed abandoned cross-proxy command stream group {}.", name);
+            }
+        } catch (Exception e) {
+            logger.debug("Command stream group cleanup failed: {}", e.getMessage());
+        }
+        groupsWithoutConsumers.clear();
+        groupsWithoutConsumers.addAll(stillWithoutConsumers);
+    }
+
+    /** XINFO replies are flat name/value lists. */
+    private static Object field(Object info, String name) {
+        if (!(info instanceof List<?> fields)) return null;
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            if (name.equals(fields.get(i))) return fields.get(i + 1);
+        }
+        return null;
+    }
+
+    /** Current time on the Redis server in milliseconds, from {@code TIME} (seconds and microseconds). */
+    private static long redisTime(RedisCommands<String, String> sync) {
+        List<String> time = sync.time();
+        return Long.parseLong(time.get(0)) * 1000L + Long.parseLong(time.get(1)) / 1000L;
+    }
+
+    /** Stream IDs are "&lt;ms&gt;-&lt;seq&gt;"; the first part is the append time on the Redis server. */
+    private static long entryTimestamp(String id) {
+        int dash = id.indexOf('-');
+        try {
+            return Long.parseLong(dash > 0 ? id.substring(0, dash) : id);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.bcnlab.beaconLabsVelocity.crossproxy;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Transfer metadata carried by the client itself across a proxy transfer (1.20.5+ cookies): which backend the
+ * player should land on and which proxy sent them. The payload is signed with HMAC-SHA256 over the cross-proxy
+ * shared secret, so a client cannot forge or alter it.
+ * <p>
+ * A cookie is only accepted for the player it was issued to, by the proxy it was issued for, and within
+ * {@code maxAgeMillis} of being issued. Each cookie carries a random nonce so the receiving proxy can refuse a
+ * cookie it has already consumed.
+ */
+public final class TransferCookie {
+
+    private static final String SEP = "\u001E"; // ASCII Record Separator
+    private static final String VERSION = "1";
+    private static final String ALGORITHM = "HmacSHA256";
+    /** Clients reject cookies over 5 KiB; well-formed cookies are a fraction of that. */
+    private static final int MAX_SIZE = 1024;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final UUID playerId;
+    private final String originProxyId;
+    private final String targetProxyId;
+    private final String serverName;
+    private final long issuedAt;
+    private final String nonce;
+
+    private TransferCookie(UUID playerId, String originProxyId, String targetProxyId, String serverName, long issuedAt, String nonce) {
+        this.playerId = playerId;
+        this.originProxyId = originProxyId;
+        this.targetProxyId = targetProxyId;
+        this.serverName = serverName;
+        this.issuedAt = issuedAt;
+        this.nonce = nonce;
+    }
+
+    public UUID getPlayerId() { return playerId; }
+    public String getOriginProxyId() { return originProxyId; }
+    public String getTargetProxyId() { return targetProxyId; }
+    public String getServerName() { return serverName; }
+    public long getIssuedAt() { return issuedAt; }
+    public String getNonce() { return nonce; }
+
+    /** Signed cookie data for a player leaving {@code originProxyId} for {@code targetProxyId}. */
+    public static byte[] sign(String secret, UUID playerId, String originProxyId, String targetProxyId, String serverName) {
+        byte[] nonce = new byte[12];
+        RANDOM.nextBytes(nonce);
+        String payload = VERSION + SEP + playerId + SEP + originProxyId + SEP + targetProxyId + SEP + serverName
+                + SEP + System.currentTimeMillis() + SEP + Base64.getUrlEncoder().withoutPadding().encodeToString(nonce);
+        return (payload + SEP + mac(secret, payload)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse and verify cookie data.
+     *
+     * @return the cookie, or null if it is malformed, badly signed, for another player or proxy, or expired
+     */
+    public static TransferCookie verify(String secret, byte[] data, UUID expectedPlayer, String expectedProxyId, long maxAgeMillis) {
+        if (data == null || data.length == 0 || data.length > MAX_SIZE) return null;
+        String text = new String(data, StandardCharsets.UTF_8);
+        int sigStart = text.lastIndexOf(SEP);
+        if (sigStart <= 0) return null;
+        String payload = text.substring(0, sigStart);
+        byte[] expected = mac(secret, payload).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = text.substring(sigStart + SEP.length()).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+
+        String[] parts = payload.split(SEP, -1);
+        if (parts.length != 7 || !VERSION.equals(parts[0])) return null;
+        try {
+            UUID playerId = UUID.fromString(parts[1]);
+            long issuedAt = Long.parseLong(parts[5]);
+            long age = System.currentTimeMillis() - issuedAt;
+            if (!playerId.equals(expectedPlayer) || !parts[3].equals(expectedProxyId) || parts[4].isEmpty()
+                    || parts[6].isEmpty() || age < -maxAgeMillis || age > maxAgeMillis) {
+                return null;
+            }
+            return new TransferCookie(playerId, parts[2], parts[3], parts[4], issuedAt, parts[6]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String mac(String secret, String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -2,12 +2,16 @@ package org.bcnlab.beaconLabsVelocity.database;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.spongepowered.configurate.ConfigurationNode;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.function.ToIntFunction;
 
 public class DatabaseManager {
 
@@ -15,10 +19,31 @@ public class DatabaseManager {
     private final Logger logger;
     private HikariDataSource dataSource;
     private boolean enabled = false;
+    private final LatencyHistogram acquireTime;
+    private final MetricsRegistry.Counter acquireFailures;
 
     public DatabaseManager(BeaconLabsVelocity plugin, Logger logger) {
         this.plugin = plugin;
         this.logger = logger;
+        MetricsRegistry metrics = plugin.getMetrics();
+        this.acquireTime = metrics.histogram("blv_db_connection_acquire_seconds",
+                "Time spent waiting for a pooled database connection");
+        this.acquireFailures = metrics.counter("blv_db_connection_acquire_failures_total",
+                "Connection requests that failed or timed out");
+        metrics.gauge("blv_db_pool_active_connections", "Connections currently in use",
+                () -> poolValue(HikariPoolMXBean::getActiveConnections));
+        metrics.gauge("blv_db_pool_idle_connections", "Idle connections in the pool",
+                () -> poolValue(HikariPoolMXBean::getIdleConnections));
+        metrics.gauge("blv_db_pool_pending_threads", "Threads waiting for a connection",
+                () -> poolValue(HikariPoolMXBean::getThreadsAwaitingConnection));
+    }
+
+    /** Read a pool statistic for the metrics gauges; 0 while the pool is not running. */
+    private double poolValue(ToIntFunction<HikariPoolMXBean> stat) {
+        HikariDataSource ds = dataSource;
+        if (ds == null || ds.isClosed()) return 0;
+        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+        return pool != null ? stat.applyAsInt(pool) : 0;
     }
 
     public void connect() {
@@ -227,6 +252,16 @@ public class DatabaseManager {
             } catch (Exception ex) {
                 logger.error("Failed to initialize player_profiles table", ex);
             }
+
+            String createChatBadWordsTable = "CREATE TABLE IF NOT EXISTS chat_badwords (" +
+                    "word VARCHAR(128) PRIMARY KEY, " +
+                    "added_at BIGINT NOT NULL" +
+                    ")";
+            try (var conn = getConnection(); var stmt = conn.createStatement()) {
+                stmt.execute(createChatBadWordsTable);
+            } catch (Exception ex) {
+                logger.error("Failed to initialize chat_badwords table", ex);
+            }
         }
     }
 
@@ -242,9 +277,13 @@ public class DatabaseManager {
         if (dataSource == null || !enabled) {
             throw new SQLException("Database connection is not available or not enabled.");
         }
+        long start = System.nanoTime();
         try {
-            return dataSource.getConnection();
+            Connection connection = dataSource.getConnection();
+            acquireTime.recordSince(start);
+            return connection;
         } catch (SQLException e) {
+            acquireFailures.inc();
             logger.error("Failed to retrieve connection from pool", e);
             throw e;
         }
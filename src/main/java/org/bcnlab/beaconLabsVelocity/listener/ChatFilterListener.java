@@ -11,21 +11,17 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
-import org.spongepowered.configurate.ConfigurationNode;
-import org.spongepowered.configurate.loader.ConfigurationLoader;
-import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
+import org.bcnlab.beaconLabsVelocity.service.StaffAudienceService;
+import org.bcnlab.beaconLabsVelocity.util.BadWordMatcher;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.List;
-import java.util.Objects;
 import java.util.regex.Pattern;
 
 public class ChatFilterListener {
     private final BeaconLabsVelocity plugin;
-    private List<String> badWords;
-    private Path badWordsFile;
+    private final LatencyHistogram matchTime;
+    private final MetricsRegistry.Counter matches;
 
     @Inject
     private ProxyServer server;
@@ -33,33 +29,8 @@ public class ChatFilterListener {
     public ChatFilterListener(BeaconLabsVelocity plugin, ProxyServer server) {
         this.plugin = plugin;
         this.server = server;
-        this.badWordsFile = plugin.getDataDirectory().resolve("badwords.yml");
-        loadBadWords();
-    }
-
-    private void loadBadWords() {
-        try {
-            if (!Files.exists(badWordsFile)) {
-                Files.createDirectories(badWordsFile.getParent());
-                Files.copy(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("badwords.yml")), badWordsFile);
-            }
-
-            ConfigurationLoader<?> loader = YamlConfigurationLoader.builder()
-                    .path(badWordsFile)
-                    .build();
-
-            ConfigurationNode rootNode = loader.load();
-            badWords = rootNode.node("badwords").getList(String.class);
-
-        } catch (IOException e) {
-            plugin.getLogger().error("Failed to load bad words file", e);
-            badWords = List.of();
-        }
-    }
-
-    private boolean containsBadWords(String message) {
-        String lowerCaseMessage = message.toLowerCase(); // Ensure no ambiguity
-        return badWords.stream().anyMatch(badWord -> lowerCaseMessage.contains(badWord.toLowerCase()));
+        this.matchTime = plugin.getMetrics().histogram("blv_chat_filter_match_seconds", "Time spent scanning a chat message for bad words");
+        this.matches = plugin.getMetrics().counter("blv_chat_filter_matches_total", "Chat messages that contained a bad word");
     }
 
     /**
@@ -99,37 +70,32 @@ public class ChatFilterListener {
                 .append(Component.newline());
     }
 
-    private void notifyAdmins(String playerName, String message) {
-        String badWord = findBadWord(message);
-        if (badWord == null) return;
+    private void notifyAdmins(String playerName, String message, BadWordMatcher.Match match) {
+        // Highlight the text as typed, which may differ from the configured word (case, leetspeak, separators)
+        String badWord = message.substring(match.start(), match.end());
 
         Component notification = buildBadWordAlertComponent(playerName, message, badWord);
 
-        server.getAllPlayers().stream()
-                .filter(player -> player.hasPermission("beaconlabs.chatfilter.alert"))
-                .forEach(player -> player.sendMessage(notification));
+        plugin.getStaffAudienceService().broadcast(StaffAudienceService.CHATFILTER_ALERT, notification);
 
         if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
             plugin.getCrossProxyService().publishBadWordAlert(playerName, message, badWord);
         }
     }
 
-    private String findBadWord(String message) {
-        for (String badWord : badWords) {
-            if (message.toLowerCase().contains(badWord.toLowerCase())) {
-                return badWord;
-            }
-        }
-        return null;
-    }
-
     @Subscribe
     public void onPlayerChat(PlayerChatEvent event) {
+        if (!event.getResult().isAllowed()) return; // blocked (muted, spam): nothing reaches other players
         String message = event.getMessage();
         String playerName = event.getPlayer().getUsername();
 
-        if (containsBadWords(message)) {
-            notifyAdmins(playerName, message);
+        // The dictionary service swaps in a new matcher on change; read it once per message
+        long start = System.nanoTime();
+        BadWordMatcher.Match match = plugin.getBadWordService().getMatcher().findFirst(message);
+        matchTime.recordSince(start);
+        if (match != null) {
+            matches.inc();
+            notifyAdmins(playerName, message, match);
         }
     }
 }
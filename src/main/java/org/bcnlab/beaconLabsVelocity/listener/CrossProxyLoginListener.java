@@ -1,18 +1,25 @@
 package org.bcnlab.beaconLabsVelocity.listener;
 
+import com.velocitypowered.api.event.EventTask;
+import com.velocitypowered.api.event.connection.LoginEvent;
 import com.velocitypowered.api.event.connection.PostLoginEvent;
 import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.player.CookieReceiveEvent;
+import com.velocitypowered.api.event.player.PlayerChooseInitialServerEvent;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * When cross-proxy (Redis) is enabled, notifies other proxies that this player connected here,
  * so they can kick the duplicate session (one session per account across proxies).
  * Also handles pending transfer: if player was transferred via /proxies send, connect them to the same backend.
- * Retries the connection after 3 seconds if the player is not yet on the server (e.g. "already trying to connect").
+ * Players carrying a signed transfer cookie (1.20.5+) are routed when the initial server is chosen; otherwise the
+ * Redis pending transfer is used after login, once the cookie answer is in, retrying after 3 seconds if the
+ * player is not yet on the server (e.g. "already trying to connect").
  */
 public class CrossProxyLoginListener {
 
@@ -24,6 +31,34 @@ public class CrossProxyLoginListener {
         this.plugin = plugin;
     }
 
+    @Subscribe
+    public void onLogin(LoginEvent event) {
+        if (plugin.getCrossProxyService() == null || !plugin.getCrossProxyService().isEnabled()) return;
+        if (!event.getResult().isAllowed()) return;
+        plugin.getCrossProxyService().requestTransferCookie(event.getPlayer());
+    }
+
+    @Subscribe
+    public void onCookieReceive(CookieReceiveEvent event) {
+        if (plugin.getCrossProxyService() == null || !plugin.getCrossProxyService().isEnabled()) return;
+        if (plugin.getCrossProxyService().handleTransferCookie(event.getPlayer(), event.getOriginalKey(), event.getOriginalData())) {
+            event.setResult(CookieReceiveEvent.ForwardResult.handled());
+        }
+    }
+
+    /** Send a player who transferred with a cookie straight to their backend instead of the default server. */
+    @Subscribe
+    public EventTask onChooseInitialServer(PlayerChooseInitialServerEvent event) {
+        if (plugin.getCrossProxyService() == null || !plugin.getCrossProxyService().isEnabled()) return null;
+        var pending = plugin.getCrossProxyService().awaitTransferCookie(event.getPlayer().getUniqueId());
+        if (pending.isDone() && pending.getNow(null) == null) return null;
+        return EventTask.resumeWhenComplete(pending.thenAccept(serverName -> {
+            if (serverName != null) {
+                plugin.getServer().getServer(serverName).ifPresent(event::setInitialServer);
+            }
+        }));
+    }
+
     @Subscribe
     public void onPostLogin(PostLoginEvent event) {
         if (plugin.getCrossProxyService() == null || !plugin.getCrossProxyService().isEnabled()) return;
@@ -31,9 +66,14 @@ public class CrossProxyLoginListener {
         plugin.getCrossProxyService().setPlayerProxy(player.getUniqueId(), plugin.getCrossProxyService().getProxyId());
         plugin.getCrossProxyService().updatePlayerList();
 
-        // If player was transferred here via /proxies send, send them to the same backend they were on
-        String pendingServer = plugin.getCrossProxyService().getAndClearPendingTransfer(player.getUniqueId());
-        if (pendingServer != null && !pendingServer.isEmpty()) {
+        // If player was transferred here via /proxies send, send them to the same backend they were on.
+        // A verified cookie already routed them; only without one is the Redis pending transfer used.
+        // Resolved asynchronously; ordinary joins complete immediately without a Redis round-trip.
+        var crossProxy = plugin.getCrossProxyService();
+        crossProxy.awaitTransferCookie(player.getUniqueId()).thenCompose(cookieServer -> cookieServer != null
+                ? CompletableFuture.<String>completedFuture(null)
+                : crossProxy.takePendingTransfer(player.getUniqueId())).thenAccept(pendingServer -> {
+            if (pendingServer == null || !player.isActive()) return;
             ProxyServer server = plugin.getServer();
             server.getServer(pendingServer).ifPresent(rs -> {
                 player.createConnectionRequest(rs).connectWithIndication();
@@ -50,7 +90,7 @@ public class CrossProxyLoginListener {
                     }
                 }).delay(RETRY_DELAY_SECONDS, TimeUnit.SECONDS).schedule();
             });
-        }
+        });
 
         if (plugin.getCrossProxyService().isAllowDoubleJoin()) return; // don't notify other proxies; allow double-join
         plugin.getCrossProxyService().publishPlayerConnect(player.getUniqueId());
@@ -6,35 +6,31 @@ import com.velocitypowered.api.event.player.PlayerChatEvent;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.command.CommandSource; // Import CommandSource
 
-import java.io.BufferedWriter;
+import org.bcnlab.beaconLabsVelocity.crossproxy.RedisChatHistory;
+import org.bcnlab.beaconLabsVelocity.util.ChatLogStore;
+import org.slf4j.Logger;
+
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Duration;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.UUID;
 
 public class FileChatLogger {
 
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
-            .ofPattern("dd.MM.yyyy - HH:mm:ss")
-            .withZone(ZoneId.systemDefault());
     private final String logDirectory;
-    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
-        Thread thread = new Thread(r, "BeaconLabsVelocity-ChatLogger");
-        thread.setDaemon(true);
-        return thread;
-    });
-
-    public FileChatLogger(String dataDirectory) {
+    private final ChatLogStore store;
+    // Limits for chat reports; see chat-report in config.yml
+    private volatile int reportMaxLines = 300;
+    private volatile int reportMaxMinutes = 60;
+    private volatile int reportMaxBytes = 64 * 1024;
+    /** Network-wide history in Redis; when set, lines are mirrored there and reports are read from it. */
+    private volatile RedisChatHistory sharedHistory;
+
+    public FileChatLogger(String dataDirectory, Logger logger) {
         this.logDirectory = Paths.get(dataDirectory).resolve("logs").toString();
 
         Path logPath = Paths.get(this.logDirectory);
@@ -47,50 +43,69 @@ public class FileChatLogger {
         }
 
         clearLogs();
+        this.store = new ChatLogStore(logPath, logger);
     }
 
-    public void logChat(UUID playerId, String playerName, String message, long logStartTime) {
-        writer.execute(() -> appendLog(playerId, playerName, message, logStartTime));
+    public void setSharedHistory(RedisChatHistory sharedHistory) {
+        this.sharedHistory = sharedHistory;
     }
 
-    private void appendLog(UUID playerId, String playerName, String message, long logStartTime) {
-        String filePath = logDirectory + "/" + playerId + ".log";
-        File logFile = new File(filePath);
-        boolean isNewFile = !logFile.exists();
-
-        try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(filePath, true))) {
-            if (isNewFile) {
-                fileWriter.write("Username: " + playerName);
-                fileWriter.newLine();
-                fileWriter.write("UUID: " + playerId);
-                fileWriter.newLine();
-                fileWriter.write("File created: " + TIMESTAMP_FORMAT.format(Instant.now()));
-                fileWriter.newLine();
-                fileWriter.newLine();
-            }
+    /** Whether reports come from the network-wide history, i.e. work for players on any proxy. */
+    public boolean hasSharedHistory() {
+        return sharedHistory != null;
+    }
 
-            fileWriter.write(formatLogMessage(message, logStartTime, System.currentTimeMillis()));
-            fileWriter.newLine();
-        } catch (IOException e) {
-            System.err.println("Failed to write chat log: " + e.getMessage());
+    public void logChat(UUID playerId, String playerName, String message, long logTime) {
+        store.append(playerId, playerName, ChatLogStore.formatLine(logTime, message));
+        RedisChatHistory history = sharedHistory;
+        if (history != null) {
+            history.append(playerId, playerName, message);
         }
     }
 
+    /** Set the chat report limits: newest lines, minutes back (0 = no limit) and bytes. */
+    public void setReportLimits(int maxLines, int maxMinutes, int maxBytes) {
+        this.reportMaxLines = Math.max(1, maxLines);
+        this.reportMaxMinutes = Math.max(0, maxMinutes);
+        this.reportMaxBytes = Math.max(1024, maxBytes);
+    }
+
+    /** The newest part of the player's log within the report limits, or null if there is none. */
     public String readChatLog(UUID playerId) throws IOException {
-        try {
-            writer.submit(() -> {}).get(5, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IOException("Interrupted while flushing chat logs", e);
-        } catch (java.util.concurrent.ExecutionException | java.util.concurrent.TimeoutException e) {
-            throw new IOException("Timed out while flushing chat logs", e);
+        return readChatLog(playerId, reportMaxLines, reportMaxMinutes, reportMaxBytes);
+    }
+
+    public String readChatLog(UUID playerId, int maxLines, int maxMinutes, int maxBytes) throws IOException {
+        long since = maxMinutes > 0 ? System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(maxMinutes) : 0L;
+        RedisChatHistory history = sharedHistory;
+        List<String> lines = null;
+        List<String> header;
+        if (history != null) {
+            // Network-wide history: includes chat from every proxy; falls back to the local file if Redis fails
+            lines = history.latest(playerId, maxLines, since, maxBytes);
+            if (lines != null && lines.isEmpty()) return null;
+        }
+        if (lines != null) {
+            header = List.of("UUID: " + playerId, "Source: network-wide chat history");
+        } else {
+            store.flush(5, TimeUnit.SECONDS);
+            lines = store.tail(playerId, maxLines, since, maxBytes);
+            if (lines == null) {
+                return null;
+            }
+            header = store.header(playerId);
         }
-        String filePath = logDirectory + "/" + playerId + ".log";
-        java.nio.file.Path path = java.nio.file.Paths.get(filePath);
-        if (!java.nio.file.Files.exists(path)) {
-            return null;
+        StringBuilder out = new StringBuilder(maxBytes + 256);
+        for (String line : header) {
+            out.append(line).append('\n');
         }
-        return new String(java.nio.file.Files.readAllBytes(path));
+        out.append("Showing the last ").append(lines.size()).append(" lines");
+        if (maxMinutes > 0) out.append(" from the last ").append(maxMinutes).append(" minutes");
+        out.append("\n\n");
+        for (String line : lines) {
+            out.append(line).append('\n');
+        }
+        return out.toString();
     }
 
     private void clearLogs() {
@@ -112,10 +127,7 @@ public class FileChatLogger {
         String playerName = player.getUsername();
         String message = event.getMessage();
 
-        long logStartTime = System.currentTimeMillis();
-        String logMessage = String.format("[CHAT] %s", message); 
-
-        logChat(playerId, playerName, logMessage, logStartTime);
+        logChat(playerId, playerName, "[CHAT] " + message, System.currentTimeMillis());
     }
 
     @Subscribe
@@ -129,38 +141,11 @@ public class FileChatLogger {
             String playerName = player.getUsername();
             String command = event.getCommand();
 
-            long logStartTime = System.currentTimeMillis();
-            String logMessage = String.format("[CMD] /%s", command); 
-
-            logChat(playerId, playerName, logMessage, logStartTime);
+            logChat(playerId, playerName, "[CMD] /" + command, System.currentTimeMillis());
         }
     }
 
-    private String formatLogMessage(String message, long logStartTime, long currentTime) {
-        long elapsedTime = currentTime - logStartTime;
-        Duration duration = Duration.ofMillis(elapsedTime);
-
-        long days = duration.toDays();
-        long totalHours = duration.toHours();
-        long hours = totalHours % 24;
-        long totalMinutes = duration.toMinutes();
-        long minutes = totalMinutes % 60;
-
-        String formattedTime = String.format("[%dd %dh %dm ago]", days, hours, minutes);
-        String timestamp = TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(currentTime));
-
-        return String.format("%s %s | %s", formattedTime, timestamp, message);
-    }
-
     public void shutdown() {
-        writer.shutdown();
-        try {
-            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
-                writer.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            writer.shutdownNow();
-        }
+        store.shutdown();
     }
-}
\ No newline at end of file
+}
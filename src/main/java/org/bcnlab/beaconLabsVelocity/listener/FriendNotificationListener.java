@@ -15,7 +15,6 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class FriendNotificationListener {
 
@@ -36,16 +35,7 @@ public class FriendNotificationListener {
 
     private void notifyPostLogin(Player player) {
         // Notify local friends
-        plugin.getServer().getAllPlayers().forEach(onlinePlayer -> {
-            if (plugin.getFriendService().areFriends(onlinePlayer.getUniqueId(), player.getUniqueId())) {
-                String friendAlert = plugin.getPlayerSettingsService().getPlayerSetting(onlinePlayer.getUniqueId(), "friends_join_alert", "on");
-                if ("on".equalsIgnoreCase(friendAlert) || "true".equalsIgnoreCase(friendAlert)) {
-                    onlinePlayer.sendMessage(plugin.getPrefix(onlinePlayer).append(Component.text("Friend ", NamedTextColor.GOLD))
-                            .append(Component.text(player.getUsername(), NamedTextColor.GREEN))
-                            .append(Component.text(" has joined the network.", NamedTextColor.GOLD)));
-                }
-            }
-        });
+        notifyLocalFriends(player, " has joined the network.");
 
         // Notify cross-proxy friends
         CrossProxyService crossProxyService = plugin.getCrossProxyService();
@@ -96,6 +86,18 @@ public class FriendNotificationListener {
         }).delay(java.time.Duration.ofSeconds(2)).schedule(); // Delay slightly so it doesn't get buried
     }
 
+    /** Only the player's own friends are looked at; friendships are stored in both directions. */
+    private void notifyLocalFriends(Player player, String action) {
+        for (Player friend : plugin.getFriendService().getOnlineFriends(player.getUniqueId())) {
+            String friendAlert = plugin.getPlayerSettingsService().getPlayerSetting(friend.getUniqueId(), "friends_join_alert", "on");
+            if ("on".equalsIgnoreCase(friendAlert) || "true".equalsIgnoreCase(friendAlert)) {
+                friend.sendMessage(plugin.getPrefix(friend).append(Component.text("Friend ", NamedTextColor.GOLD))
+                        .append(Component.text(player.getUsername(), NamedTextColor.GREEN))
+                        .append(Component.text(action, NamedTextColor.GOLD)));
+            }
+        }
+    }
+
     @Subscribe
     public void onDisconnect(DisconnectEvent event) {
         Player player = event.getPlayer();
@@ -104,16 +106,7 @@ public class FriendNotificationListener {
 
     private void notifyDisconnect(Player player) {
         // Notify local friends
-        plugin.getServer().getAllPlayers().forEach(onlinePlayer -> {
-            if (plugin.getFriendService().areFriends(onlinePlayer.getUniqueId(), player.getUniqueId())) {
-                String friendAlert = plugin.getPlayerSettingsService().getPlayerSetting(onlinePlayer.getUniqueId(), "friends_join_alert", "on");
-                if ("on".equalsIgnoreCase(friendAlert) || "true".equalsIgnoreCase(friendAlert)) {
-                    onlinePlayer.sendMessage(plugin.getPrefix(onlinePlayer).append(Component.text("Friend ", NamedTextColor.GOLD))
-                            .append(Component.text(player.getUsername(), NamedTextColor.GREEN))
-                            .append(Component.text(" has left the network.", NamedTextColor.GOLD)));
-                }
-            }
-        });
+        notifyLocalFriends(player, " has left the network.");
 
         // Notify cross-proxy friends
         CrossProxyService crossProxyService = plugin.getCrossProxyService();
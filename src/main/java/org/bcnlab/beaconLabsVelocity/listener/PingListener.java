@@ -9,95 +9,264 @@ import com.velocitypowered.api.util.Favicon;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
+import org.bcnlab.beaconLabsVelocity.util.TokenBucketTable;
 import org.spongepowered.configurate.ConfigurationNode;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PingListener {
     private final BeaconLabsVelocity plugin;
     private final ProxyServer server;
-    private final ConfigurationNode config;
     private final MiniMessage miniMessage;
 
+    /**
+     * Prebuilt responses keyed by configured host ("" for the default MOTD) and maintenance state.
+     * Only hosts listed under motd.hosts get their own entry, so spoofed virtual hosts cannot grow the map.
+     */
+    private final Map<String, CachedPing> responseCache = new ConcurrentHashMap<>();
+    private volatile Set<String> configuredHosts;
+
+    /** Everything in a status response except the live player count. */
+    private record CachedPing(Component description, int maxPlayers, ServerPing.Version version, Favicon favicon) {}
+
+    /** Per-IP ping limiter; null when ping-protection is disabled. Replaced on config reload. */
+    private volatile TokenBucketTable pingLimiter;
+    /** Player count from the last full response, reused for limited pings so they skip the cross-proxy lookup. */
+    private volatile int lastPlayerCount;
+
+    private final MetricsRegistry.Counter totalPings;
+    private final MetricsRegistry.Counter limitedPings;
+    private final LatencyHistogram fullResponseTime;
+    private final LatencyHistogram limitedResponseTime;
+    private final AtomicLong rateWindowSecond = new AtomicLong();
+    private final LongAdder pingsThisSecond = new LongAdder();
+    private volatile long pingsLastSecond;
+
     @Inject
     public PingListener(BeaconLabsVelocity plugin, ProxyServer server) {
         this.plugin = plugin;
         this.server = server;
-        this.config = plugin.getConfig();
         this.miniMessage = MiniMessage.miniMessage();
+        MetricsRegistry metrics = plugin.getMetrics();
+        totalPings = metrics.counter("blv_pings_total", "Server list pings received");
+        limitedPings = metrics.counter("blv_pings_limited_total", "Server list pings answered with the minimal response");
+        fullResponseTime = metrics.histogram("blv_ping_handler_seconds", "Time spent building server list responses", "response", "full");
+        limitedResponseTime = metrics.histogram("blv_ping_handler_seconds", "Time spent building server list responses", "response", "limited");
+        loadProtectionSettings();
     }
 
     @Subscribe
     public void onProxyPing(ProxyPingEvent event) {
-        ServerPing.Builder pingBuilder = event.getPing().asBuilder();        // Check if maintenance mode is active and service exists
-        if (plugin.getMaintenanceService() != null && plugin.getMaintenanceService().isMaintenanceMode()) {
-            // Get maintenance MOTD - already in MiniMessage format
-            String maintenanceMOTD = plugin.getMaintenanceService().getMaintenanceMOTD();
-            
-            // Parse the MiniMessage formatted MOTD
-            // The MOTD is already in MiniMessage format from config.yml
-            Component motdComponent = miniMessage.deserialize(maintenanceMOTD);
-            pingBuilder.description(motdComponent);
-        } else {
-            ConfigurationNode defaultMotdNode = config.node("motd");
-            ConfigurationNode motdNode = resolveMotdNode(event, defaultMotdNode);
-            String motdLine1 = getString(motdNode, defaultMotdNode, "line1", "<gradient:#5e4fa2:#f79459><bold>BeaconLabs</bold></gradient> <gray>»</gray> <hover:show_text:'<rainbow>Join the Adventure!</rainbow>'><gold>Your Network!</gold></hover>");
-            String motdLine2 = getString(motdNode, defaultMotdNode, "line2", "<gold>Playing on <gold>1.21.4+</gold></gold>");
-            
-            Component motdComponent = miniMessage.deserialize(motdLine1 + "\n" + motdLine2);
-            pingBuilder.description(motdComponent);
+        long now = System.nanoTime();
+        countPing(now);
+
+        TokenBucketTable limiter = pingLimiter;
+        if (limiter != null && !limiter.tryAcquire(addressKey(event), now)) {
+            limitedPings.inc();
+            event.setPing(buildLimitedResponse(event));
+            limitedResponseTime.recordSince(now);
+            return;
         }
-        
-        ConfigurationNode defaultMotdNode = config.node("motd");
-        ConfigurationNode motdNode = resolveMotdNode(event, defaultMotdNode);
-        int maxPlayers = getInt(motdNode, defaultMotdNode, "max-players", 100);
-        String versionName = getString(motdNode, defaultMotdNode, "version-name", "");
-        int versionProtocol = getInt(motdNode, defaultMotdNode, "version-protocol", 769);
 
-        pingBuilder.maximumPlayers(maxPlayers);
+        boolean maintenance = plugin.getMaintenanceService() != null && plugin.getMaintenanceService().isMaintenanceMode();
+        String host = resolveHost(event);
+        String key = (maintenance ? "m:" : "n:") + host;
+        CachedPing cached = responseCache.get(key);
+        if (cached == null) {
+            cached = responseCache.computeIfAbsent(key, k -> buildResponse(host, maintenance));
+        }
+
+        ServerPing.Builder pingBuilder = event.getPing().asBuilder();
+        pingBuilder.description(cached.description());
+        pingBuilder.maximumPlayers(cached.maxPlayers());
         int playerCount = (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled())
             ? plugin.getCrossProxyService().getTotalPlayerCount()
             : server.getPlayerCount();
+        lastPlayerCount = playerCount;
         pingBuilder.onlinePlayers(playerCount);
         // Only override version when version-name is set; otherwise keep Velocity's default (real server version)
-        if (versionName != null && !versionName.isBlank()) {
-            pingBuilder.version(new ServerPing.Version(versionProtocol, versionName));
+        if (cached.version() != null) {
+            pingBuilder.version(cached.version());
+        }
+        if (cached.favicon() != null) {
+            pingBuilder.favicon(cached.favicon());
         }
 
+        event.setPing(pingBuilder.build());
+        fullResponseTime.recordSince(now);
+    }
+
+    /**
+     * Drop all prebuilt responses. Called on config reload, maintenance toggle and maintenance MOTD changes.
+     */
+    public void invalidateCache() {
+        configuredHosts = null;
+        responseCache.clear();
+    }
+
+    /** Re-read ping-protection settings and drop cached responses after config.yml was reloaded. */
+    public void reload() {
+        invalidateCache();
+        loadProtectionSettings();
+    }
+
+    /** Total status pings seen since startup. */
+    public long getTotalPings() {
+        return totalPings.get();
+    }
+
+    /** Status pings answered with the minimal response because the source was over its rate. */
+    public long getLimitedPings() {
+        return limitedPings.get();
+    }
+
+    /** Status pings received during the last full second. */
+    public long getPingsPerSecond() {
+        long current = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long window = rateWindowSecond.get();
+        if (window == current) return pingsLastSecond;
+        if (window == current - 1) return pingsThisSecond.sum();
+        return 0;
+    }
+
+    /** Source addresses currently tracked by the ping limiter. */
+    public int getTrackedPingAddresses() {
+        TokenBucketTable limiter = pingLimiter;
+        return limiter != null ? limiter.size() : 0;
+    }
+
+    private void loadProtectionSettings() {
+        ConfigurationNode node = plugin.getConfig() != null ? plugin.getConfig().node("ping-protection") : null;
+        if (node == null || !node.node("enabled").getBoolean(true)) {
+            pingLimiter = null;
+            return;
+        }
+        pingLimiter = new TokenBucketTable(
+                node.node("rate-per-second").getDouble(5.0),
+                node.node("burst").getInt(20),
+                node.node("max-tracked-addresses").getInt(65536),
+                TimeUnit.SECONDS.toNanos(Math.max(1, node.node("idle-expiry-seconds").getInt(30))));
+    }
+
+    private void countPing(long now) {
+        totalPings.inc();
+        long second = TimeUnit.NANOSECONDS.toSeconds(now);
+        long window = rateWindowSecond.get();
+        if (window != second && rateWindowSecond.compareAndSet(window, second)) {
+            pingsLastSecond = second == window + 1 ? pingsThisSecond.sumThenReset() : 0;
+            if (second != window + 1) pingsThisSecond.reset();
+        }
+        pingsThisSecond.increment();
+    }
+
+    /**
+     * Minimal response for rate limited sources: cached default description, last known player count,
+     * no favicon and no player sample. Avoids config lookups and the cross-proxy player count.
+     */
+    private ServerPing buildLimitedResponse(ProxyPingEvent event) {
+        boolean maintenance = plugin.getMaintenanceService() != null && plugin.getMaintenanceService().isMaintenanceMode();
+        String key = maintenance ? "m:" : "n:";
+        CachedPing cached = responseCache.get(key);
+        if (cached == null) {
+            cached = responseCache.computeIfAbsent(key, k -> buildResponse("", maintenance));
+        }
+        ServerPing.Builder pingBuilder = event.getPing().asBuilder()
+                .description(cached.description())
+                .maximumPlayers(cached.maxPlayers())
+                .onlinePlayers(lastPlayerCount)
+                .clearSamplePlayers()
+                .clearFavicon();
+        if (cached.version() != null) {
+            pingBuilder.version(cached.version());
+        }
+        return pingBuilder.build();
+    }
+
+    /** Limiter key for the ping source: the IPv4 address, or the /64 prefix for IPv6. */
+    private static long addressKey(ProxyPingEvent event) {
+        InetAddress address = event.getConnection().getRemoteAddress().getAddress();
+        if (address == null) return 0;
+        byte[] bytes = address.getAddress();
+        long key = 0;
+        int len = Math.min(bytes.length, 8);
+        for (int i = 0; i < len; i++) {
+            key = (key << 8) | (bytes[i] & 0xFF);
+        }
+        return bytes.length == 4 ? key : key ^ 0x8000_0000_0000_0000L;
+    }
+
+    private CachedPing buildResponse(String host, boolean maintenance) {
+        ConfigurationNode defaultMotdNode = plugin.getConfig().node("motd");
+        ConfigurationNode motdNode = host.isEmpty() ? defaultMotdNode : defaultMotdNode.node("hosts").node(host);
+
+        Component motdComponent;
+        if (maintenance) {
+            // Maintenance MOTD is already in MiniMessage format from config.yml
+            motdComponent = miniMessage.deserialize(plugin.getMaintenanceService().getMaintenanceMOTD());
+        } else {
+            String motdLine1 = getString(motdNode, defaultMotdNode, "line1", "<gradient:#5e4fa2:#f79459><bold>BeaconLabs</bold></gradient> <gray>»</gray> <hover:show_text:'<rainbow>Join the Adventure!</rainbow>'><gold>Your Network!</gold></hover>");
+            String motdLine2 = getString(motdNode, defaultMotdNode, "line2", "<gold>Playing on <gold>1.21.4+</gold></gold>");
+            motdComponent = miniMessage.deserialize(motdLine1 + "\n" + motdLine2);
+        }
+
+        int maxPlayers = getInt(motdNode, defaultMotdNode, "max-players", 100);
+        String versionName = getString(motdNode, defaultMotdNode, "version-name", "");
+        int versionProtocol = getInt(motdNode, defaultMotdNode, "version-protocol", 769);
+        ServerPing.Version version = versionName != null && !versionName.isBlank()
+                ? new ServerPing.Version(versionProtocol, versionName)
+                : null;
+
         // favicon per hostname
+        Favicon favicon = null;
         String iconPath = getString(motdNode, defaultMotdNode, "icon-path", "");
         if (!iconPath.isBlank()) {
             try {
                 Path path = Paths.get(iconPath);
-                pingBuilder.favicon(Favicon.create(path));
+                favicon = Favicon.create(path);
             } catch (IOException e) {
                 plugin.getLogger().error("Failed to load server icon from: " + iconPath, e);
             }
         }
 
-        event.setPing(pingBuilder.build());
+        return new CachedPing(motdComponent, maxPlayers, version, favicon);
     }
 
-    private ConfigurationNode resolveMotdNode(ProxyPingEvent event, ConfigurationNode defaultMotdNode) {
+    /** The configured motd.hosts key for this ping's virtual host, or "" to use the default MOTD. */
+    private String resolveHost(ProxyPingEvent event) {
         String hostname = event.getConnection().getVirtualHost()
                 .map(InetSocketAddress::getHostString)
                 .map(host -> host.toLowerCase(Locale.ROOT))
                 .orElse("");
         if (hostname.isEmpty()) {
-            return defaultMotdNode;
+            return "";
         }
+        return getConfiguredHosts().contains(hostname) ? hostname : "";
+    }
 
-        ConfigurationNode hostsNode = defaultMotdNode.node("hosts");
-        ConfigurationNode hostNode = hostsNode.node(hostname);
-        if (!hostNode.virtual()) {
-            return hostNode;
+    private Set<String> getConfiguredHosts() {
+        Set<String> hosts = configuredHosts;
+        if (hosts == null) {
+            hosts = new HashSet<>();
+            for (Object key : plugin.getConfig().node("motd", "hosts").childrenMap().keySet()) {
+                hosts.add(String.valueOf(key));
+            }
+            configuredHosts = hosts;
         }
-
-        return defaultMotdNode;
+        return hosts;
     }
 
     private String getString(ConfigurationNode node, ConfigurationNode fallbackNode, String key, String defaultValue) {
@@ -117,5 +286,5 @@ public class PingListener {
 
         return fallbackNode.node(key).getInt(defaultValue);
     }
-  
+
 }
@@ -1,11 +1,14 @@
 package org.bcnlab.beaconLabsVelocity.listener;
 
 import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.proxy.Player;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.bcnlab.beaconLabsVelocity.service.ServerGuardService;
 
 /**
@@ -15,10 +18,14 @@ public class ServerGuardListener {
 
     private final BeaconLabsVelocity plugin;
     private final ServerGuardService guardService;
+    private final LatencyHistogram checkTime;
+    private final MetricsRegistry.Counter denied;
 
     public ServerGuardListener(BeaconLabsVelocity plugin, ServerGuardService guardService) {
         this.plugin = plugin;
         this.guardService = guardService;
+        this.checkTime = plugin.getMetrics().histogram("blv_server_guard_check_seconds", "Time spent evaluating server guard rules on connect");
+        this.denied = plugin.getMetrics().counter("blv_server_guard_denied_total", "Server connections denied by guard rules");
     }
 
     @Subscribe
@@ -27,7 +34,11 @@ public class ServerGuardListener {
         String targetServerName = event.getOriginalServer().getServerInfo().getName();
 
         // Check if player can access the server
-        if (!guardService.canAccess(player, targetServerName)) {
+        long start = System.nanoTime();
+        boolean allowed = guardService.canAccess(player, targetServerName);
+        checkTime.recordSince(start);
+        if (!allowed) {
+            denied.inc();
             // Get the required permission if any
             String permission = guardService.getServerStatus(player, targetServerName).getPermission();
 
@@ -54,4 +65,9 @@ public class ServerGuardListener {
             event.setResult(ServerPreConnectEvent.ServerResult.denied());
         }
     }
+
+    @Subscribe
+    public void onDisconnect(DisconnectEvent event) {
+        guardService.invalidatePlayer(event.getPlayer().getUniqueId());
+    }
 }
@@ -45,7 +45,7 @@ public class WhitelistListener {
                 
                 // Player is not whitelisted, deny connection
                 event.setResult(LoginEvent.ComponentResult.denied(
-                    ColorParser.parse(kickMessageStr)
+                    ColorParser.parseCached(kickMessageStr)
                 ));
                 
                 // Log the denied connection
@@ -0,0 +1,73 @@
+package org.bcnlab.beaconLabsVelocity.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed, roughly logarithmic buckets from 0.05 ms to 30 s, exposed as a
+ * Prometheus histogram in seconds. Recording is a binary search over the bucket bounds plus two
+ * {@link LongAdder} updates, so it is cheap enough for event handlers and database calls.
+ */
+public final class LatencyHistogram {
+
+    /** Upper bucket bounds in seconds; the implicit last bucket is +Inf. */
+    private static final double[] BOUNDS_SECONDS = {
+            0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05,
+            0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+    private static final long[] BOUNDS_NANOS = new long[BOUNDS_SECONDS.length];
+    /** {@code le} label values, plain decimals as Prometheus clients usually write them. */
+    private static final String[] BOUND_LABELS = new String[BOUNDS_SECONDS.length + 1];
+
+    static {
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+            BOUNDS_NANOS[i] = Math.round(BOUNDS_SECONDS[i] * 1_000_000_000L);
+            BOUND_LABELS[i] = BigDecimal.valueOf(BOUNDS_SECONDS[i]).stripTrailingZeros().toPlainString();
+        }
+        BOUND_LABELS[BOUNDS_SECONDS.length] = "+Inf";
+    }
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_SECONDS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        int low = 0;
+        int high = BOUNDS_NANOS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BOUNDS_NANOS[mid] < nanos) low = mid + 1;
+            else high = mid;
+        }
+        buckets[low].increment();
+        sumNanos.add(nanos);
+    }
+
+    /** Record the time since {@code startNanos}, taken from {@link System#nanoTime()}. */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) count += bucket.sum();
+        return count;
+    }
+
+    void writeTo(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            MetricsRegistry.sample(out, name + "_bucket", prefix + "le=\"" + BOUND_LABELS[i] + "\"", cumulative);
+        }
+        MetricsRegistry.sample(out, name + "_sum", labels, sumNanos.sum() / 1_000_000_000.0);
+        MetricsRegistry.sample(out, name + "_count", labels, cumulative);
+    }
+}
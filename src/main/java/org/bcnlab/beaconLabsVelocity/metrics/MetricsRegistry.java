@@ -0,0 +1,130 @@
+package org.bcnlab.beaconLabsVelocity.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Plugin-wide metrics: counters, latency histograms and gauges, exposed in the Prometheus text format.
+ * <p>
+ * Metrics are created on first use and then cached by the caller, so the hot path is a single
+ * {@link LongAdder} update. Registering the same name and labels twice returns the same metric. Labels are
+ * given as name/value pairs, e.g. {@code counter("blv_x_total", "help", "type", "KICK")}.
+ */
+public final class MetricsRegistry {
+
+    /** A monotonically increasing count. */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void inc() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    private enum Type { COUNTER, GAUGE, HISTOGRAM }
+
+    private record Family(String name, String help, Type type, Map<String, Object> series) {}
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) register(name, help, Type.COUNTER, labels, Counter::new);
+    }
+
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) register(name, help, Type.HISTOGRAM, labels, LatencyHistogram::new);
+    }
+
+    /** Register a value read at scrape time. A later registration with the same name and labels replaces it. */
+    public void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        family(name, help, Type.GAUGE).series().put(renderLabels(labels), supplier);
+    }
+
+    private Object register(String name, String help, Type type, String[] labels, Supplier<Object> factory) {
+        return family(name, help, type).series().computeIfAbsent(renderLabels(labels), k -> factory.get());
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, n -> new Family(n, help, type, new ConcurrentHashMap<>()));
+        if (family.type() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type());
+        }
+        return family;
+    }
+
+    /** Render every metric in the Prometheus text exposition format (version 0.0.4). */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name()).append(' ').append(escapeHelp(family.help())).append('\n');
+            out.append("# TYPE ").append(family.name()).append(' ').append(family.type().name().toLowerCase(Locale.ROOT)).append('\n');
+            for (Map.Entry<String, Object> series : new ConcurrentSkipListMap<>(family.series()).entrySet()) {
+                String labels = series.getKey();
+                Object metric = series.getValue();
+                switch (family.type()) {
+                    case COUNTER -> sample(out, family.name(), labels, ((Counter) metric).get());
+                    case GAUGE -> {
+                        double value;
+                        try {
+                            value = ((DoubleSupplier) metric).getAsDouble();
+                        } catch (RuntimeException e) {
+                            value = Double.NaN;
+                        }
+                        sample(out, family.name(), labels, value);
+                    }
+                    case HISTOGRAM -> ((LatencyHistogram) metric).writeTo(out, family.name(), labels);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) out.append('{').append(labels).append('}');
+        out.append(' ');
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            out.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /** Labels as {@code a="1",b="2"} (no braces), in the given order. */
+    private static String renderLabels(String[] labels) {
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be name/value pairs");
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) out.append(',');
+            out.append(labels[i]).append("=\"").append(escapeLabel(labels[i + 1])).append('"');
+        }
+        return out.toString();
+    }
+
+    private static String escapeLabel(String value) {
+        if (value == null) return "";
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
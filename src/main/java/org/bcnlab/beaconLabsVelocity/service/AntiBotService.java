@@ -9,6 +9,8 @@ import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
 import org.bcnlab.beaconLabsVelocity.config.AbuseConfig;
 import org.bcnlab.beaconLabsVelocity.database.DatabaseManager;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.bcnlab.beaconLabsVelocity.util.DiscordWebhook;
 import org.slf4j.Logger;
 
@@ -21,6 +23,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Calendar;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -35,8 +39,18 @@ public class AntiBotService {
     private final Logger logger;
     private final ProxyServer server;
     private final Gson gson = new Gson();
+    private final ScreeningPassStore screeningPasses;
     
     private static final long CACHE_TTL_MS = 3L * 24L * 60L * 60L * 1000L; // 3 days
+
+    private final LatencyHistogram checkTime;
+    private final LatencyHistogram apiTime;
+    private final MetricsRegistry.Counter cacheHits;
+    private final MetricsRegistry.Counter cacheMisses;
+    private final MetricsRegistry.Counter apiSuccess;
+    private final MetricsRegistry.Counter apiErrors;
+    private final MetricsRegistry.Counter apiSkipped;
+    private final Map<DefenseAction, MetricsRegistry.Counter> actionCounters = new EnumMap<>(DefenseAction.class);
     
     public AntiBotService(BeaconLabsVelocity plugin, DatabaseManager databaseManager, AbuseConfig config, Logger logger, ProxyServer server) {
         this.plugin = plugin;
@@ -44,6 +58,19 @@ public class AntiBotService {
         this.config = config;
         this.logger = logger;
         this.server = server;
+        this.screeningPasses = new ScreeningPassStore(plugin, databaseManager, logger);
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        checkTime = metrics.histogram("blv_antibot_check_seconds", "Duration of login IP checks, including cache and AbuseIPDB lookups");
+        apiTime = metrics.histogram("blv_antibot_abuseipdb_request_seconds", "Duration of AbuseIPDB requests");
+        cacheHits = metrics.counter("blv_antibot_ip_cache_total", "IP cache lookups by result", "result", "hit");
+        cacheMisses = metrics.counter("blv_antibot_ip_cache_total", "IP cache lookups by result", "result", "miss");
+        apiSuccess = metrics.counter("blv_antibot_abuseipdb_requests_total", "AbuseIPDB lookups by outcome", "outcome", "ok");
+        apiErrors = metrics.counter("blv_antibot_abuseipdb_requests_total", "AbuseIPDB lookups by outcome", "outcome", "error");
+        apiSkipped = metrics.counter("blv_antibot_abuseipdb_requests_total", "AbuseIPDB lookups by outcome", "outcome", "daily_limit");
+        for (DefenseAction action : DefenseAction.values()) {
+            actionCounters.put(action, metrics.counter("blv_antibot_decisions_total", "Login IP check decisions by action", "action", action.name()));
+        }
     }
 
     public int getRequestsToday() {
@@ -103,53 +130,62 @@ public class AntiBotService {
     }
 
     public CompletableFuture<IpCheckResult> checkIpAsync(String ipAddress, UUID playerUuid, String playerName) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!config.isModuleEnabled()) return new IpCheckResult(DefenseAction.ALLOW, 0, new IpData(), false, false, "{}");
+        long start = System.nanoTime();
+        screeningPasses.preload(playerUuid); // overlaps with the IP cache lookup below
+        return CompletableFuture.supplyAsync(() -> checkIp(ipAddress, playerUuid, playerName)).whenComplete((result, error) -> {
+            checkTime.recordSince(start);
+            if (result != null && result.action != null) actionCounters.get(result.action).inc();
+        });
+    }
 
-            // Check if player is whitelisted by UUID (manually handled or via plugin's WhitelistService)
-            // But we have our own manual whitelist/blacklist for AntiBot
-            
-            // Check cache first
-            try (Connection conn = databaseManager.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement("SELECT * FROM antibot_ip_cache WHERE ip_address = ?")) {
-                stmt.setString(1, ipAddress);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        long lastChecked = rs.getLong("last_checked");
-                        boolean whitelisted = rs.getBoolean("is_whitelisted");
-                        boolean blacklisted = rs.getBoolean("is_blacklisted");
-                        int score = rs.getInt("confidence_score");
-                        String dataJson = rs.getString("data_json");
-                        
-                        IpData ipData = parseIpDataFromJson(dataJson);
-                        if (whitelisted) {
-                            return new IpCheckResult(DefenseAction.ALLOW, score, ipData, true, false, dataJson);
-                        }
-                        if (blacklisted) {
-                            kickPlayer(playerUuid, ipAddress);
-                            return new IpCheckResult(DefenseAction.BLOCK, score, ipData, false, true, dataJson);
-                        }
+    private IpCheckResult checkIp(String ipAddress, UUID playerUuid, String playerName) {
+        if (!config.isModuleEnabled()) return new IpCheckResult(DefenseAction.ALLOW, 0, new IpData(), false, false, "{}");
 
-                        // Check TTL
-                        if (System.currentTimeMillis() - lastChecked < CACHE_TTL_MS) {
-                            DefenseAction action = getDefenseAction(score, ipData.usageType, ipData.countryCode, playerUuid, ipAddress);
-                            if (action == DefenseAction.BLOCK) {
-                                kickPlayer(playerUuid, ipAddress);
-                                fireWebhook(ipAddress, playerName, score, ipData.usageType);
-                            } else if (action == DefenseAction.SCREEN) {
-                                triggerScreening(playerUuid);
-                            }
-                            return new IpCheckResult(action, score, ipData, false, false, dataJson);
+        // Check if player is whitelisted by UUID (manually handled or via plugin's WhitelistService)
+        // But we have our own manual whitelist/blacklist for AntiBot
+        
+        // Check cache first
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM antibot_ip_cache WHERE ip_address = ?")) {
+            stmt.setString(1, ipAddress);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    long lastChecked = rs.getLong("last_checked");
+                    boolean whitelisted = rs.getBoolean("is_whitelisted");
+                    boolean blacklisted = rs.getBoolean("is_blacklisted");
+                    int score = rs.getInt("confidence_score");
+                    String dataJson = rs.getString("data_json");
+                    
+                    IpData ipData = parseIpDataFromJson(dataJson);
+                    if (whitelisted) {
+                        return new IpCheckResult(DefenseAction.ALLOW, score, ipData, true, false, dataJson);
+                    }
+                    if (blacklisted) {
+                        kickPlayer(playerUuid, ipAddress);
+                        return new IpCheckResult(DefenseAction.BLOCK, score, ipData, false, true, dataJson);
+                    }
+
+                    // Check TTL
+                    if (System.currentTimeMillis() - lastChecked < CACHE_TTL_MS) {
+                        cacheHits.inc();
+                        DefenseAction action = getDefenseAction(score, ipData.usageType, ipData.countryCode, playerUuid, ipAddress);
+                        if (action == DefenseAction.BLOCK) {
+                            kickPlayer(playerUuid, ipAddress);
+                            fireWebhook(ipAddress, playerName, score, ipData.usageType);
+                        } else if (action == DefenseAction.SCREEN) {
+                            triggerScreening(playerUuid);
                         }
+                        return new IpCheckResult(action, score, ipData, false, false, dataJson);
                     }
                 }
-            } catch (Exception e) {
-                logger.error("Error checking AntiBot IP cache", e);
             }
+        } catch (Exception e) {
+            logger.error("Error checking AntiBot IP cache", e);
+        }
 
-            // Not in cache or expired, fetch from AbuseIPDB
-            return fetchFromAbuseIpDb(ipAddress, playerUuid, playerName, false);
-        });
+        // Not in cache or expired, fetch from AbuseIPDB
+        cacheMisses.inc();
+        return fetchFromAbuseIpDb(ipAddress, playerUuid, playerName, false);
     }
 
     private void triggerScreening(UUID playerUuid) {
@@ -159,57 +195,26 @@ public class AntiBotService {
         }
     }
 
+    /** Only called from the async IP check, which may wait for the player's passes to load. */
     private boolean hasPassedScreeningBefore(UUID playerUuid, String ip) {
-        if (playerUuid == null || ip == null) return false;
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM screening_passes WHERE player_uuid = ? AND ip_address = ?")) {
-            stmt.setString(1, playerUuid.toString());
-            stmt.setString(2, ip);
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
-            }
-        } catch (Exception e) {
-            logger.error("Failed to check screening passes", e);
-        }
-        return false;
+        return screeningPasses.hasPassed(playerUuid, ip).join();
     }
 
-    public boolean hasPlayerBeenScreened(UUID playerUuid) {
-        if (playerUuid == null) return false;
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM screening_passes WHERE player_uuid = ? LIMIT 1")) {
-            stmt.setString(1, playerUuid.toString());
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
-            }
-        } catch (Exception e) {
-            logger.error("Failed to check if player was screened", e);
-        }
-        return false;
+    public CompletableFuture<Boolean> hasPlayerBeenScreened(UUID playerUuid) {
+        return screeningPasses.hasPassedAny(playerUuid);
     }
 
-    public int removeScreeningPassByUuid(UUID playerUuid) {
-        if (playerUuid == null) return 0;
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("DELETE FROM screening_passes WHERE player_uuid = ?")) {
-            stmt.setString(1, playerUuid.toString());
-            return stmt.executeUpdate();
-        } catch (Exception e) {
-            logger.error("Failed to remove screening pass by UUID", e);
-        }
-        return 0;
+    /** Record a passed screening. Non-blocking; the database insert is batched in the background. */
+    public void recordScreeningPass(UUID playerUuid, String ip) {
+        screeningPasses.recordPass(playerUuid, ip);
     }
 
-    public int removeScreeningPassByIp(String ip) {
-        if (ip == null || ip.isEmpty()) return 0;
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("DELETE FROM screening_passes WHERE ip_address = ?")) {
-            stmt.setString(1, ip);
-            return stmt.executeUpdate();
-        } catch (Exception e) {
-            logger.error("Failed to remove screening pass by IP", e);
-        }
-        return 0;
+    public CompletableFuture<Integer> removeScreeningPassByUuid(UUID playerUuid) {
+        return screeningPasses.removeByUuid(playerUuid);
+    }
+
+    public CompletableFuture<Integer> removeScreeningPassByIp(String ip) {
+        return screeningPasses.removeByIp(ip);
     }
 
     public void setForceScreen(UUID playerUuid) {
@@ -283,6 +288,7 @@ public class AntiBotService {
 
     private IpCheckResult fetchFromAbuseIpDb(String ip, UUID playerUuid, String playerName, boolean silent) {
         if (getRequestsToday() >= config.getDailyLimit()) {
+            apiSkipped.inc();
             logger.warn("AbuseIPDB daily limit reached! Skipping check for " + ip);
             return new IpCheckResult(DefenseAction.ALLOW, 0, new IpData(), false, false, "{}");
         }
@@ -294,6 +300,7 @@ public class AntiBotService {
             }
 
             incrementRequestsToday();
+            long start = System.nanoTime();
 
             URL url = new URL("https://api.abuseipdb.com/api/v2/check?ipAddress=" + URLEncoder.encode(ip, StandardCharsets.UTF_8) + "&maxAgeInDays=90&verbose");
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
@@ -307,6 +314,8 @@ public class AntiBotService {
                 try (InputStreamReader reader = new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8)) {
                     responseJson = JsonParser.parseReader(reader).getAsJsonObject();
                 }
+                apiTime.recordSince(start);
+                apiSuccess.inc();
 
                 JsonObject data = responseJson.getAsJsonObject("data");
                 int score = data.get("abuseConfidenceScore").getAsInt();
@@ -329,9 +338,12 @@ public class AntiBotService {
 
                 return new IpCheckResult(action, score, ipData, false, false, rawJson);
             } else {
+                apiTime.recordSince(start);
+                apiErrors.inc();
                 logger.warn("AbuseIPDB returned code " + responseCode + " for IP " + ip);
             }
         } catch (Exception e) {
+            apiErrors.inc();
             logger.error("Failed to query AbuseIPDB for " + ip, e);
         }
         return new IpCheckResult(DefenseAction.ALLOW, 0, new IpData(), false, false, "{}");
@@ -432,7 +444,7 @@ public class AntiBotService {
         if (playerUuid != null) {
             Optional<Player> p = server.getPlayer(playerUuid);
             p.ifPresent(player -> {
-                player.disconnect(ColorParser.parse(config.getKickMessage()));
+                player.disconnect(ColorParser.parseCached(config.getKickMessage()));
                 
                 // Record successful kick
                 plugin.getServer().getScheduler().buildTask(plugin, () -> {
@@ -469,4 +481,9 @@ public class AntiBotService {
                 config.getWebhookCooldownMinutes()
         );
     }
+
+    /** Flush queued screening pass writes. Call before the database pool closes. */
+    public void shutdown() {
+        screeningPasses.shutdown();
+    }
 }
@@ -0,0 +1,286 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.slf4j.Logger;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background health checks for backend servers, used to pick a server for {@code /lobby}, {@code /limbo} and
+ * players leaving screening.
+ * <p>
+ * Every registered server is pinged every {@code health.probe-interval-seconds} (servers.yml). Latency and
+ * player count are smoothed with an exponentially weighted moving average; a server that fails
+ * {@code health.dead-after-failures} pings in a row is dead until a ping succeeds again. A server is full at
+ * {@code health.overload-ratio} of its max players.
+ * <p>
+ * Servers are picked from the groups in {@code lobby-groups}. Dead and full servers are skipped; among the
+ * rest, {@code power-of-two} compares two random candidates and takes the less loaded one, {@code least-loaded}
+ * compares all of them. Players sent to a server since its last ping count towards its load, so a burst of
+ * joins does not all land on the same server.
+ */
+public class BackendHealthService {
+
+    /** Health of one backend server; updated by probes and read without locking. */
+    public static final class Health {
+        private final String serverName;
+        private final AtomicBoolean probing = new AtomicBoolean();
+        private volatile double latencyEwma = -1;
+        private volatile double playersEwma = -1;
+        private volatile int maxPlayers;
+        private volatile int failureStreak;
+        private volatile long lastProbe;
+        private volatile long lastSuccess;
+        private final AtomicInteger assignedSinceProbe = new AtomicInteger();
+
+        private Health(String serverName) {
+            this.serverName = serverName;
+        }
+
+        public String getServerName() { return serverName; }
+        /** Smoothed ping latency in milliseconds, or -1 before the first successful ping. */
+        public double getLatencyMillis() { return latencyEwma; }
+        /** Smoothed player count, or -1 before the first successful ping. */
+        public double getPlayers() { return playersEwma; }
+        public int getMaxPlayers() { return maxPlayers; }
+        public int getFailureStreak() { return failureStreak; }
+        public long getLastSuccess() { return lastSuccess; }
+    }
+
+    private static final double EWMA_ALPHA = 0.3;
+    private static final long TICK_SECONDS = 1;
+    private static final int DEFAULT_INTERVAL_SECONDS = 5;
+    private static final int DEFAULT_TIMEOUT_MILLIS = 2000;
+    private static final int DEFAULT_DEAD_AFTER_FAILURES = 3;
+    private static final double DEFAULT_OVERLOAD_RATIO = 0.95;
+
+    private final BeaconLabsVelocity plugin;
+    private final ProxyServer server;
+    private final Logger logger;
+    private final Map<String, Health> health = new ConcurrentHashMap<>();
+    private ScheduledTask probeTask;
+
+    private volatile long intervalMillis = TimeUnit.SECONDS.toMillis(DEFAULT_INTERVAL_SECONDS);
+    private volatile long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+    private volatile int deadAfterFailures = DEFAULT_DEAD_AFTER_FAILURES;
+    private volatile double overloadRatio = DEFAULT_OVERLOAD_RATIO;
+    private volatile boolean powerOfTwo = true;
+    private volatile Map<String, List<String>> groups = Collections.emptyMap();
+
+    public BackendHealthService(BeaconLabsVelocity plugin, ProxyServer server, Logger logger) {
+        this.plugin = plugin;
+        this.server = server;
+        this.logger = logger;
+    }
+
+    public void start() {
+        probeTask = server.getScheduler().buildTask(plugin, this::probeDue)
+                .repeat(TICK_SECONDS, TimeUnit.SECONDS)
+                .schedule();
+    }
+
+    public void shutdown() {
+        if (probeTask != null) {
+            probeTask.cancel();
+            probeTask = null;
+        }
+    }
+
+    /**
+     * Apply the {@code health} and {@code lobby-groups} sections of servers.yml.
+     */
+    public void loadConfig(ConfigurationNode config) {
+        if (config == null) return;
+        ConfigurationNode node = config.node("health");
+        intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(1, node.node("probe-interval-seconds").getInt(DEFAULT_INTERVAL_SECONDS)));
+        timeoutMillis = Math.max(100, node.node("probe-timeout-millis").getInt(DEFAULT_TIMEOUT_MILLIS));
+        deadAfterFailures = Math.max(1, node.node("dead-after-failures").getInt(DEFAULT_DEAD_AFTER_FAILURES));
+        overloadRatio = Math.max(0.1, node.node("overload-ratio").getDouble(DEFAULT_OVERLOAD_RATIO));
+        powerOfTwo = !"least-loaded".equalsIgnoreCase(node.node("selection").getString("power-of-two"));
+
+        Map<String, List<String>> loaded = new HashMap<>();
+        for (Map.Entry<Object, ? extends ConfigurationNode> entry : config.node("lobby-groups").childrenMap().entrySet()) {
+            try {
+                List<String> servers = entry.getValue().getList(String.class, Collections.emptyList());
+                if (!servers.isEmpty()) {
+                    loaded.put(entry.getKey().toString().toLowerCase(Locale.ROOT), List.copyOf(servers));
+                }
+            } catch (SerializationException e) {
+                logger.warn("Invalid lobby group '{}' in servers.yml: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        groups = Collections.unmodifiableMap(loaded);
+        logger.info("Loaded {} lobby group(s) for backend health routing.", loaded.size());
+    }
+
+    /**
+     * Pick a server from a lobby group for a player. A player already on a usable server of the group stays there.
+     * Groups not in servers.yml fall back to {@code <group>-server} from config.yml (e.g. {@code lobby-server}).
+     *
+     * @return the server, or empty if the group has no server that is alive and not full
+     */
+    public Optional<RegisteredServer> selectFromGroup(String group, Player player) {
+        List<RegisteredServer> candidates = new ArrayList<>();
+        for (String name : getGroup(group)) {
+            server.getServer(name).filter(this::isUsable).ifPresent(candidates::add);
+        }
+        if (candidates.isEmpty()) return Optional.empty();
+        if (player != null) {
+            Optional<RegisteredServer> current = player.getCurrentServer().map(connection -> connection.getServer());
+            if (current.isPresent() && candidates.contains(current.get())) return current;
+        }
+        RegisteredServer chosen;
+        if (candidates.size() == 1) {
+            chosen = candidates.get(0);
+        } else if (powerOfTwo) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) second++;
+            chosen = lessLoaded(candidates.get(first), candidates.get(second));
+        } else {
+            chosen = candidates.get(0);
+            for (int i = 1; i < candidates.size(); i++) {
+                chosen = lessLoaded(chosen, candidates.get(i));
+            }
+        }
+        Health chosenHealth = healthOf(chosen);
+        chosenHealth.assignedSinceProbe.incrementAndGet();
+        return Optional.of(chosen);
+    }
+
+    /** The first server in {@code names} that is alive and not full, e.g. from Velocity's try list. */
+    public Optional<RegisteredServer> firstUsable(List<String> names) {
+        for (String name : names) {
+            Optional<RegisteredServer> registered = server.getServer(name).filter(this::isUsable);
+            if (registered.isPresent()) return registered;
+        }
+        return Optional.empty();
+    }
+
+    /** Server names in a lobby group, in configured order. */
+    public List<String> getGroup(String group) {
+        String key = group.toLowerCase(Locale.ROOT);
+        List<String> configured = groups.get(key);
+        if (configured != null) return configured;
+        return List.of(plugin.getConfig().node(key + "-server").getString(key));
+    }
+
+    /** False if the server failed too many pings in a row or is at its overload ratio. Unprobed servers count as usable. */
+    public boolean isUsable(RegisteredServer registered) {
+        Health h = health.get(key(registered));
+        if (h == null) return true;
+        if (h.failureStreak >= deadAfterFailures) return false;
+        return h.maxPlayers <= 0 || load(h) < overloadRatio * h.maxPlayers;
+    }
+
+    public Optional<Health> getHealth(String serverName) {
+        return Optional.ofNullable(health.get(serverName.toLowerCase(Locale.ROOT)));
+    }
+
+    public List<String> getDebugInfo() {
+        List<String> lines = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (RegisteredServer registered : server.getAllServers()) {
+            Health h = health.get(key(registered));
+            if (h == null) continue;
+            String state = h.failureStreak >= deadAfterFailures ? "DEAD" : isUsable(registered) ? "OK" : "FULL";
+            lines.add("[Health] " + h.serverName + " | " + state
+                    + " | ping: " + (h.latencyEwma < 0 ? "-" : Math.round(h.latencyEwma) + "ms")
+                    + " | players: " + (h.playersEwma < 0 ? "-" : Math.round(h.playersEwma) + "/" + h.maxPlayers)
+                    + " | failures: " + h.failureStreak
+                    + (h.lastSuccess > 0 ? " | last ok: " + (now - h.lastSuccess) / 1000 + "s ago" : ""));
+        }
+        return lines;
+    }
+
+    private RegisteredServer lessLoaded(RegisteredServer a, RegisteredServer b) {
+        Health ha = healthOf(a);
+        Health hb = healthOf(b);
+        double loadA = relativeLoad(ha);
+        double loadB = relativeLoad(hb);
+        if (loadA != loadB) return loadA < loadB ? a : b;
+        return Math.max(ha.latencyEwma, 0) <= Math.max(hb.latencyEwma, 0) ? a : b;
+    }
+
+    /** Players (smoothed, plus those sent since the last ping) as a share of max players when known. */
+    private static double relativeLoad(Health h) {
+        double players = load(h);
+        return h.maxPlayers > 0 ? players / h.maxPlayers : players;
+    }
+
+    private static double load(Health h) {
+        return Math.max(h.playersEwma, 0) + h.assignedSinceProbe.get();
+    }
+
+    private Health healthOf(RegisteredServer registered) {
+        return health.computeIfAbsent(key(registered), k -> new Health(registered.getServerInfo().getName()));
+    }
+
+    private static String key(RegisteredServer registered) {
+        return registered.getServerInfo().getName().toLowerCase(Locale.ROOT);
+    }
+
+    private void probeDue() {
+        long now = System.currentTimeMillis();
+        for (RegisteredServer registered : server.getAllServers()) {
+            Health h = healthOf(registered);
+            if (now - h.lastProbe < intervalMillis || !h.probing.compareAndSet(false, true)) continue;
+            h.lastProbe = now;
+            long start = System.nanoTime();
+            registered.ping().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((ping, error) -> {
+                try {
+                    if (error != null) {
+                        recordFailure(h);
+                    } else {
+                        recordSuccess(h, registered, ping, (System.nanoTime() - start) / 1_000_000.0);
+                    }
+                } finally {
+                    h.probing.set(false);
+                }
+            });
+        }
+        // Forget servers that were unregistered
+        if (health.size() > server.getAllServers().size()) {
+            health.keySet().removeIf(name -> server.getServer(name).isEmpty());
+        }
+    }
+
+    private void recordSuccess(Health h, RegisteredServer registered, ServerPing ping, double latencyMillis) {
+        int online = ping.getPlayers().map(ServerPing.Players::getOnline).orElse(registered.getPlayersConnected().size());
+        h.maxPlayers = ping.getPlayers().map(ServerPing.Players::getMax).orElse(0);
+        h.latencyEwma = h.latencyEwma < 0 ? latencyMillis : EWMA_ALPHA * latencyMillis + (1 - EWMA_ALPHA) * h.latencyEwma;
+        h.playersEwma = h.playersEwma < 0 ? online : EWMA_ALPHA * online + (1 - EWMA_ALPHA) * h.playersEwma;
+        h.assignedSinceProbe.set(0);
+        h.lastSuccess = System.currentTimeMillis();
+        if (h.failureStreak >= deadAfterFailures) {
+            logger.info("[Health] Backend {} is reachable again.", h.serverName);
+        }
+        h.failureStreak = 0;
+    }
+
+    private void recordFailure(Health h) {
+        int streak = ++h.failureStreak;
+        if (streak == deadAfterFailures) {
+            logger.warn("[Health] Backend {} failed {} pings in a row; not sending players there.", h.serverName, streak);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.crossproxy.CrossProxyService;
+import org.bcnlab.beaconLabsVelocity.database.DatabaseManager;
+import org.bcnlab.beaconLabsVelocity.util.BadWordMatcher;
+import org.slf4j.Logger;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Owns the bad-word dictionary used by the chat filter. The compiled {@link BadWordMatcher} is rebuilt on a
+ * scheduler thread and swapped in as a whole, so chat never waits on a rebuild.
+ * <p>
+ * Words come from {@code badwords.yml}, which is watched for changes, and optionally from a store shared by all
+ * proxies ({@code source: redis} or {@code source: database}). With a shared source, words added to the local
+ * file are merged into the store and the other proxies are told to rebuild via cross-proxy messaging. Words
+ * removed from the file while the proxy runs are removed from the store the same way; a word another proxy's
+ * file still lists comes back the next time that file changes. Edits made while the proxy was stopped are
+ * only seen as additions.
+ */
+public class BadWordService {
+
+    public enum Source { FILE, REDIS, DATABASE }
+
+    private static final String FILE_NAME = "badwords.yml";
+    /** Editors often write a file in several steps; wait until it has been quiet this long. */
+    private static final long WATCH_DEBOUNCE_MS = 500L;
+    private static final int MAX_WORD_LENGTH = 128;
+
+    private final BeaconLabsVelocity plugin;
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+    private final Path badWordsFile;
+
+    private volatile BadWordMatcher matcher = BadWordMatcher.empty();
+    private volatile Source source = Source.FILE;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    /** Set when the local file changed and its words still have to be merged into the shared store. */
+    private final AtomicBoolean filePushPending = new AtomicBoolean();
+    /** File words last synced with the shared store (or loaded at startup); removals are diffed against this. */
+    private volatile Set<String> syncedFileWords = Set.of();
+
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public BadWordService(BeaconLabsVelocity plugin, DatabaseManager databaseManager, Logger logger) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+        this.badWordsFile = plugin.getDataDirectory().resolve(FILE_NAME);
+
+        // Filter with the local file right away; shared words follow with the first background rebuild
+        List<String> fileWords = loadFileWords();
+        syncedFileWords = new HashSet<>(fileWords);
+        matcher = BadWordMatcher.compile(fileWords);
+        if (source != Source.FILE) {
+            requestRebuild(true);
+        }
+        startWatching();
+    }
+
+    /** The current matcher. Never null; replaced as a whole on rebuild. */
+    public BadWordMatcher getMatcher() {
+        return matcher;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /** Re-read the file (and the shared store) and rebuild, e.g. on proxy reload. */
+    public void reload() {
+        requestRebuild(true);
+    }
+
+    /** Rebuild from the current sources without re-publishing the local file, e.g. when another proxy changed the store. */
+    public void requestRebuild() {
+        requestRebuild(false);
+    }
+
+    public void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) { }
+            watchService = null;
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+    }
+
+    private void requestRebuild(boolean fileChanged) {
+        if (fileChanged) filePushPending.set(true);
+        rebuildRequested.set(true);
+        if (rebuilding.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().buildTask(plugin, this::runRebuilds).schedule();
+        }
+    }
+
+    /** Runs until no rebuild is requested; requests made during a rebuild are coalesced into one more pass. */
+    private void runRebuilds() {
+        try {
+            while (rebuildRequested.getAndSet(false)) {
+                rebuild(filePushPending.getAndSet(false));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to rebuild bad-word dictionary", e);
+        } finally {
+            rebuilding.set(false);
+        }
+        // A request may have arrived between the last check and releasing the flag
+        if (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().buildTask(plugin, this::runRebuilds).schedule();
+        }
+    }
+
+    private void rebuild(boolean fileChanged) {
+        List<String> fileWords = loadFileWords();
+        Set<String> words = new LinkedHashSet<>(fileWords);
+        List<String> removedFromFile = new ArrayList<>(syncedFileWords);
+        removedFromFile.removeAll(words);
+        int pushed = 0;
+        Source current = source;
+        if (current == Source.FILE) {
+            syncedFileWords = new HashSet<>(fileWords);
+        } else if (current == Source.REDIS) {
+            CrossProxyService crossProxy = plugin.getCrossProxyService();
+            if (crossProxy != null && crossProxy.isEnabled()) {
+                if (fileChanged) {
+                    pushed = crossProxy.addSharedBadWords(fileWords) + crossProxy.removeSharedBadWords(removedFromFile);
+                    syncedFileWords = new HashSet<>(fileWords);
+                }
+                Set<String> shared = crossProxy.getSharedBadWords();
+                if (shared != null) words.addAll(shared);
+            } else {
+                logger.warn("Bad-word source is redis but cross-proxy is not enabled; using {} only.", FILE_NAME);
+            }
+        } else if (current == Source.DATABASE) {
+            if (databaseManager != null && databaseManager.isConnected()) {
+                if (fileChanged) {
+                    pushed = insertDatabaseWords(fileWords) + deleteDatabaseWords(removedFromFile);
+                    syncedFileWords = new HashSet<>(fileWords);
+                }
+                words.addAll(loadDatabaseWords());
+            } else {
+                logger.warn("Bad-word source is database but the database is not connected; using {} only.", FILE_NAME);
+            }
+        }
+
+        matcher = BadWordMatcher.compile(words);
+        logger.info("Bad-word dictionary rebuilt: {} words (source: {}).", matcher.size(), current.name().toLowerCase(Locale.ROOT));
+
+        if (pushed > 0) {
+            CrossProxyService crossProxy = plugin.getCrossProxyService();
+            if (crossProxy != null && crossProxy.isEnabled()) {
+                crossProxy.publishBadWordsUpdated();
+            }
+        }
+    }
+
+    /** Words from badwords.yml; also picks up the configured source. Copies the default file if missing. */
+    private List<String> loadFileWords() {
+        try {
+            if (!Files.exists(badWordsFile)) {
+                Files.createDirectories(badWordsFile.getParent());
+                Files.copy(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(FILE_NAME)), badWordsFile);
+            }
+            ConfigurationNode root = YamlConfigurationLoader.builder().path(badWordsFile).build().load();
+            source = parseSource(root.node("source").getString("file"));
+            List<String> raw = root.node("badwords").getList(String.class);
+            return sanitize(raw != null ? raw : List.of());
+        } catch (IOException e) {
+            logger.error("Failed to load bad words file", e);
+            return List.of();
+        }
+    }
+
+    private Source parseSource(String value) {
+        try {
+            return Source.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown bad-word source '{}' in {}; using file.", value, FILE_NAME);
+            return Source.FILE;
+        }
+    }
+
+    private static List<String> sanitize(Collection<String> raw) {
+        List<String> out = new ArrayList<>(raw.size());
+        for (String word : raw) {
+            if (word == null) continue;
+            String trimmed = word.trim();
+            if (!trimmed.isEmpty() && trimmed.length() <= MAX_WORD_LENGTH) out.add(trimmed);
+        }
+        return out;
+    }
+
+    private List<String> loadDatabaseWords() {
+        List<String> out = new ArrayList<>();
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT word FROM chat_badwords");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                out.add(rs.getString("word"));
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load bad words from database", e);
+        }
+        return out;
+    }
+
+    /** Returns how many words were new to the table. */
+    private int insertDatabaseWords(List<String> words) {
+        if (words.isEmpty()) return 0;
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("INSERT IGNORE INTO chat_badwords (word, added_at) VALUES (?, ?)")) {
+            long now = System.currentTimeMillis();
+            for (String word : words) {
+                stmt.setString(1, word);
+                stmt.setLong(2, now);
+                stmt.addBatch();
+            }
+            int added = 0;
+            for (int count : stmt.executeBatch()) {
+                // SUCCESS_NO_INFO: the driver did not report whether the row was new; count it so peers rebuild
+                if (count != 0 && count != Statement.EXECUTE_FAILED) added++;
+            }
+            return added;
+        } catch (SQLException e) {
+            logger.error("Failed to store bad words in database", e);
+            return 0;
+        }
+    }
+
+    /** Returns how many of the words were removed from the table. */
+    private int deleteDatabaseWords(List<String> words) {
+        if (words.isEmpty()) return 0;
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM chat_badwords WHERE word = ?")) {
+            for (String word : words) {
+                stmt.setString(1, word);
+                stmt.addBatch();
+            }
+            int removed = 0;
+            for (int count : stmt.executeBatch()) {
+                if (count != 0 && count != Statement.EXECUTE_FAILED) removed++;
+            }
+            return removed;
+        } catch (SQLException e) {
+            logger.error("Failed to remove bad words from database", e);
+            return 0;
+        }
+    }
+
+    private void startWatching() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            // Watch the directory: editors often replace the file instead of writing it in place
+            badWordsFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.warn("Could not watch {} for changes; use /velocity reload to apply edits: {}", FILE_NAME, e.getMessage());
+            return;
+        }
+        WatchService watcher = watchService;
+        watchThread = new Thread(() -> watchLoop(watcher), "BeaconLabs-BadWords-Watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watchLoop(WatchService watcher) {
+        try {
+            while (true) {
+                boolean touched = drain(watcher.take());
+                WatchKey more;
+                while (touched && (more = watcher.poll(WATCH_DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(more);
+                }
+                if (touched) {
+                    logger.info("{} changed; rebuilding bad-word dictionary.", FILE_NAME);
+                    requestRebuild(true);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // shutdown
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && path.getFileName().toString().equals(FILE_NAME)) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+}
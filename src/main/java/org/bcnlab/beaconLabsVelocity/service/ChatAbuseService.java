@@ -0,0 +1,259 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.player.PlayerChatEvent;
+import com.velocitypowered.api.proxy.Player;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.config.AbuseConfig;
+import org.bcnlab.beaconLabsVelocity.util.DurationUtils;
+import org.bcnlab.beaconLabsVelocity.util.SimHash;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat flood and spam engine for public chat, /msg, team chat and /joinme. Each player has:
+ * <ul>
+ *   <li>a token bucket shared by all channels ({@code rate-per-second}, {@code burst}),</li>
+ *   <li>a fixed-window message counter per channel ({@code burst-limits}),</li>
+ *   <li>a ring of recent message SimHashes; a message close to too many recent ones is a duplicate.</li>
+ * </ul>
+ * A blocked message counts as a violation. Violations within {@code violation-window-seconds} escalate:
+ * staff with {@code beaconlabs.antiabuse} are alerted, then the player is muted through
+ * {@link PunishmentService}. Settings live in the {@code abuse.chat} section of {@code abuse.yml}.
+ * <p>
+ * State is allocated once per player on their first message; checking a message is O(1) and allocates nothing.
+ */
+public class ChatAbuseService {
+
+    public enum Channel {
+        CHAT("chat"), MSG("msg"), TEAM_CHAT("teamchat"), JOINME("joinme");
+
+        private final String configKey;
+
+        Channel(String configKey) {
+            this.configKey = configKey;
+        }
+
+        public String getConfigKey() {
+            return configKey;
+        }
+    }
+
+    public static final String BYPASS_PERMISSION = "beaconlabs.chat.bypassspam";
+    private static final String ISSUER_NAME = "AutoMod";
+
+    /** Token amounts are stored in millionths so refills need no floating point. */
+    private static final long UNIT = 1_000_000L;
+    private static final int RECENT_MESSAGES = 8;
+    private static final long NOTICE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(2);
+    /** Sent for a blocked command while the verbose notice is on cooldown, so the sender knows it failed. */
+    private static final String SHORT_NOTICE = "Not sent: slow down.";
+    private static final long DEFAULT_MUTE_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private enum Verdict { ALLOW, RATE, BURST, DUPLICATE }
+
+    private final BeaconLabsVelocity plugin;
+    private final AbuseConfig config;
+    private final Logger logger;
+    private final Map<UUID, PlayerState> states = new ConcurrentHashMap<>();
+
+    public ChatAbuseService(BeaconLabsVelocity plugin, AbuseConfig config, Logger logger) {
+        this.plugin = plugin;
+        this.config = config;
+        this.logger = logger;
+    }
+
+    public boolean isEnabled() {
+        return config.isModuleEnabled() && config.isChatEnabled();
+    }
+
+    @SuppressWarnings("deprecation") // setResult is deprecated but necessary here
+    @Subscribe(order = PostOrder.EARLY)
+    public void onPlayerChat(PlayerChatEvent event) {
+        if (!event.getResult().isAllowed()) return; // already blocked, e.g. muted
+        if (!allow(event.getPlayer(), Channel.CHAT, event.getMessage())) {
+            event.setResult(PlayerChatEvent.ChatResult.denied());
+        }
+    }
+
+    @Subscribe
+    public void onDisconnect(DisconnectEvent event) {
+        states.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Check one message on a channel. When it is blocked the player has already been told, and the violation
+     * has been counted and escalated if needed. The verbose notice is rate-limited; a blocked command
+     * ({@code /msg}, {@code /r}, {@code /teamchat}, {@code /joinme}) gets a short one in between.
+     *
+     * @param message the text, or null for channels without text (e.g. /joinme); null skips duplicate checks
+     * @return true if the message may go through
+     */
+    public boolean allow(Player player, Channel channel, String message) {
+        if (!isEnabled() || player.hasPermission(BYPASS_PERMISSION)) return true;
+        PlayerState state = states.computeIfAbsent(player.getUniqueId(), id -> new PlayerState());
+        long now = System.nanoTime();
+        Verdict verdict;
+        int violations;
+        boolean notify;
+        synchronized (state) {
+            verdict = state.check(channel, message, now);
+            if (verdict == Verdict.ALLOW) return true;
+            violations = state.recordViolation(now);
+            notify = now - state.lastNotice >= NOTICE_COOLDOWN_NANOS;
+            if (notify) state.lastNotice = now;
+        }
+        if (notify) {
+            player.sendMessage(plugin.getPrefix(player).append(Component.text(noticeFor(verdict), NamedTextColor.RED)));
+        } else if (channel != Channel.CHAT) {
+            player.sendMessage(Component.text(SHORT_NOTICE, NamedTextColor.RED));
+        }
+        escalate(player, channel, verdict, violations);
+        return false;
+    }
+
+    private static String noticeFor(Verdict verdict) {
+        return switch (verdict) {
+            case DUPLICATE -> "Please don't repeat the same message.";
+            case BURST -> "You are sending too many messages. Please slow down.";
+            default -> "You are sending messages too fast.";
+        };
+    }
+
+    private void escalate(Player player, Channel channel, Verdict verdict, int violations) {
+        int muteAfter = config.getMuteAfterViolations();
+        if (muteAfter > 0 && violations == muteAfter) {
+            mute(player, channel, verdict);
+        } else if (config.getAlertAfterViolations() > 0 && violations == config.getAlertAfterViolations()) {
+            plugin.getStaffAudienceService().broadcast(StaffAudienceService.ANTI_ABUSE, plugin.getPrefix().append(
+                    Component.text("[Chat] ", NamedTextColor.RED)
+                            .append(Component.text(player.getUsername(), NamedTextColor.GOLD))
+                            .append(Component.text(" is spamming (" + describe(channel, verdict) + ", " + violations + " blocked messages).", NamedTextColor.GRAY))));
+        }
+    }
+
+    private void mute(Player player, Channel channel, Verdict verdict) {
+        PunishmentService punishmentService = plugin.getPunishmentService();
+        if (punishmentService == null) return;
+        long durationMs = DurationUtils.parseDuration(config.getMuteDuration());
+        if (durationMs <= 0) durationMs = DEFAULT_MUTE_MS; // never mute permanently by accident
+        long duration = durationMs;
+        String reason = "Chat spam (" + describe(channel, verdict) + ")";
+        UUID uuid = player.getUniqueId();
+        String name = player.getUsername();
+        plugin.getServer().getScheduler().buildTask(plugin, () -> {
+            try {
+                punishmentService.punish(uuid, name, null, ISSUER_NAME, "mute", duration, reason);
+                if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
+                    plugin.getCrossProxyService().publishMuteApplied(uuid, reason, DurationUtils.formatDuration(duration));
+                }
+                logger.info("[ChatAbuse] Muted {} for {}: {}", name, DurationUtils.formatDuration(duration), reason);
+            } catch (Exception e) {
+                logger.error("Failed to auto-mute " + name, e);
+            }
+        }).schedule();
+    }
+
+    private static String describe(Channel channel, Verdict verdict) {
+        String what = switch (verdict) {
+            case DUPLICATE -> "repeated messages";
+            case BURST -> "message burst";
+            default -> "rate limit";
+        };
+        return what + " in " + channel.getConfigKey();
+    }
+
+    private long burstUnits() {
+        return Math.max(1, Math.min(1000, config.getChatBurst())) * UNIT;
+    }
+
+    /** Per-player state; guarded by its own monitor. */
+    private final class PlayerState {
+        long tokens;
+        long lastRefill;
+        final long[] channelWindowStart = new long[Channel.values().length];
+        final int[] channelCount = new int[Channel.values().length];
+        final long[] recentHashes = new long[RECENT_MESSAGES];
+        final long[] recentTimes = new long[RECENT_MESSAGES];
+        int recentNext;
+        final int[] scratch = new int[SimHash.SCRATCH_SIZE];
+        int violations;
+        long violationWindowStart;
+        long lastNotice;
+
+        PlayerState() {
+            long now = System.nanoTime();
+            this.tokens = burstUnits();
+            this.lastRefill = now;
+            this.lastNotice = now - NOTICE_COOLDOWN_NANOS;
+        }
+
+        Verdict check(Channel channel, String message, long now) {
+            // Token bucket across all channels
+            long burstUnits = burstUnits();
+            long unitsPerSecond = Math.max(1L, Math.round(config.getChatRatePerSecond() * UNIT));
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                long refillNanos = burstUnits * 1_000_000_000L / unitsPerSecond;
+                tokens = elapsed >= refillNanos ? burstUnits : Math.min(burstUnits, tokens + elapsed * unitsPerSecond / 1_000_000_000L);
+                lastRefill = now;
+            }
+            if (tokens < UNIT) return Verdict.RATE;
+
+            // Fixed-window burst counter for this channel
+            int limit = config.getBurstLimit(channel.getConfigKey());
+            int c = channel.ordinal();
+            if (limit > 0) {
+                long window = TimeUnit.SECONDS.toNanos(Math.max(1, config.getBurstWindowSeconds()));
+                if (now - channelWindowStart[c] >= window) {
+                    channelWindowStart[c] = now;
+                    channelCount[c] = 0;
+                }
+                if (channelCount[c] >= limit) return Verdict.BURST;
+            }
+
+            // Near-duplicates among recent messages
+            if (message != null && config.getDuplicateLimit() > 0) {
+                long hash = SimHash.hash(message, scratch);
+                if (hash != 0L) {
+                    long window = TimeUnit.SECONDS.toNanos(Math.max(1, config.getDuplicateWindowSeconds()));
+                    int maxDistance = config.getDuplicateDistance();
+                    int similar = 0;
+                    for (int i = 0; i < RECENT_MESSAGES; i++) {
+                        if (recentTimes[i] != 0L && now - recentTimes[i] < window
+                                && SimHash.distance(recentHashes[i], hash) <= maxDistance) {
+                            similar++;
+                        }
+                    }
+                    // Remember blocked repeats too, so continued spam stays blocked
+                    recentHashes[recentNext] = hash;
+                    recentTimes[recentNext] = now;
+                    recentNext = (recentNext + 1) % RECENT_MESSAGES;
+                    if (similar >= config.getDuplicateLimit()) return Verdict.DUPLICATE;
+                }
+            }
+
+            tokens -= UNIT;
+            channelCount[c]++;
+            return Verdict.ALLOW;
+        }
+
+        /** Count a violation and return how many there are in the current violation window. */
+        int recordViolation(long now) {
+            long window = TimeUnit.SECONDS.toNanos(Math.max(1, config.getViolationWindowSeconds()));
+            if (violations == 0 || now - violationWindowStart >= window) {
+                violations = 0;
+                violationWindowStart = now;
+            }
+            return ++violations;
+        }
+    }
+}
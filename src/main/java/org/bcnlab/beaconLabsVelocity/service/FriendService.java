@@ -172,6 +172,20 @@ public class FriendService {
         return requests;
     }
 
+    /**
+     * Friends of the player that are connected to this proxy. Loads the player's friend set once and resolves
+     * each entry through the proxy's UUID index, so the cost scales with the friend count, not the player count.
+     */
+    public List<Player> getOnlineFriends(UUID player) {
+        List<UUID> friends = getFriends(player);
+        if (friends.isEmpty()) return List.of();
+        List<Player> online = new ArrayList<>();
+        for (UUID friend : friends) {
+            proxy.getPlayer(friend).ifPresent(online::add);
+        }
+        return online;
+    }
+
     public boolean areFriends(UUID uuid1, UUID uuid2) {
         return getFriends(uuid1).contains(uuid2);
     }
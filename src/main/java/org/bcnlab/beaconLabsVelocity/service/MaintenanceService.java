@@ -93,6 +93,7 @@ public class MaintenanceService {
             maintenanceMode.set(plugin.getConfig().node("maintenance", "enabled").getBoolean(false));
         }
         
+        invalidatePingCache();
         logger.info("Maintenance mode is " + (maintenanceMode.get() ? "enabled" : "disabled"));
     }
       /**
@@ -102,6 +103,7 @@ public class MaintenanceService {
         try {
             // Update the current state in memory first
             maintenanceMode.set(enabled);
+            invalidatePingCache();
             
             // Also update the config node for future loads
             if (plugin.getConfig() != null) {
@@ -378,6 +380,7 @@ public class MaintenanceService {
      */
     public void setMaintenanceMOTD(String newMOTD) {
         this.maintenanceMOTD = newMOTD;
+        invalidatePingCache();
         
         // Update config if possible
         try {
@@ -403,6 +406,15 @@ public class MaintenanceService {
         }
     }
     
+    /**
+     * Drop cached server list responses so the next ping picks up the current maintenance state/MOTD
+     */
+    private void invalidatePingCache() {
+        if (plugin.getPingListener() != null) {
+            plugin.getPingListener().invalidateCache();
+        }
+    }
+
     /**
      * Get kick message for maintenance mode
      */
@@ -0,0 +1,336 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import com.velocitypowered.api.command.CommandSource;
+import com.velocitypowered.api.proxy.ConnectionRequestBuilder;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Throttled mass sends for {@code /send all}, {@code /send <server> <server>} and their cross-proxy variants.
+ * <p>
+ * Players are queued per target server and admitted at {@code mass-send.rate-per-second}. At most a window of
+ * connections per target is in flight at once: the window grows by about one per round of successful
+ * connections up to {@code mass-send.max-in-flight} and halves when the backend fails a connection. Failed
+ * connections are retried up to {@code mass-send.max-attempts} times with exponential backoff and jitter.
+ * <p>
+ * Progress goes to a listener every few seconds and once the send is done. For sends started on another proxy
+ * the listener publishes it back, and {@link #handleNetworkProgress} shows it to the issuer there.
+ * <p>
+ * A lane with nothing queued, in flight or waiting for a retry is dropped after {@link #LANE_IDLE_MILLIS}, so
+ * servers that were only sent to once (or were removed from the proxy) do not keep state forever.
+ */
+public class MassTransferService {
+
+    /** Progress of one mass send on one proxy. {@code skipped} players left before their turn. */
+    public record Progress(int total, int sent, int failed, int skipped, boolean done) {}
+
+    private static final long TICK_MILLIS = 50L;
+    private static final long PROGRESS_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final long ISSUER_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long LANE_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    private static final int DEFAULT_RATE_PER_SECOND = 20;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 40;
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_DELAY_MILLIS = 1000L;
+
+    private final BeaconLabsVelocity plugin;
+    private final Logger logger;
+    /** Admission lanes by lower-case target server name. */
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Set<Job> jobs = ConcurrentHashMap.newKeySet();
+    /** Issuers of sends started from this proxy across the network, by job ID. */
+    private final Map<String, NetworkIssuer> issuers = new ConcurrentHashMap<>();
+    private ScheduledTask tickTask;
+
+    private record NetworkIssuer(UUID playerUuid, long createdAt) {}
+
+    public MassTransferService(BeaconLabsVelocity plugin, Logger logger) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.tickTask = plugin.getServer().getScheduler().buildTask(plugin, this::tick)
+                .repeat(TICK_MILLIS, TimeUnit.MILLISECONDS)
+                .schedule();
+    }
+
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        lanes.clear();
+        jobs.clear();
+        issuers.clear();
+    }
+
+    /**
+     * Queue players for a throttled send to {@code target}. Never blocks.
+     *
+     * @param listener receives progress every few seconds and once all players are handled; may be null
+     */
+    public void send(RegisteredServer target, Collection<Player> players, Consumer<Progress> listener) {
+        String targetName = target.getServerInfo().getName();
+        Job job = new Job(players.size(), listener);
+        if (players.isEmpty()) {
+            job.report(true);
+            return;
+        }
+        jobs.add(job);
+        String key = targetName.toLowerCase(Locale.ROOT);
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, k -> new Lane(target));
+            synchronized (lane) {
+                if (lane.retired) continue; // expired between lookup and lock; take the replacement
+                for (Player player : players) {
+                    lane.queue.addLast(new Transfer(player, job));
+                }
+                break;
+            }
+        }
+        logger.info("[MassSend] Queued {} player(s) for {}.", players.size(), targetName);
+    }
+
+    /**
+     * Remember who started a network-wide send so progress from other proxies reaches them.
+     *
+     * @return the job ID to publish with the send
+     */
+    public String trackNetworkSend(CommandSource issuer) {
+        String jobId = UUID.randomUUID().toString();
+        UUID playerUuid = issuer instanceof Player ? ((Player) issuer).getUniqueId() : null;
+        issuers.put(jobId, new NetworkIssuer(playerUuid, System.currentTimeMillis()));
+        return jobId;
+    }
+
+    /** Show progress reported by a proxy for a network-wide send started here. */
+    public void handleNetworkProgress(String jobId, String fromProxyId, String targetName, Progress progress) {
+        NetworkIssuer issuer = jobId != null ? issuers.get(jobId) : null;
+        if (issuer == null || progress == null) return;
+        CommandSource source = issuer.playerUuid() != null
+                ? plugin.getServer().getPlayer(issuer.playerUuid()).orElse(null)
+                : plugin.getServer().getConsoleCommandSource();
+        if (source == null) return;
+        source.sendMessage(plugin.getPrefix(source).append(describe(fromProxyId, targetName, progress)));
+    }
+
+    /** The progress line shown to the issuer; {@code proxyId} is null for sends on this proxy only. */
+    public static Component describe(String proxyId, String targetName, Progress progress) {
+        String where = proxyId != null ? "[" + proxyId + "] " : "";
+        String skipped = progress.skipped() > 0 ? ", " + progress.skipped() + " left" : "";
+        if (progress.done()) {
+            return Component.text(where + "Sent " + progress.sent() + "/" + progress.total() + " player(s) to "
+                    + targetName + " (" + progress.failed() + " failed" + skipped + ").",
+                    progress.failed() > 0 ? NamedTextColor.YELLOW : NamedTextColor.GREEN);
+        }
+        return Component.text(where + "Sending to " + targetName + ": " + progress.sent() + "/" + progress.total()
+                + " sent, " + progress.failed() + " failed" + skipped + "...", NamedTextColor.GRAY);
+    }
+
+    public List<String> getDebugInfo() {
+        List<String> lines = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                if (lane.queue.isEmpty() && lane.inFlight == 0) continue;
+                lines.add("[MassSend] " + lane.server.getServerInfo().getName() + " | queued: " + lane.queue.size()
+                        + " | in flight: " + lane.inFlight + " | window: " + (int) lane.window);
+            }
+        }
+        return lines;
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        int ratePerSecond = Math.max(1, plugin.getConfig().node("mass-send", "rate-per-second").getInt(DEFAULT_RATE_PER_SECOND));
+        int maxInFlight = Math.max(1, plugin.getConfig().node("mass-send", "max-in-flight").getInt(DEFAULT_MAX_IN_FLIGHT));
+        for (Map.Entry<String, Lane> entry : lanes.entrySet()) {
+            Lane lane = entry.getValue();
+            List<Transfer> admitted = null;
+            synchronized (lane) {
+                if (lane.queue.isEmpty()) {
+                    lane.lastRefill = now;
+                    if (lane.inFlight > 0 || lane.pendingRetries > 0) {
+                        lane.lastActive = now;
+                    } else if (now - lane.lastActive > LANE_IDLE_MILLIS) {
+                        lane.retired = true;
+                        lanes.remove(entry.getKey(), lane);
+                    }
+                    continue;
+                }
+                lane.lastActive = now;
+                // Token bucket holding at most one second of admissions
+                lane.tokens = Math.min(ratePerSecond, lane.tokens + (now - lane.lastRefill) * ratePerSecond / 1000.0);
+                lane.lastRefill = now;
+                lane.window = Math.min(lane.window, maxInFlight);
+                while (!lane.queue.isEmpty() && lane.tokens >= 1.0 && lane.inFlight < (int) lane.window) {
+                    if (admitted == null) admitted = new ArrayList<>();
+                    admitted.add(lane.queue.pollFirst());
+                    lane.tokens -= 1.0;
+                    lane.inFlight++;
+                }
+            }
+            if (admitted != null) {
+                for (Transfer transfer : admitted) {
+                    connect(lane, transfer, maxInFlight);
+                }
+            }
+        }
+        for (Job job : jobs) {
+            if (now - job.lastReport >= PROGRESS_INTERVAL_MILLIS) {
+                job.report(false);
+            }
+        }
+        if (!issuers.isEmpty()) {
+            issuers.values().removeIf(issuer -> now - issuer.createdAt() > ISSUER_TTL_MILLIS);
+        }
+    }
+
+    private void connect(Lane lane, Transfer transfer, int maxInFlight) {
+        Player player = transfer.player;
+        if (!player.isActive()) {
+            complete(lane, transfer, Outcome.SKIPPED, false, maxInFlight);
+            return;
+        }
+        if (player.getCurrentServer().map(s -> s.getServer().equals(lane.server)).orElse(false)) {
+            complete(lane, transfer, Outcome.SENT, false, maxInFlight);
+            return;
+        }
+        transfer.attempts++;
+        player.createConnectionRequest(lane.server).connect().whenComplete((result, error) -> {
+            if (error != null) {
+                retryOrFail(lane, transfer, null, true, maxInFlight);
+                return;
+            }
+            switch (result.getStatus()) {
+                case SUCCESS, ALREADY_CONNECTED -> complete(lane, transfer, Outcome.SENT, true, maxInFlight);
+                // Another plugin vetoed the connection; retrying would not change its mind
+                case CONNECTION_CANCELLED -> complete(lane, transfer, Outcome.FAILED, false, maxInFlight);
+                // The player is already switching servers; not the backend's fault
+                case CONNECTION_IN_PROGRESS -> retryOrFail(lane, transfer, result, false, maxInFlight);
+                default -> retryOrFail(lane, transfer, result, true, maxInFlight);
+            }
+        });
+    }
+
+    private void retryOrFail(Lane lane, Transfer transfer, ConnectionRequestBuilder.Result result, boolean backendFailure, int maxInFlight) {
+        int maxAttempts = Math.max(1, plugin.getConfig().node("mass-send", "max-attempts").getInt(DEFAULT_MAX_ATTEMPTS));
+        if (transfer.attempts >= maxAttempts || !transfer.player.isActive()) {
+            if (result != null && transfer.player.isActive()) {
+                result.getReasonComponent().ifPresent(reason -> transfer.player.sendMessage(
+                        plugin.getPrefix(transfer.player).append(Component.text("Could not connect you to "
+                                + lane.server.getServerInfo().getName() + ": ", NamedTextColor.RED)).append(reason)));
+            }
+            boolean active = transfer.player.isActive();
+            complete(lane, transfer, active ? Outcome.FAILED : Outcome.SKIPPED, active && backendFailure, maxInFlight);
+            return;
+        }
+        synchronized (lane) {
+            lane.inFlight--;
+            lane.pendingRetries++;
+            if (backendFailure) lane.window = Math.max(1.0, lane.window / 2);
+        }
+        long baseDelay = Math.max(50L, plugin.getConfig().node("mass-send", "retry-delay-millis").getLong(DEFAULT_RETRY_DELAY_MILLIS));
+        long delay = (baseDelay << Math.min(transfer.attempts - 1, 5)) + ThreadLocalRandom.current().nextLong(baseDelay);
+        plugin.getServer().getScheduler().buildTask(plugin, () -> {
+            synchronized (lane) {
+                lane.pendingRetries--;
+                lane.queue.addFirst(transfer);
+            }
+        }).delay(delay, TimeUnit.MILLISECONDS).schedule();
+    }
+
+    private enum Outcome { SENT, FAILED, SKIPPED }
+
+    private void complete(Lane lane, Transfer transfer, Outcome outcome, boolean adjustWindow, int maxInFlight) {
+        synchronized (lane) {
+            lane.inFlight--;
+            if (adjustWindow) {
+                lane.window = outcome == Outcome.SENT
+                        ? Math.min(maxInFlight, lane.window + 1.0 / lane.window)
+                        : Math.max(1.0, lane.window / 2);
+            }
+        }
+        Job job = transfer.job;
+        switch (outcome) {
+            case SENT -> job.sent.incrementAndGet();
+            case FAILED -> job.failed.incrementAndGet();
+            default -> job.skipped.incrementAndGet();
+        }
+        if (job.remaining.decrementAndGet() == 0 && jobs.remove(job)) {
+            job.report(true);
+        }
+    }
+
+    /** Players waiting for one target server, with its admission state; guarded by its own monitor. */
+    private final class Lane {
+        final RegisteredServer server;
+        final ArrayDeque<Transfer> queue = new ArrayDeque<>();
+        double tokens = 1.0;
+        long lastRefill = System.currentTimeMillis();
+        int inFlight;
+        /** Transfers waiting out a retry delay; they return to the queue, so the lane must stay. */
+        int pendingRetries;
+        long lastActive = System.currentTimeMillis();
+        /** Set when the lane was dropped as idle; {@link #send} then creates a fresh one. */
+        boolean retired;
+        double window = Math.max(1, plugin.getConfig().node("mass-send", "max-in-flight").getInt(DEFAULT_MAX_IN_FLIGHT) / 4);
+
+        Lane(RegisteredServer server) {
+            this.server = server;
+        }
+    }
+
+    private static final class Transfer {
+        final Player player;
+        final Job job;
+        int attempts;
+
+        Transfer(Player player, Job job) {
+            this.player = player;
+            this.job = job;
+        }
+    }
+
+    private final class Job {
+        final int total;
+        final Consumer<Progress> listener;
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger remaining;
+        volatile long lastReport = System.currentTimeMillis();
+
+        Job(int total, Consumer<Progress> listener) {
+            this.total = total;
+            this.listener = listener;
+            this.remaining = new AtomicInteger(total);
+        }
+
+        void report(boolean done) {
+            lastReport = System.currentTimeMillis();
+            if (listener == null) return;
+            try {
+                listener.accept(new Progress(total, sent.get(), failed.get(), skipped.get(), done));
+            } catch (Exception e) {
+                logger.warn("[MassSend] Progress listener failed: {}", e.getMessage());
+            }
+        }
+    }
+}
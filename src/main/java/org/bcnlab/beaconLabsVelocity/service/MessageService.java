@@ -7,42 +7,73 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.LuckPermsProvider;
 import net.luckperms.api.model.user.User;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Service to handle private messaging between players
+ * Service to handle private messaging between players.
+ * <p>
+ * Messages to players on another proxy go only to the proxy hosting the recipient, as raw text plus sender
+ * metadata; that proxy checks the recipient's privacy setting, renders the message and answers with a
+ * {@link DeliveryStatus}. Reply targets live in one map bounded by size and time-to-live.
+ * <p>
+ * The prefix and name section of each player is rendered once and cached, so formatting a message only wraps
+ * the message text. Local players are cached by UUID until LuckPerms recalculates their data or they quit;
+ * players on other proxies are cached by name until the shared prefix snapshot shows their prefix changed.
  */
 public class MessageService {
+    /** Outcome of delivering a private message, as answered by the proxy hosting the recipient. */
+    public enum DeliveryStatus { DELIVERED, OFFLINE, BLOCKED, FRIENDS_ONLY, TIMEOUT }
+
+    /** Who {@code /r} answers: the last conversation partner, on any proxy. */
+    public record ReplyTarget(UUID uuid, String name, long expiresAt) {}
+
+    private static final long REPLY_TTL_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final int MAX_REPLY_TARGETS = 10_000;
+    private static final int MAX_REMOTE_RENDERED_NAMES = 1_000;
+
     private final BeaconLabsVelocity plugin;
     private final ProxyServer server;
     private final Logger logger;
     private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
     private volatile LuckPerms luckPerms;
     
-    // Store the last conversation partner for each player (local only)
-    private final Map<UUID, UUID> lastMessageRecipients = new ConcurrentHashMap<>();
-    // When last message was from another proxy: recipient -> that sender's username (for /r)
-    private final Map<UUID, String> lastSenderUsernameByRecipient = new ConcurrentHashMap<>();
+    // Last conversation partner per player, local or on another proxy
+    private final Map<UUID, ReplyTarget> replyTargets = new ConcurrentHashMap<>();
+    // Rendered prefix + name per local player
+    private final Map<UUID, Component> renderedNames = new ConcurrentHashMap<>();
+    // Rendered prefix + name for players on other proxies, keyed by lower-case name
+    private final Map<String, Component> remoteRenderedNames = new ConcurrentHashMap<>();
     private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacyAmpersand();
+    private final MetricsRegistry.Counter renderedNameHits;
+    private final MetricsRegistry.Counter renderedNameMisses;
 
     public MessageService(BeaconLabsVelocity plugin, ProxyServer server, Logger logger) {
         this.plugin = plugin;
         this.server = server;
         this.logger = logger;
+        this.renderedNameHits = plugin.getMetrics().counter("blv_message_name_cache_total", "Rendered name lookups for private messages by result", "result", "hit");
+        this.renderedNameMisses = plugin.getMetrics().counter("blv_message_name_cache_total", "Rendered name lookups for private messages by result", "result", "miss");
         
         // We'll initialize LuckPerms in a delayed task to ensure it's loaded
         server.getScheduler()
             .buildTask(plugin, this::initializeLuckPerms)
             .delay(2, java.util.concurrent.TimeUnit.SECONDS)
             .schedule();
+        server.getScheduler()
+            .buildTask(plugin, this::sweepReplyTargets)
+            .repeat(1, TimeUnit.MINUTES)
+            .schedule();
     }
     
     /**
@@ -51,38 +82,30 @@ public class MessageService {
     private void initializeLuckPerms() {
         try {
             this.luckPerms = LuckPermsProvider.get();
+            renderedNames.clear(); // rendered before prefixes were available
             logger.info("Successfully hooked into LuckPerms for player prefixes.");
         } catch (Exception e) {
             logger.warn("Failed to hook into LuckPerms. Player prefixes will not be shown.", e);
             this.luckPerms = null;
         }
-    }    /**
-     * Format the incoming PM message for cross-proxy delivery.
-     *
-     * The serialized component keeps the prefix and player name in one identity
-     * section, while the actual message is a plain gray text component.
-     */
-    public String formatIncomingMessage(Player sender, String message) {
-        return MINI_MESSAGE.serialize(formatIncomingMessageComponent(
-                getPlayerPrefix(sender), sender.getUsername(), message));
     }
 
     /** Build the message shown to the sender when messaging another player. */
-    public Component formatOutgoingMessage(String recipientPrefix, String recipientName, String message) {
+    static Component formatOutgoingMessage(Component recipientSection, String message) {
         return Component.text()
                 .append(Component.text("[", NamedTextColor.DARK_GRAY))
                 .append(Component.text("You ", NamedTextColor.GRAY))
                 .append(Component.text("-> ", NamedTextColor.DARK_GRAY))
-                .append(coloredPlayerSection(recipientPrefix, recipientName))
+                .append(recipientSection)
                 .append(Component.text("]: ", NamedTextColor.DARK_GRAY))
                 .append(Component.text(message, NamedTextColor.GRAY))
                 .build();
     }
 
-    private Component formatIncomingMessageComponent(String senderPrefix, String senderName, String message) {
+    static Component formatIncomingMessage(Component senderSection, String message) {
         return Component.text()
                 .append(Component.text("[", NamedTextColor.DARK_GRAY))
-                .append(coloredPlayerSection(senderPrefix, senderName))
+                .append(senderSection)
                 .append(Component.text(" -> ", NamedTextColor.DARK_GRAY))
                 .append(Component.text("You", NamedTextColor.GRAY))
                 .append(Component.text("]: ", NamedTextColor.DARK_GRAY))
@@ -90,12 +113,57 @@ public class MessageService {
                 .build();
     }
 
+    /** The rendered prefix and name of a player on this proxy. */
+    private Component playerSection(Player player) {
+        Component cached = renderedNames.get(player.getUniqueId());
+        if (cached != null) {
+            renderedNameHits.inc();
+            return cached;
+        }
+        renderedNameMisses.inc();
+        return renderedNames.computeIfAbsent(player.getUniqueId(),
+                id -> coloredPlayerSection(getPlayerPrefix(player), player.getUsername()));
+    }
+
+    /** The rendered prefix and name of a player on any proxy, by name. */
+    private Component playerSection(String playerName) {
+        Optional<Player> local = server.getPlayer(playerName);
+        if (local.isPresent()) {
+            return playerSection(local.get());
+        }
+        String key = playerName.toLowerCase(Locale.ROOT);
+        Component cached = remoteRenderedNames.get(key);
+        if (cached != null) {
+            renderedNameHits.inc();
+            return cached;
+        }
+        renderedNameMisses.inc();
+        if (remoteRenderedNames.size() >= MAX_REMOTE_RENDERED_NAMES) {
+            remoteRenderedNames.clear(); // many players came and went; start over
+        }
+        Component rendered = coloredPlayerSection(getPlayerPrefixByName(playerName), playerName);
+        remoteRenderedNames.put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * Drop a player's rendered prefix and name, e.g. after their LuckPerms data (prefix, rank) changed.
+     */
+    public void invalidateRenderedName(UUID playerUuid) {
+        if (playerUuid != null) renderedNames.remove(playerUuid);
+    }
+
+    /** Drop the rendered prefix and name of a player on another proxy whose shared prefix changed. */
+    public void invalidateRemoteRenderedName(String playerName) {
+        if (playerName != null) remoteRenderedNames.remove(playerName.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Append the name without resetting the prefix style. This makes the prefix
      * and name render as one colored identity, while later sections explicitly
      * set their own colors.
      */
-    private Component coloredPlayerSection(String prefix, String name) {
+    static Component coloredPlayerSection(String prefix, String name) {
         if (prefix == null || prefix.isEmpty()) {
             return Component.text(name, NamedTextColor.GRAY);
         }
@@ -166,21 +234,17 @@ public class MessageService {
             return false;
         }
 
-        // Get prefixes for both players
-        String recipientPrefix = getPlayerPrefix(recipient);
-        String senderPrefix = getPlayerPrefix(sender);
-
         // Keep the prefix and player name together; the message itself remains plain text.
-        Component senderMessage = formatOutgoingMessage(recipientPrefix, recipient.getUsername(), message);
-        Component recipientMessage = formatIncomingMessageComponent(senderPrefix, sender.getUsername(), message);
+        Component senderMessage = formatOutgoingMessage(playerSection(recipient), message);
+        Component recipientMessage = formatIncomingMessage(playerSection(sender), message);
 
         // Send the messages
         sender.sendMessage(senderMessage);
         recipient.sendMessage(recipientMessage);
         
-        // Update last message maps
-        lastMessageRecipients.put(sender.getUniqueId(), recipient.getUniqueId());
-        lastMessageRecipients.put(recipient.getUniqueId(), sender.getUniqueId());
+        // Update reply targets
+        setReplyTarget(sender.getUniqueId(), recipient.getUniqueId(), recipient.getUsername());
+        setReplyTarget(recipient.getUniqueId(), sender.getUniqueId(), sender.getUsername());
         
         // Log the message
         logger.info("[PM] {} -> {}: {}", sender.getUsername(), recipient.getUsername(), message);
@@ -189,32 +253,119 @@ public class MessageService {
     }
 
     /**
-     * Get the player who last sent a message to the given player (local proxy only).
+     * Check whether the recipient accepts private messages from the sender (their {@code msg_privacy} setting).
+     *
+     * @return {@link DeliveryStatus#DELIVERED} if the message may be delivered, otherwise the reason it may not
+     */
+    public DeliveryStatus checkPrivacy(UUID senderUuid, UUID recipientUuid) {
+        String privacy = plugin.getPlayerSettingsService().getPlayerSetting(recipientUuid, "msg_privacy", "everyone");
+        if (privacy.equals("nobody")) {
+            return DeliveryStatus.BLOCKED;
+        } else if (privacy.equals("friends_only") && !plugin.getFriendService().areFriends(senderUuid, recipientUuid)) {
+            return DeliveryStatus.FRIENDS_ONLY;
+        }
+        return DeliveryStatus.DELIVERED;
+    }
+
+    /** The message telling a sender why their private message to {@code recipientName} was not delivered. */
+    public Component describeFailure(DeliveryStatus status, String recipientName) {
+        String text = switch (status) {
+            case BLOCKED -> "You cannot message this player.";
+            case FRIENDS_ONLY -> "This player only accepts messages from friends.";
+            case TIMEOUT -> "Delivery to '" + recipientName + "' was not confirmed; your message may not have arrived.";
+            default -> "Player '" + recipientName + "' not found or offline.";
+        };
+        return Component.text(text, NamedTextColor.RED);
+    }
+
+    /**
+     * Send a private message to a player on another proxy. The sender sees their message once the receiving
+     * proxy confirms delivery, or the reason it was not delivered.
+     */
+    public void sendRemotePrivateMessage(Player sender, UUID recipientUuid, String recipientName, String message) {
+        if (plugin.getCrossProxyService() == null || !plugin.getCrossProxyService().isEnabled()) {
+            sender.sendMessage(plugin.getPrefix(sender).append(describeFailure(DeliveryStatus.OFFLINE, recipientName)));
+            return;
+        }
+        plugin.getCrossProxyService().sendDirectMessage(recipientUuid, sender.getUniqueId(), sender.getUsername(), message)
+                .thenAccept(status -> {
+                    if (!sender.isActive()) return;
+                    if (status != DeliveryStatus.DELIVERED) {
+                        sender.sendMessage(plugin.getPrefix(sender).append(describeFailure(status, recipientName)));
+                        return;
+                    }
+                    sender.sendMessage(formatOutgoingMessage(playerSection(recipientName), message));
+                    setReplyTarget(sender.getUniqueId(), recipientUuid, recipientName);
+                    logger.info("[PM] {} -> {} (remote): {}", sender.getUsername(), recipientName, message);
+                });
+    }
+
+    /**
+     * Deliver a private message sent from another proxy to a player on this proxy. Called by the cross-proxy
+     * service; the returned status is sent back to the sender's proxy.
+     */
+    public DeliveryStatus deliverRemotePrivateMessage(UUID recipientUuid, UUID senderUuid, String senderName, String message) {
+        Optional<Player> recipient = server.getPlayer(recipientUuid);
+        if (recipient.isEmpty() || senderName == null || senderName.isEmpty() || message == null) {
+            return DeliveryStatus.OFFLINE;
+        }
+        DeliveryStatus status = checkPrivacy(senderUuid, recipientUuid);
+        if (status != DeliveryStatus.DELIVERED) return status;
+        recipient.get().sendMessage(formatIncomingMessage(playerSection(senderName), message));
+        setReplyTarget(recipientUuid, senderUuid, senderName);
+        return DeliveryStatus.DELIVERED;
+    }
+
+    /**
+     * Get the player who last sent a message to the given player, if they are on this proxy.
      *
      * @param player The player to check
      * @return Optional containing the last player who messaged them, or empty if none
      */
     public Optional<Player> getLastMessageSender(Player player) {
-        UUID lastSenderId = lastMessageRecipients.get(player.getUniqueId());
-        if (lastSenderId != null) {
-            return server.getPlayer(lastSenderId);
+        ReplyTarget target = getReplyTarget(player.getUniqueId());
+        return target != null ? server.getPlayer(target.uuid()) : Optional.empty();
+    }
+
+    /**
+     * Get the last conversation partner of a player, wherever they are.
+     *
+     * @return the reply target, or null if there is none or it has expired
+     */
+    public ReplyTarget getReplyTarget(UUID playerUuid) {
+        if (playerUuid == null) return null;
+        ReplyTarget target = replyTargets.get(playerUuid);
+        if (target != null && target.expiresAt() < System.currentTimeMillis()) {
+            replyTargets.remove(playerUuid, target);
+            return null;
         }
-        return Optional.empty();
+        return target;
     }
 
     /**
      * Store the last message sender for /r when the sender was on another proxy.
      */
     public void setLastMessageSenderForReply(UUID recipientUuid, UUID senderUuid, String senderUsername) {
-        if (recipientUuid == null || senderUsername == null || senderUsername.isEmpty()) return;
-        lastSenderUsernameByRecipient.put(recipientUuid, senderUsername);
+        if (recipientUuid == null || senderUuid == null || senderUsername == null || senderUsername.isEmpty()) return;
+        setReplyTarget(recipientUuid, senderUuid, senderUsername);
     }
 
-    /**
-     * Get the username of the last player who messaged this player from another proxy (for /r).
-     */
-    public String getLastSenderUsername(UUID recipientUuid) {
-        return recipientUuid == null ? null : lastSenderUsernameByRecipient.get(recipientUuid);
+    private void setReplyTarget(UUID playerUuid, UUID targetUuid, String targetName) {
+        if (replyTargets.size() >= MAX_REPLY_TARGETS && !replyTargets.containsKey(playerUuid)) {
+            sweepReplyTargets();
+            if (replyTargets.size() >= MAX_REPLY_TARGETS) {
+                // Still full of live entries: drop the one closest to expiry
+                replyTargets.entrySet().stream()
+                        .min(java.util.Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                        .ifPresent(e -> replyTargets.remove(e.getKey(), e.getValue()));
+            }
+        }
+        replyTargets.put(playerUuid, new ReplyTarget(targetUuid, targetName, System.currentTimeMillis() + REPLY_TTL_MS));
+    }
+
+    private void sweepReplyTargets() {
+        long now = System.currentTimeMillis();
+        replyTargets.values().removeIf(target -> target.expiresAt() < now);
     }
     
     /**
@@ -223,8 +374,8 @@ public class MessageService {
      * @param playerUuid The UUID of the player to remove
      */
     public void clearPlayerData(UUID playerUuid) {
-        lastMessageRecipients.remove(playerUuid);
-        lastSenderUsernameByRecipient.remove(playerUuid);
+        replyTargets.remove(playerUuid);
+        renderedNames.remove(playerUuid);
     }
 
     public static String convertLegacyToMiniMessage(String legacy) {
@@ -4,6 +4,8 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
 import org.bcnlab.beaconLabsVelocity.database.DatabaseManager;
+import org.bcnlab.beaconLabsVelocity.metrics.LatencyHistogram;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 
 import java.sql.Connection;
@@ -34,11 +36,23 @@ public class PlayerStatsService {
     private volatile boolean shuttingDown;
     private int pendingWrites;
     private ScheduledTask periodicSaveTask;
+    private final LatencyHistogram writeTime;
+    private final MetricsRegistry.Counter writesCompleted;
+    private final MetricsRegistry.Counter writesFailed;
     
     public PlayerStatsService(BeaconLabsVelocity plugin, DatabaseManager db, Logger logger) {
         this.plugin = plugin;
         this.db = db;
         this.logger = logger;
+        MetricsRegistry metrics = plugin.getMetrics();
+        writeTime = metrics.histogram("blv_player_stats_write_seconds", "Duration of queued player stats writes");
+        writesCompleted = metrics.counter("blv_player_stats_writes_total", "Player stats writes by outcome", "outcome", "ok");
+        writesFailed = metrics.counter("blv_player_stats_writes_total", "Player stats writes by outcome", "outcome", "error");
+        metrics.gauge("blv_player_stats_pending_writes", "Player stats writes queued or running", () -> {
+            synchronized (pendingWritesMonitor) {
+                return pendingWrites;
+            }
+        });
         initializeTables();
         
         // Schedule periodic saving of online players' playtime
@@ -262,15 +276,19 @@ public class PlayerStatsService {
         }
         try {
             plugin.getServer().getScheduler().buildTask(plugin, () -> {
+                long start = System.nanoTime();
                 try {
                     write.execute();
+                    writesCompleted.inc();
                 } catch (SQLException e) {
+                    writesFailed.inc();
                     // Connection failures while shutting down are expected if MariaDB or the
                     // proxy is already stopping; do not emit a misleading full stack trace.
                     if (!shuttingDown && !isConnectionShutdownFailure(e)) {
                         logger.error("Failed to " + operation, e);
                     }
                 } finally {
+                    writeTime.recordSince(start);
                     synchronized (pendingWritesMonitor) {
                         pendingWrites--;
                         pendingWritesMonitor.notifyAll();
@@ -0,0 +1,334 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.service.ReportService.ReportDraft;
+import org.bcnlab.beaconLabsVelocity.service.ReportService.ReportMerge;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups player reports into cases before they reach the database. Reports against the same player within
+ * {@code reports.cluster-window-seconds} (default 300) of the first one are merged into one case that counts
+ * its reporters and collects their distinct reasons.
+ * <p>
+ * Cases are written every few seconds: new cases in one batch insert, grown cases in one batch update. Staff
+ * get one notification per case when it is first written, and one more each time its reporter count passes
+ * an escalation step ({@link #ESCALATION_STEPS}), instead of one per report. Cases are per proxy; reports
+ * made on different proxies end up in separate cases.
+ * <p>
+ * Reports only merge into a case staff have not resolved or rejected yet. If staff close a case while it is
+ * still collecting reports, the reports not yet written move into a new case.
+ */
+public class ReportClusterService {
+
+    public enum SubmitResult {
+        /** Started a new case. */
+        NEW,
+        /** Added to an existing case. */
+        MERGED,
+        /** The reporter already reported this player in the current case. */
+        DUPLICATE
+    }
+
+    private static final long FLUSH_INTERVAL_SECONDS = 5;
+    private static final int DEFAULT_WINDOW_SECONDS = 300;
+    private static final int[] ESCALATION_STEPS = {3, 5, 10, 25, 50, 100};
+    private static final int MAX_REASON_LENGTH = 255;
+    private static final String REASON_SEPARATOR = " | ";
+
+    private final BeaconLabsVelocity plugin;
+    private final ReportService reportService;
+    private final Logger logger;
+    /** Open cases by reported player UUID. */
+    private final Map<String, ReportCase> cases = new ConcurrentHashMap<>();
+    /** Cases replaced by a newer one before everything they hold was written. */
+    private final Queue<ReportCase> closed = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+    private ScheduledTask flushTask;
+
+    public ReportClusterService(BeaconLabsVelocity plugin, ReportService reportService, Logger logger) {
+        this.plugin = plugin;
+        this.reportService = reportService;
+        this.logger = logger;
+        this.flushTask = plugin.getServer().getScheduler().buildTask(plugin, this::flush)
+                .repeat(FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS)
+                .schedule();
+    }
+
+    /** Write pending cases and stop flushing. Call before the database is closed. */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        for (ReportCase reportCase : cases.values()) {
+            synchronized (reportCase) {
+                reportCase.expired = true;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Add a report to the case against the reported player, starting one if there is none. The reporter is
+     * told the report ID once the case has been written.
+     */
+    public SubmitResult submit(String reportedUuid, String reportedName, Player reporter, String reason, String serverName) {
+        long now = System.currentTimeMillis();
+        long windowMs = TimeUnit.SECONDS.toMillis(Math.max(1,
+                plugin.getConfig().node("reports", "cluster-window-seconds").getInt(DEFAULT_WINDOW_SECONDS)));
+        String reporterUuid = reporter.getUniqueId().toString();
+        while (true) {
+            ReportCase reportCase = cases.computeIfAbsent(reportedUuid,
+                    key -> new ReportCase(reportedUuid, reportedName, reporterUuid, reporter.getUsername(), serverName, now));
+            synchronized (reportCase) {
+                if (reportCase.expired || now - reportCase.startedAt >= windowMs) {
+                    // Closed: the next flush writes what it still holds and drops it; start a new case
+                    reportCase.expired = true;
+                    if (cases.remove(reportedUuid, reportCase)) closed.add(reportCase);
+                    continue;
+                }
+                if (!reportCase.add(new Reporter(reporter.getUniqueId(), reporter.getUsername(), reason))) {
+                    return SubmitResult.DUPLICATE;
+                }
+                return reportCase.reporters.size() == 1 ? SubmitResult.NEW : SubmitResult.MERGED;
+            }
+        }
+    }
+
+    /** Write new and grown cases, then notify staff and reporters. Runs on the scheduler. */
+    private void flush() {
+        synchronized (flushLock) {
+            List<ReportCase> toInsert = new ArrayList<>();
+            List<ReportDraft> drafts = new ArrayList<>();
+            List<ReportCase> toMerge = new ArrayList<>();
+            List<ReportMerge> merges = new ArrayList<>();
+            long windowMs = TimeUnit.SECONDS.toMillis(Math.max(1,
+                    plugin.getConfig().node("reports", "cluster-window-seconds").getInt(DEFAULT_WINDOW_SECONDS)));
+            long now = System.currentTimeMillis();
+
+            List<ReportCase> snapshot = new ArrayList<>(cases.values());
+            List<ReportCase> closing = new ArrayList<>();
+            for (ReportCase reportCase; (reportCase = closed.poll()) != null; ) {
+                closing.add(reportCase);
+            }
+            snapshot.addAll(closing);
+            for (ReportCase reportCase : snapshot) {
+                synchronized (reportCase) {
+                    if (!reportCase.expired && now - reportCase.startedAt >= windowMs) {
+                        reportCase.expired = true;
+                    }
+                    int count = reportCase.reporters.size();
+                    if (count == 0) continue; // created by submit() but not filled yet
+                    if (reportCase.reportId < 0) {
+                        toInsert.add(reportCase);
+                        drafts.add(new ReportDraft(reportCase.reportedUuid, reportCase.reportedName,
+                                reportCase.firstReporterUuid, reportCase.firstReporterName, reportCase.joinedReasons(),
+                                reportCase.serverName, reportCase.startedAt / 1000L, count));
+                        reportCase.pendingCount = count;
+                    } else if (count > reportCase.writtenCount) {
+                        toMerge.add(reportCase);
+                        merges.add(new ReportMerge(reportCase.reportId, reportCase.joinedReasons(), count));
+                        reportCase.pendingCount = count;
+                    }
+                }
+            }
+
+            try {
+                List<Integer> ids = reportService.insertReports(drafts);
+                for (int i = 0; i < toInsert.size(); i++) {
+                    ReportCase reportCase = toInsert.get(i);
+                    synchronized (reportCase) {
+                        reportCase.reportId = ids.get(i);
+                        reportCase.writtenCount = reportCase.pendingCount;
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("Failed to write {} report case(s); retrying: {}", drafts.size(), e.getMessage());
+                toInsert.clear();
+            }
+            try {
+                Set<Integer> handled = reportService.mergeReports(merges);
+                for (Iterator<ReportCase> it = toMerge.iterator(); it.hasNext(); ) {
+                    ReportCase reportCase = it.next();
+                    synchronized (reportCase) {
+                        if (handled.contains(reportCase.reportId)) {
+                            startSuccessor(reportCase);
+                            it.remove();
+                        } else {
+                            reportCase.writtenCount = reportCase.pendingCount;
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("Failed to update {} report case(s); retrying: {}", merges.size(), e.getMessage());
+                toMerge.clear();
+            }
+
+            for (ReportCase reportCase : toInsert) announce(reportCase);
+            for (ReportCase reportCase : toMerge) announce(reportCase);
+
+            // Drop closed cases once everything they hold is written
+            for (ReportCase reportCase : snapshot) {
+                synchronized (reportCase) {
+                    boolean written = reportCase.reporters.isEmpty()
+                            || (reportCase.reportId >= 0 && reportCase.writtenCount == reportCase.reporters.size());
+                    if (closing.contains(reportCase)) {
+                        if (!written) closed.add(reportCase);
+                    } else if (reportCase.expired && written) {
+                        cases.remove(reportCase.reportedUuid, reportCase);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Staff closed the case while it was still collecting reports: move the reports not yet written into a new
+     * case and close this one. Call while holding the case's monitor.
+     */
+    private void startSuccessor(ReportCase handled) {
+        handled.expired = true;
+        List<Reporter> unwritten = new ArrayList<>(handled.reporters.values());
+        unwritten = unwritten.subList(Math.min(handled.writtenCount, unwritten.size()), unwritten.size());
+        if (unwritten.isEmpty()) return;
+        Reporter first = unwritten.get(0);
+        ReportCase successor = new ReportCase(handled.reportedUuid, handled.reportedName, first.uuid().toString(),
+                first.name(), handled.serverName, System.currentTimeMillis());
+        for (Reporter reporter : unwritten) {
+            handled.reporters.remove(reporter.uuid().toString());
+            successor.add(reporter);
+        }
+        handled.awaitingId.clear();
+        // Still the live case: reports keep going to the successor. Otherwise a newer case exists already, and
+        // the successor is only written once.
+        if (!cases.replace(handled.reportedUuid, handled, successor)) {
+            successor.expired = true;
+            closed.add(successor);
+        }
+    }
+
+    /** Tell reporters their report ID, and staff about new cases and escalation steps. */
+    private void announce(ReportCase reportCase) {
+        int reportId;
+        int count;
+        List<UUID> reporters;
+        String reasons;
+        boolean notifyStaff;
+        synchronized (reportCase) {
+            reportId = reportCase.reportId;
+            count = reportCase.writtenCount;
+            reporters = new ArrayList<>(reportCase.awaitingId);
+            reportCase.awaitingId.clear();
+            reasons = reportCase.joinedReasons();
+            notifyStaff = reportCase.notifiedCount == 0 || escalationStep(count) > escalationStep(reportCase.notifiedCount);
+            if (notifyStaff) reportCase.notifiedCount = count;
+        }
+
+        for (UUID reporterId : reporters) {
+            plugin.getServer().getPlayer(reporterId).ifPresent(player -> player.sendMessage(plugin.getPrefix(player).append(
+                    Component.text("Your report has been submitted. Report ID: ", NamedTextColor.GREEN)
+                            .append(Component.text("#" + reportId, NamedTextColor.GOLD, TextDecoration.BOLD)))));
+        }
+
+        if (!notifyStaff) return;
+        Component notification = buildReportNotification(reportCase.reportedName, reportCase.firstReporterName,
+                reasons, reportCase.serverName, reportId, count);
+        plugin.getStaffAudienceService().broadcast(StaffAudienceService.REPORT_NOTIFY, notification);
+        if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
+            plugin.getCrossProxyService().publishReportNotify(MiniMessage.miniMessage().serialize(notification));
+        }
+    }
+
+    /** Index of the highest escalation step reached by {@code count}; 0 below the first step. */
+    private static int escalationStep(int count) {
+        int step = 0;
+        while (step < ESCALATION_STEPS.length && count >= ESCALATION_STEPS[step]) step++;
+        return step;
+    }
+
+    private static Component buildReportNotification(String reportedName, String reporterName, String reason,
+                                                      String serverName, int reportId, int reporterCount) {
+        Component title = reporterCount > 1
+                ? Component.text(" Report #" + reportId + ": " + reporterCount + " players reported " + reportedName,
+                        escalationStep(reporterCount) >= 2 ? NamedTextColor.RED : NamedTextColor.GOLD)
+                : Component.text(" New player report #" + reportId + ":", NamedTextColor.GOLD);
+        return Component.text("【REPORT】", NamedTextColor.RED, TextDecoration.BOLD)
+            .append(title)
+            .append(Component.newline())
+            .append(Component.text("  Reported: ", NamedTextColor.GOLD))
+            .append(Component.text(reportedName, NamedTextColor.GRAY))
+            .append(Component.newline())
+            .append(Component.text("  By: ", NamedTextColor.GOLD))
+            .append(Component.text(reporterCount > 1 ? reporterName + " and " + (reporterCount - 1) + " more" : reporterName, NamedTextColor.GRAY))
+            .append(Component.newline())
+            .append(Component.text("  Server: ", NamedTextColor.GOLD))
+            .append(Component.text(serverName, NamedTextColor.GRAY))
+            .append(Component.newline())
+            .append(Component.text(reporterCount > 1 ? "  Reasons: " : "  Reason: ", NamedTextColor.GOLD))
+            .append(Component.text(reason, NamedTextColor.GRAY));
+    }
+
+    private record Reporter(UUID uuid, String name, String reason) {}
+
+    /** One case; guarded by its own monitor. */
+    private static final class ReportCase {
+        final String reportedUuid;
+        final String reportedName;
+        final String firstReporterUuid;
+        final String firstReporterName;
+        final String serverName;
+        final long startedAt;
+        /** Reporters by UUID, in the order they reported. */
+        final Map<String, Reporter> reporters = new LinkedHashMap<>();
+        /** Distinct reasons keyed by their lower-case form, in the order they were given. */
+        final Map<String, String> reasons = new LinkedHashMap<>();
+        final List<UUID> awaitingId = new ArrayList<>();
+        int reportId = -1;
+        int writtenCount;
+        int pendingCount;
+        int notifiedCount;
+        boolean expired;
+
+        ReportCase(String reportedUuid, String reportedName, String firstReporterUuid, String firstReporterName,
+                   String serverName, long startedAt) {
+            this.reportedUuid = reportedUuid;
+            this.reportedName = reportedName;
+            this.firstReporterUuid = firstReporterUuid;
+            this.firstReporterName = firstReporterName;
+            this.serverName = serverName;
+            this.startedAt = startedAt;
+        }
+
+        /** Add a reporter; false if they already reported this case. */
+        boolean add(Reporter reporter) {
+            if (reporters.putIfAbsent(reporter.uuid().toString(), reporter) != null) return false;
+            reasons.putIfAbsent(reporter.reason().toLowerCase(Locale.ROOT), reporter.reason());
+            awaitingId.add(reporter.uuid());
+            return true;
+        }
+
+        String joinedReasons() {
+            String joined = String.join(REASON_SEPARATOR, reasons.values());
+            return joined.length() <= MAX_REASON_LENGTH ? joined : joined.substring(0, MAX_REASON_LENGTH - 3) + "...";
+        }
+    }
+}
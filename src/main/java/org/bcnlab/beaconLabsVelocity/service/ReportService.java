@@ -7,18 +7,40 @@ import org.slf4j.Logger;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Service for managing player reports
+ * Service for managing player reports.
+ * <p>
+ * Listings are ordered newest first by {@code (report_time, id)} and paged with a {@link ReportCursor}
+ * (keyset pagination), so a page costs the same however deep staff browse. The number of open and
+ * in-progress reports is kept in memory, updated on insert and status change and resynced periodically
+ * for reports handled on other proxies.
  */
 public class ReportService {
     private final BeaconLabsVelocity plugin;
     private final DatabaseManager databaseManager;
     private final Logger logger;
 
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final AtomicInteger inProgressCount = new AtomicInteger();
+
+    private static final long COUNT_RESYNC_MINUTES = 5;
+    private static final int MAX_PLAYER_REPORTS = 100;
+
+    /** Columns shown in listings; the full row is only loaded for a single report. */
+    private static final String SUMMARY_COLUMNS =
+            "id, reported_uuid, reported_name, reporter_uuid, reporter_name, reason, server_name, report_time, status, reporter_count";
+
     private static final String SQL_CREATE_TABLE =
             "CREATE TABLE IF NOT EXISTS player_reports (" +
             "id INT AUTO_INCREMENT PRIMARY KEY, " +
@@ -34,31 +56,59 @@ public class ReportService {
             "handled_by_name VARCHAR(16), " +
             "resolution_note VARCHAR(255), " +
             "resolution_time BIGINT, " +
+            "reporter_count INT NOT NULL DEFAULT 1, " +
             "INDEX idx_reported_name (reported_name), " +
             "INDEX idx_reporter_name (reporter_name), " +
             "INDEX idx_status (status), " +
-            "INDEX idx_report_time (report_time)" +
+            "INDEX idx_report_time (report_time), " +
+            "INDEX idx_status_time (status, report_time, id), " +
+            "INDEX idx_reported_uuid (reported_uuid, report_time)" +
             ")";
 
-    private static final String SQL_ADD_REPORT =
-            "INSERT INTO player_reports (reported_uuid, reported_name, reporter_uuid, reporter_name, reason, server_name, report_time) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_ADD_REPORTER_COUNT =
+            "ALTER TABLE player_reports ADD COLUMN IF NOT EXISTS reporter_count INT NOT NULL DEFAULT 1";
+
+    private static final String SQL_CREATE_STATUS_TIME_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_status_time ON player_reports (status, report_time, id)";
+
+    private static final String SQL_CREATE_REPORTED_UUID_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_reported_uuid ON player_reports (reported_uuid, report_time)";
+
+    private static final String SQL_ADD_REPORT_CASE =
+            "INSERT INTO player_reports (reported_uuid, reported_name, reporter_uuid, reporter_name, reason, server_name, report_time, reporter_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Only cases staff have not handled yet take new reports. */
+    private static final String SQL_MERGE_REPORT_CASE =
+            "UPDATE player_reports SET reason = ?, reporter_count = ? WHERE id = ? AND status IN ('OPEN', 'IN_PROGRESS')";
 
     private static final String SQL_GET_REPORT =
             "SELECT * FROM player_reports WHERE id = ?";
 
     private static final String SQL_GET_REPORTS =
-            "SELECT * FROM player_reports WHERE status = ? ORDER BY report_time DESC LIMIT ? OFFSET ?";
+            "SELECT " + SUMMARY_COLUMNS + " FROM player_reports WHERE status = ? ORDER BY report_time DESC, id DESC LIMIT ? OFFSET ?";
 
     private static final String SQL_GET_ALL_REPORTS =
-            "SELECT * FROM player_reports ORDER BY report_time DESC LIMIT ? OFFSET ?";
+            "SELECT " + SUMMARY_COLUMNS + " FROM player_reports ORDER BY report_time DESC, id DESC LIMIT ? OFFSET ?";
+
+    private static final String SQL_GET_REPORTED_UUID =
+            "SELECT reported_uuid FROM player_reports WHERE reported_name = ? ORDER BY report_time DESC LIMIT 1";
+
+    private static final String SQL_GET_PLAYER_REPORTS_BY_UUID =
+            "SELECT " + SUMMARY_COLUMNS + " FROM player_reports WHERE reported_uuid IN (?, ?) ORDER BY report_time DESC LIMIT ?";
+
+    private static final String SQL_GET_PLAYER_REPORTS_BY_NAME =
+            "SELECT " + SUMMARY_COLUMNS + " FROM player_reports WHERE reported_name LIKE ? ESCAPE '!' ORDER BY report_time DESC LIMIT ?";
+
+    private static final String SQL_GET_REPORT_STATUS =
+            "SELECT status FROM player_reports WHERE id = ?";
+
+    private static final String SQL_COUNT_ACTIVE =
+            "SELECT status, COUNT(*) AS total FROM player_reports WHERE status IN ('OPEN', 'IN_PROGRESS') GROUP BY status";
 
-    private static final String SQL_GET_PLAYER_REPORTS =
-            "SELECT * FROM player_reports WHERE reported_name LIKE ? ORDER BY report_time DESC";
-            
     private static final String SQL_UPDATE_REPORT_STATUS =
             "UPDATE player_reports SET status = ?, handled_by = ?, handled_by_name = ?, resolution_note = ?, resolution_time = ? " +
-            "WHERE id = ?";
+            "WHERE id = ? AND status = ?";
 
     public ReportService(BeaconLabsVelocity plugin, DatabaseManager databaseManager, Logger logger) {
         this.plugin = plugin;
@@ -80,13 +130,66 @@ public class ReportService {
         
         CompletableFuture.runAsync(() -> {
             try (Connection conn = databaseManager.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(SQL_CREATE_TABLE)) {
-                stmt.execute();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute(SQL_CREATE_TABLE);
+                // Tables created by older versions lack the reporter count and the listing indexes. Each step
+                // runs on its own: servers without IF NOT EXISTS (MySQL) fail the ones that are already applied.
+                for (String migration : new String[] {SQL_ADD_REPORTER_COUNT, SQL_CREATE_STATUS_TIME_INDEX, SQL_CREATE_REPORTED_UUID_INDEX}) {
+                    try {
+                        stmt.execute(migration);
+                    } catch (SQLException e) {
+                        logger.warn("Player reports migration skipped ({}): {}", migration, e.getMessage());
+                    }
+                }
                 logger.info("Player reports table initialized.");
             } catch (SQLException e) {
                 logger.error("Failed to create player reports table", e);
             }
+            refreshActiveCounts();
         });
+
+        // Other proxies create and handle reports too; resync the counters now and then
+        plugin.getServer().getScheduler().buildTask(plugin, this::refreshActiveCounts)
+                .delay(COUNT_RESYNC_MINUTES, TimeUnit.MINUTES)
+                .repeat(COUNT_RESYNC_MINUTES, TimeUnit.MINUTES)
+                .schedule();
+    }
+
+    /** Reload the open/in-progress counters from the database. Blocking. */
+    private void refreshActiveCounts() {
+        if (!databaseManager.isConnected()) return;
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_COUNT_ACTIVE);
+             ResultSet rs = stmt.executeQuery()) {
+            int open = 0;
+            int inProgress = 0;
+            while (rs.next()) {
+                if (ReportStatus.OPEN.name().equals(rs.getString("status"))) open = rs.getInt("total");
+                else inProgress = rs.getInt("total");
+            }
+            openCount.set(open);
+            inProgressCount.set(inProgress);
+        } catch (SQLException e) {
+            logger.error("Failed to count active reports: {}", e.getMessage());
+        }
+    }
+
+    /** Number of open reports (kept in memory; may lag other proxies by a few minutes). */
+    public int getOpenCount() {
+        return openCount.get();
+    }
+
+    /** Number of in-progress reports (kept in memory; may lag other proxies by a few minutes). */
+    public int getInProgressCount() {
+        return inProgressCount.get();
+    }
+
+    private void adjustCount(ReportStatus status, int delta) {
+        if (status == ReportStatus.OPEN) {
+            openCount.updateAndGet(n -> Math.max(0, n + delta));
+        } else if (status == ReportStatus.IN_PROGRESS) {
+            inProgressCount.updateAndGet(n -> Math.max(0, n + delta));
+        }
     }
 
     /**
@@ -109,6 +212,48 @@ public class ReportService {
         }
     }
 
+    /**
+     * Position in a report listing: the {@code (report_time, id)} of a report on a page.
+     * Written as {@code <report_time>:<id>} in command arguments.
+     */
+    public record ReportCursor(long reportTime, int id) {
+        public static ReportCursor of(Report report) {
+            return new ReportCursor(report.getReportTime(), report.getId());
+        }
+
+        /** Parse {@code <report_time>:<id>}, or empty if malformed. */
+        public static Optional<ReportCursor> parse(String value) {
+            int sep = value.indexOf(':');
+            if (sep <= 0) return Optional.empty();
+            try {
+                return Optional.of(new ReportCursor(Long.parseLong(value.substring(0, sep)), Integer.parseInt(value.substring(sep + 1))));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return reportTime + ":" + id;
+        }
+    }
+
+    /**
+     * One page of a listing, newest first, with whether there are older or newer reports beyond it.
+     */
+    public record ReportPage(List<Report> reports, boolean hasOlder, boolean hasNewer) {
+        public ReportCursor first() {
+            return ReportCursor.of(reports.get(0));
+        }
+
+        public ReportCursor last() {
+            return ReportCursor.of(reports.get(reports.size() - 1));
+        }
+    }
+
+    private static final Comparator<Report> NEWEST_FIRST =
+            Comparator.comparingLong(Report::getReportTime).thenComparingInt(Report::getId).reversed();
+
     /**
      * Class representing a player report
      */
@@ -126,10 +271,19 @@ public class ReportService {
         private String handledByName;
         private String resolutionNote;
         private Long resolutionTime;
+        private int reporterCount;
 
         public Report(int id, String reportedUuid, String reportedName, String reporterUuid, String reporterName,
                      String reason, String serverName, long reportTime, ReportStatus status,
                      String handledBy, String handledByName, String resolutionNote, Long resolutionTime) {
+            this(id, reportedUuid, reportedName, reporterUuid, reporterName, reason, serverName, reportTime, status,
+                 handledBy, handledByName, resolutionNote, resolutionTime, 1);
+        }
+
+        public Report(int id, String reportedUuid, String reportedName, String reporterUuid, String reporterName,
+                     String reason, String serverName, long reportTime, ReportStatus status,
+                     String handledBy, String handledByName, String resolutionNote, Long resolutionTime,
+                     int reporterCount) {
             this.id = id;
             this.reportedUuid = reportedUuid;
             this.reportedName = reportedName;
@@ -143,6 +297,7 @@ public class ReportService {
             this.handledByName = handledByName;
             this.resolutionNote = resolutionNote;
             this.resolutionTime = resolutionTime;
+            this.reporterCount = reporterCount;
         }
 
         // Getters
@@ -159,6 +314,8 @@ public class ReportService {
         public String getHandledByName() { return handledByName; }
         public String getResolutionNote() { return resolutionNote; }
         public Long getResolutionTime() { return resolutionTime; }
+        /** Number of players who reported this case (reports merged within the clustering window). */
+        public int getReporterCount() { return reporterCount; }
         
         // Factory method to create from ResultSet
         public static Report fromResultSet(ResultSet rs) throws SQLException {
@@ -175,63 +332,127 @@ public class ReportService {
                 rs.getString("handled_by"),
                 rs.getString("handled_by_name"),
                 rs.getString("resolution_note"),
-                rs.getObject("resolution_time") != null ? rs.getLong("resolution_time") : null
+                rs.getObject("resolution_time") != null ? rs.getLong("resolution_time") : null,
+                rs.getInt("reporter_count")
+            );
+        }
+
+        /** Create from a row holding only {@link #SUMMARY_COLUMNS}; resolution fields are null. */
+        public static Report summaryFromResultSet(ResultSet rs) throws SQLException {
+            return new Report(
+                rs.getInt("id"),
+                rs.getString("reported_uuid"),
+                rs.getString("reported_name"),
+                rs.getString("reporter_uuid"),
+                rs.getString("reporter_name"),
+                rs.getString("reason"),
+                rs.getString("server_name"),
+                rs.getLong("report_time"),
+                ReportStatus.valueOf(rs.getString("status")),
+                null, null, null, null,
+                rs.getInt("reporter_count")
             );
         }
     }
 
     /**
-     * Create a new player report
+     * A report case to insert: one row standing for every player who reported the same player in a short window
+     */
+    public record ReportDraft(String reportedUuid, String reportedName, String reporterUuid, String reporterName,
+                              String reason, String serverName, long reportTime, int reporterCount) {}
+
+    /**
+     * Insert report cases in one batch. Blocking; call off the main thread.
+     * <p>
+     * Some drivers return fewer generated keys for a batch than rows inserted. Then the batch is rolled back
+     * and the cases are inserted one statement at a time, which always reports its key.
      * 
-     * @param reportedUuid UUID of the reported player
-     * @param reportedName Username of the reported player
-     * @param reporterUuid UUID of the reporting player
-     * @param reporterName Username of the reporting player
-     * @param reason Reason for the report
-     * @param serverName Server where the incident occurred
-     * @return CompletableFuture that completes with the report ID if successful, or -1 if failed
+     * @param drafts The cases to insert
+     * @return The new report IDs in the order of {@code drafts}
+     * @throws SQLException if the cases could not be written; nothing is inserted then
      */
-    public CompletableFuture<Integer> createReport(String reportedUuid, String reportedName, 
-                                               String reporterUuid, String reporterName, 
-                                               String reason, String serverName) {
-        if (!databaseManager.isConnected()) {
-            logger.warn("Database is not connected. Cannot create report.");
-            return CompletableFuture.completedFuture(-1);
-        }
-        
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = databaseManager.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(SQL_ADD_REPORT, Statement.RETURN_GENERATED_KEYS)) {
-                
-                long currentTime = Instant.now().getEpochSecond();
-                
-                stmt.setString(1, reportedUuid);
-                stmt.setString(2, reportedName);
-                stmt.setString(3, reporterUuid);
-                stmt.setString(4, reporterName);
-                stmt.setString(5, reason);
-                stmt.setString(6, serverName);
-                stmt.setLong(7, currentTime);
-                
-                int affectedRows = stmt.executeUpdate();
-                
-                if (affectedRows > 0) {
-                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                        if (generatedKeys.next()) {
-                            int reportId = generatedKeys.getInt(1);
-                            logger.info("Player {} reported player {} (Report ID: {})", reporterName, reportedName, reportId);
-                            return reportId;
+    public List<Integer> insertReports(List<ReportDraft> drafts) throws SQLException {
+        List<Integer> ids = new ArrayList<>(drafts.size());
+        if (drafts.isEmpty()) return ids;
+        try (Connection conn = databaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_ADD_REPORT_CASE, Statement.RETURN_GENERATED_KEYS)) {
+                for (ReportDraft draft : drafts) {
+                    bindDraft(stmt, draft);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getInt(1));
+                    }
+                }
+                if (ids.size() != drafts.size()) {
+                    logger.warn("Expected {} generated report IDs, got {}; inserting the cases one by one.", drafts.size(), ids.size());
+                    conn.rollback();
+                    ids.clear();
+                    for (ReportDraft draft : drafts) {
+                        bindDraft(stmt, draft);
+                        stmt.executeUpdate();
+                        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                            if (!generatedKeys.next()) throw new SQLException("No generated ID for report against " + draft.reportedName());
+                            ids.add(generatedKeys.getInt(1));
                         }
                     }
                 }
-                
-                logger.warn("Failed to create player report");
-                return -1;
+                conn.commit();
             } catch (SQLException e) {
-                logger.error("Database error creating player report: {}", e.getMessage(), e);
-                return -1;
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-        });
+        }
+        adjustCount(ReportStatus.OPEN, drafts.size());
+        return ids;
+    }
+
+    private static void bindDraft(PreparedStatement stmt, ReportDraft draft) throws SQLException {
+        stmt.setString(1, draft.reportedUuid());
+        stmt.setString(2, draft.reportedName());
+        stmt.setString(3, draft.reporterUuid());
+        stmt.setString(4, draft.reporterName());
+        stmt.setString(5, draft.reason());
+        stmt.setString(6, draft.serverName());
+        stmt.setLong(7, draft.reportTime());
+        stmt.setInt(8, draft.reporterCount());
+    }
+
+    /**
+     * New reason and reporter count for a report case that gained reports after it was inserted
+     */
+    public record ReportMerge(int reportId, String reason, int reporterCount) {}
+
+    /**
+     * Update existing report cases in one batch. Cases that were resolved or rejected in the meantime are left
+     * as they are. Blocking; call off the main thread.
+     * 
+     * @param merges The cases to update
+     * @return IDs of the cases that were not updated because staff already handled them
+     * @throws SQLException if the batch could not be written
+     */
+    public Set<Integer> mergeReports(List<ReportMerge> merges) throws SQLException {
+        Set<Integer> handled = new HashSet<>();
+        if (merges.isEmpty()) return handled;
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_MERGE_REPORT_CASE)) {
+            for (ReportMerge merge : merges) {
+                stmt.setString(1, merge.reason());
+                stmt.setInt(2, merge.reporterCount());
+                stmt.setInt(3, merge.reportId());
+                stmt.addBatch();
+            }
+            int[] counts = stmt.executeBatch();
+            for (int i = 0; i < counts.length && i < merges.size(); i++) {
+                if (counts[i] == 0) handled.add(merges.get(i).reportId());
+            }
+        }
+        return handled;
     }
 
     /**
@@ -299,7 +520,7 @@ public class ReportService {
                 
                 try (ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
-                        reports.add(Report.fromResultSet(rs));
+                        reports.add(Report.summaryFromResultSet(rs));
                     }
                 }
             } catch (SQLException e) {
@@ -311,10 +532,84 @@ public class ReportService {
     }
 
     /**
-     * Get reports for a specific player
+     * Get a page of reports next to a cursor (keyset pagination)
      * 
-     * @param playerName The player's name (can be partial for LIKE search)
-     * @return CompletableFuture that completes with a list of Reports
+     * @param statuses The statuses to include, or null/empty for all reports
+     * @param cursor The report to page from, or null for the newest page
+     * @param older True for the page after the cursor (older reports), false for the page before it (newer reports)
+     * @param limit Page size
+     * @return CompletableFuture that completes with the page, newest first (empty on error)
+     */
+    public CompletableFuture<ReportPage> getReportPage(Set<ReportStatus> statuses, ReportCursor cursor, boolean older, int limit) {
+        if (!databaseManager.isConnected()) {
+            logger.warn("Database is not connected. Cannot get reports.");
+            return CompletableFuture.completedFuture(new ReportPage(new ArrayList<>(), false, false));
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<Report> reports = new ArrayList<>();
+            // One index range per status on (status, report_time, id); all reports use the report_time index
+            List<ReportStatus> filters = statuses == null || statuses.isEmpty()
+                    ? java.util.Collections.singletonList(null)
+                    : new ArrayList<>(EnumSet.copyOf(statuses));
+            String sql = buildPageQuery(statuses != null && !statuses.isEmpty(), cursor, older);
+
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (ReportStatus status : filters) {
+                    int i = 1;
+                    if (status != null) stmt.setString(i++, status.name());
+                    if (cursor != null) {
+                        stmt.setLong(i++, cursor.reportTime());
+                        stmt.setLong(i++, cursor.reportTime());
+                        stmt.setInt(i++, cursor.id());
+                    }
+                    stmt.setInt(i, limit + 1);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            reports.add(Report.summaryFromResultSet(rs));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                logger.error("Database error getting reports: {}", e.getMessage(), e);
+                return new ReportPage(new ArrayList<>(), false, false);
+            }
+
+            // Keep the limit + 1 closest to the cursor; the extra one only tells whether there is more
+            reports.sort(older ? NEWEST_FIRST : NEWEST_FIRST.reversed());
+            boolean more = reports.size() > limit;
+            List<Report> page = new ArrayList<>(reports.subList(0, Math.min(limit, reports.size())));
+            if (older) {
+                return new ReportPage(page, more, cursor != null);
+            }
+            page.sort(NEWEST_FIRST);
+            return new ReportPage(page, true, more);
+        });
+    }
+
+    private static String buildPageQuery(boolean byStatus, ReportCursor cursor, boolean older) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS).append(" FROM player_reports");
+        List<String> where = new ArrayList<>();
+        if (byStatus) where.add("status = ?");
+        if (cursor != null) {
+            // (report_time, id) < (?, ?), written so the index range can be used
+            where.add(older
+                    ? "report_time <= ? AND (report_time < ? OR id < ?)"
+                    : "report_time >= ? AND (report_time > ? OR id > ?)");
+        }
+        if (!where.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", where));
+        sql.append(older ? " ORDER BY report_time DESC, id DESC" : " ORDER BY report_time ASC, id ASC");
+        return sql.append(" LIMIT ?").toString();
+    }
+
+    /**
+     * Get reports for a specific player. Known players (online, on another proxy, or reported before under
+     * this exact name) are looked up by UUID, which also finds reports filed under an older name; otherwise
+     * reported names starting with {@code playerName} are matched.
+     * 
+     * @param playerName The player's name (or the start of it)
+     * @return CompletableFuture that completes with a list of Reports, newest first
      */
     public CompletableFuture<List<Report>> getPlayerReports(String playerName) {
         if (!databaseManager.isConnected()) {
@@ -325,14 +620,22 @@ public class ReportService {
         return CompletableFuture.supplyAsync(() -> {
             List<Report> reports = new ArrayList<>();
             
-            try (Connection conn = databaseManager.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(SQL_GET_PLAYER_REPORTS)) {
-                
-                stmt.setString(1, "%" + playerName + "%");
-                
-                try (ResultSet rs = stmt.executeQuery()) {
+            try (Connection conn = databaseManager.getConnection()) {
+                String uuid = resolveReportedUuid(conn, playerName);
+                PreparedStatement stmt;
+                if (uuid != null) {
+                    stmt = conn.prepareStatement(SQL_GET_PLAYER_REPORTS_BY_UUID);
+                    stmt.setString(1, uuid);
+                    stmt.setString(2, "offline:" + playerName); // reports filed while the name could not be resolved
+                    stmt.setInt(3, MAX_PLAYER_REPORTS);
+                } else {
+                    stmt = conn.prepareStatement(SQL_GET_PLAYER_REPORTS_BY_NAME);
+                    stmt.setString(1, escapeLike(playerName) + "%");
+                    stmt.setInt(2, MAX_PLAYER_REPORTS);
+                }
+                try (stmt; ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
-                        reports.add(Report.fromResultSet(rs));
+                        reports.add(Report.summaryFromResultSet(rs));
                     }
                 }
             } catch (SQLException e) {
@@ -343,6 +646,25 @@ public class ReportService {
         });
     }
 
+    private String resolveReportedUuid(Connection conn, String playerName) throws SQLException {
+        Optional<com.velocitypowered.api.proxy.Player> online = plugin.getServer().getPlayer(playerName);
+        if (online.isPresent()) return online.get().getUniqueId().toString();
+        if (plugin.getCrossProxyService() != null && plugin.getCrossProxyService().isEnabled()) {
+            UUID crossUuid = plugin.getCrossProxyService().getPlayerUuidByName(playerName);
+            if (crossUuid != null) return crossUuid.toString();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_GET_REPORTED_UUID)) {
+            stmt.setString(1, playerName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("reported_uuid") : null;
+            }
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     /**
      * Update a report's status
      * 
@@ -363,8 +685,20 @@ public class ReportService {
         
         return CompletableFuture.supplyAsync(() -> {
             try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement statusStmt = conn.prepareStatement(SQL_GET_REPORT_STATUS);
                  PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE_REPORT_STATUS)) {
                 
+                // The previous status decides which counter changes; the update only applies if it still holds
+                statusStmt.setInt(1, reportId);
+                ReportStatus oldStatus;
+                try (ResultSet rs = statusStmt.executeQuery()) {
+                    if (!rs.next()) {
+                        logger.warn("Failed to update report {} status", reportId);
+                        return false;
+                    }
+                    oldStatus = ReportStatus.valueOf(rs.getString("status"));
+                }
+                
                 Long resolutionTime = null;
                 if (newStatus == ReportStatus.RESOLVED || newStatus == ReportStatus.REJECTED) {
                     resolutionTime = Instant.now().getEpochSecond();
@@ -382,10 +716,13 @@ public class ReportService {
                 }
                 
                 stmt.setInt(6, reportId);
+                stmt.setString(7, oldStatus.name());
                 
                 int affectedRows = stmt.executeUpdate();
                 
                 if (affectedRows > 0) {
+                    adjustCount(oldStatus, -1);
+                    adjustCount(newStatus, 1);
                     logger.info("Report {} status updated to {} by {}", reportId, newStatus.name(), handledByName);
                     return true;
                 } else {
@@ -0,0 +1,291 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.database.DatabaseManager;
+import org.slf4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of screening passes (player UUID + IP) backed by the {@code screening_passes} table.
+ * <p>
+ * Each player's passes are loaded from the database on first lookup, on a scheduler thread, and kept current as
+ * new passes are recorded; lookups return futures so login handlers never wait on JDBC. New passes are queued
+ * and written by a periodic batch task, so recording a pass (from the chat event thread) never touches JDBC.
+ * <p>
+ * Removals leave a short-lived tombstone (UUID or IP plus removal time). A flush that already took a pass off
+ * the queue before the removal skips it, so a removed pass is not written back. The rows themselves are deleted
+ * on a scheduler thread; tombstones are kept until no delete is in flight.
+ */
+public class ScreeningPassStore {
+
+    private static final long FLUSH_INTERVAL_MS = 2000L;
+    private static final int MAX_BATCH_SIZE = 500;
+    /** Loaded entries are dropped once the index grows past this; they are reloaded on demand. */
+    private static final int MAX_CACHED_PLAYERS = 50_000;
+
+    private final BeaconLabsVelocity plugin;
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+
+    private final Map<UUID, PlayerPasses> passesByPlayer = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingPass> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Object flushLock = new Object();
+    /** Removal time per removed player / IP; queued passes recorded up to then are not written. */
+    private final Map<UUID, Long> removedPlayers = new ConcurrentHashMap<>();
+    private final Map<String, Long> removedIps = new ConcurrentHashMap<>();
+    private final AtomicInteger deletesInFlight = new AtomicInteger();
+    private volatile boolean shuttingDown;
+    private ScheduledTask flushTask;
+
+    private static final class PlayerPasses {
+        final Set<String> ips = ConcurrentHashMap.newKeySet();
+        /** Queued passes not yet written; the entry must not be evicted while this is non-zero. */
+        final AtomicInteger unflushed = new AtomicInteger();
+        volatile boolean loaded;
+        /** In-flight load, guarded by this object's monitor. */
+        CompletableFuture<PlayerPasses> loading;
+    }
+
+    private record PendingPass(UUID playerUuid, String ip, long timestamp, PlayerPasses owner) {}
+
+    public ScreeningPassStore(BeaconLabsVelocity plugin, DatabaseManager databaseManager, Logger logger) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+        this.flushTask = plugin.getServer().getScheduler().buildTask(plugin, this::flush)
+                .repeat(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+    }
+
+    /**
+     * Record a screening pass. Updates the index immediately and queues the database insert.
+     * Safe to call from event threads.
+     */
+    public void recordPass(UUID playerUuid, String ip) {
+        if (playerUuid == null || ip == null || shuttingDown) return;
+        PlayerPasses passes = passesByPlayer.computeIfAbsent(playerUuid, k -> new PlayerPasses());
+        passes.ips.add(ip);
+        passes.unflushed.incrementAndGet();
+        pendingWrites.offer(new PendingPass(playerUuid, ip, System.currentTimeMillis(), passes));
+        if (pendingCount.incrementAndGet() >= MAX_BATCH_SIZE) {
+            plugin.getServer().getScheduler().buildTask(plugin, this::flush).schedule();
+        }
+    }
+
+    /** Start loading the player's passes in the background, so a later lookup finds them in memory. */
+    public void preload(UUID playerUuid) {
+        if (playerUuid != null) load(playerUuid);
+    }
+
+    /** Whether the player has passed screening from this IP before. Completes once the player's passes are loaded. */
+    public CompletableFuture<Boolean> hasPassed(UUID playerUuid, String ip) {
+        if (playerUuid == null || ip == null) return CompletableFuture.completedFuture(false);
+        return load(playerUuid).thenApply(passes -> passes.ips.contains(ip));
+    }
+
+    /** Whether the player has passed screening from any IP. Completes once the player's passes are loaded. */
+    public CompletableFuture<Boolean> hasPassedAny(UUID playerUuid) {
+        if (playerUuid == null) return CompletableFuture.completedFuture(false);
+        return load(playerUuid).thenApply(passes -> !passes.ips.isEmpty());
+    }
+
+    /**
+     * Remove all passes for a player, including queued ones. The index is updated immediately; the future
+     * completes with the number of rows/entries removed once the database delete ran.
+     */
+    public CompletableFuture<Integer> removeByUuid(UUID playerUuid) {
+        if (playerUuid == null) return CompletableFuture.completedFuture(0);
+        long removedAt = System.currentTimeMillis();
+        removedPlayers.put(playerUuid, removedAt);
+        passesByPlayer.remove(playerUuid);
+        int removed = removePending(p -> p.playerUuid().equals(playerUuid));
+        return delete("DELETE FROM screening_passes WHERE player_uuid = ? AND timestamp <= ?",
+                playerUuid.toString(), removedAt, "UUID").thenApply(rows -> removed + rows);
+    }
+
+    /**
+     * Remove all passes for an IP, including queued ones. The index is updated immediately; the future
+     * completes with the number of rows/entries removed once the database delete ran.
+     */
+    public CompletableFuture<Integer> removeByIp(String ip) {
+        if (ip == null || ip.isEmpty()) return CompletableFuture.completedFuture(0);
+        long removedAt = System.currentTimeMillis();
+        removedIps.put(ip, removedAt);
+        for (PlayerPasses passes : passesByPlayer.values()) {
+            passes.ips.remove(ip);
+        }
+        int removed = removePending(p -> p.ip().equals(ip));
+        return delete("DELETE FROM screening_passes WHERE ip_address = ? AND timestamp <= ?",
+                ip, removedAt, "IP").thenApply(rows -> removed + rows);
+    }
+
+    /**
+     * Delete the rows recorded up to the removal on a scheduler thread. Passes recorded after the removal
+     * are kept, even if they are flushed before the delete runs.
+     */
+    private CompletableFuture<Integer> delete(String sql, String key, long removedAt, String what) {
+        CompletableFuture<Integer> deleted = new CompletableFuture<>();
+        deletesInFlight.incrementAndGet();
+        plugin.getServer().getScheduler().buildTask(plugin, () -> {
+            int rows = 0;
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, key);
+                stmt.setLong(2, removedAt);
+                rows = stmt.executeUpdate();
+            } catch (Exception e) {
+                logger.error("Failed to remove screening pass by " + what, e);
+            } finally {
+                deletesInFlight.decrementAndGet();
+                deleted.complete(rows);
+            }
+        }).schedule();
+        return deleted;
+    }
+
+    /** Stop the periodic writer and flush whatever is still queued. Call before the pool closes. */
+    public void shutdown() {
+        shuttingDown = true;
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+    }
+
+    /**
+     * The player's passes, loaded on a scheduler thread if this is the first lookup. Concurrent lookups share
+     * one load. If the database is unavailable the future completes with what is known in memory, and the
+     * next lookup tries again.
+     */
+    private CompletableFuture<PlayerPasses> load(UUID playerUuid) {
+        if (passesByPlayer.size() > MAX_CACHED_PLAYERS) {
+            passesByPlayer.values().removeIf(p -> p.loaded && p.unflushed.get() == 0);
+        }
+        PlayerPasses passes = passesByPlayer.computeIfAbsent(playerUuid, k -> new PlayerPasses());
+        if (passes.loaded || !databaseManager.isConnected()) return CompletableFuture.completedFuture(passes);
+        CompletableFuture<PlayerPasses> loading;
+        synchronized (passes) {
+            if (passes.loaded) return CompletableFuture.completedFuture(passes);
+            if (passes.loading != null) return passes.loading;
+            loading = passes.loading = new CompletableFuture<>();
+        }
+        plugin.getServer().getScheduler().buildTask(plugin, () -> {
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT ip_address FROM screening_passes WHERE player_uuid = ?")) {
+                stmt.setString(1, playerUuid.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    // Rows a removal is about to delete must not come back through a concurrent load
+                    boolean playerRemoved = removedPlayers.containsKey(playerUuid);
+                    while (rs.next()) {
+                        String ip = rs.getString("ip_address");
+                        if (!playerRemoved && !removedIps.containsKey(ip)) passes.ips.add(ip);
+                    }
+                }
+                passes.loaded = true;
+            } catch (Exception e) {
+                logger.error("Failed to load screening passes", e);
+            } finally {
+                synchronized (passes) {
+                    passes.loading = null;
+                }
+                loading.complete(passes);
+            }
+        }).schedule();
+        return loading;
+    }
+
+    private int removePending(Predicate<PendingPass> filter) {
+        int removed = 0;
+        for (var it = pendingWrites.iterator(); it.hasNext(); ) {
+            PendingPass pass = it.next();
+            // remove(pass) rather than it.remove(): it reports whether a concurrent flush polled the pass first
+            if (filter.test(pass) && pendingWrites.remove(pass)) {
+                pendingCount.decrementAndGet();
+                pass.owner().unflushed.decrementAndGet();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** Drain the queue and insert it in JDBC batches. Serialized so the repeat task and size trigger don't overlap. */
+    private void flush() {
+        synchronized (flushLock) {
+            long started = System.currentTimeMillis();
+            try {
+                flushQueued();
+            } finally {
+                // Any flush that could hold a pass removed before this one started has finished; a delete
+                // still in flight needs the tombstones so concurrent loads don't bring its rows back
+                if (deletesInFlight.get() == 0) {
+                    removedPlayers.values().removeIf(removedAt -> removedAt < started);
+                    removedIps.values().removeIf(removedAt -> removedAt < started);
+                }
+            }
+        }
+    }
+
+    private void flushQueued() {
+        while (!pendingWrites.isEmpty()) {
+            List<PendingPass> batch = new ArrayList<>(Math.max(1, Math.min(pendingCount.get(), MAX_BATCH_SIZE)));
+            PendingPass next;
+            while (batch.size() < MAX_BATCH_SIZE && (next = pendingWrites.poll()) != null) {
+                batch.add(next);
+                pendingCount.decrementAndGet();
+            }
+            if (batch.isEmpty()) return;
+            try {
+                batch.removeIf(this::isRemoved);
+                if (batch.isEmpty()) continue;
+                if (!databaseManager.isConnected()) {
+                    logger.warn("Dropping {} screening pass write(s): database is not connected.", batch.size());
+                    return;
+                }
+                try (Connection conn = databaseManager.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement("INSERT INTO screening_passes (player_uuid, ip_address, timestamp) VALUES (?, ?, ?)")) {
+                    for (PendingPass pass : batch) {
+                        stmt.setString(1, pass.playerUuid().toString());
+                        stmt.setString(2, pass.ip());
+                        stmt.setLong(3, pass.timestamp());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                } catch (SQLException e) {
+                    logger.error("Failed to record " + batch.size() + " screening pass(es)", e);
+                }
+            } finally {
+                for (PendingPass pass : batch) {
+                    pass.owner().unflushed.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /** Whether the pass was recorded before a removal of its player or IP. */
+    private boolean isRemoved(PendingPass pass) {
+        Long playerRemovedAt = removedPlayers.get(pass.playerUuid());
+        Long ipRemovedAt = removedIps.get(pass.ip());
+        boolean removed = (playerRemovedAt != null && pass.timestamp() <= playerRemovedAt)
+                || (ipRemovedAt != null && pass.timestamp() <= ipRemovedAt);
+        if (removed) pass.owner().unflushed.decrementAndGet();
+        return removed;
+    }
+}
@@ -23,8 +23,6 @@ import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
 import org.bcnlab.beaconLabsVelocity.config.AbuseConfig;
 import org.bcnlab.beaconLabsVelocity.util.CaptchaGenerator;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
@@ -61,7 +59,10 @@ public class ScreeningService {
 
     private CaptchaGenerator.CaptchaResult tryGenerateCaptcha() {
         try {
-            return CaptchaGenerator.generate();
+            CaptchaGenerator.Style style = "palette".equalsIgnoreCase(config.getCaptchaStyle())
+                    ? CaptchaGenerator.Style.PALETTE
+                    : CaptchaGenerator.Style.MONOCHROME;
+            return CaptchaGenerator.generate(style, config.isCaptchaDither());
         } catch (Exception e) {
             if (e.getMessage() != null && e.getMessage().contains("Fontconfig")) {
                 plugin.getLogger().error("=====================================================");
@@ -249,7 +250,7 @@ public class ScreeningService {
                 if (!sessions.containsKey(player.getUniqueId())) return;
                 ScreeningSession s = sessions.get(player.getUniqueId());
                 if (s != null && !s.passed) {
-                    player.disconnect(ColorParser.parse("&cScreening timeout. Please try connecting again."));
+                    player.disconnect(ColorParser.parseCached("&cScreening timeout. Please try connecting again."));
                     sessions.remove(player.getUniqueId());
                 }
             }).delay(Duration.ofSeconds(config.getScreeningTimeout())).schedule();
@@ -285,20 +286,10 @@ public class ScreeningService {
 
                 player.sendMessage(Component.text("Screening passed! Connecting...", NamedTextColor.GREEN));
                 
-                // Save to database
-                if (plugin.getDatabaseManager() != null && plugin.getDatabaseManager().isConnected()) {
+                // Index the pass and queue the database write; never block the chat thread on JDBC
+                if (plugin.getAntiBotService() != null) {
                     String ip = player.getRemoteAddress() != null ? player.getRemoteAddress().getAddress().getHostAddress() : null;
-                    if (ip != null) {
-                        try (Connection conn = plugin.getDatabaseManager().getConnection();
-                             PreparedStatement stmt = conn.prepareStatement("INSERT INTO screening_passes (player_uuid, ip_address, timestamp) VALUES (?, ?, ?)")) {
-                            stmt.setString(1, player.getUniqueId().toString());
-                            stmt.setString(2, ip);
-                            stmt.setLong(3, System.currentTimeMillis());
-                            stmt.executeUpdate();
-                        } catch (Exception e) {
-                            plugin.getLogger().error("Failed to record screening pass", e);
-                        }
-                    }
+                    plugin.getAntiBotService().recordScreeningPass(player.getUniqueId(), ip);
                 }
 
                 if (session.originalServer != null) {
@@ -306,8 +297,14 @@ public class ScreeningService {
                 } else {
                     java.util.List<String> attemptOrder = server.getConfiguration().getAttemptConnectionOrder();
                     if (!attemptOrder.isEmpty()) {
-                        String defaultServerName = attemptOrder.get(0);
-                        Optional<RegisteredServer> defaultServer = server.getServer(defaultServerName);
+                        // A healthy lobby first, then the first healthy server of the try list
+                        BackendHealthService health = plugin.getBackendHealthService();
+                        Optional<RegisteredServer> defaultServer = Optional.empty();
+                        if (health != null) {
+                            defaultServer = health.selectFromGroup("lobby", player);
+                            if (defaultServer.isEmpty()) defaultServer = health.firstUsable(attemptOrder);
+                        }
+                        if (defaultServer.isEmpty()) defaultServer = server.getServer(attemptOrder.get(0));
                         if (defaultServer.isPresent()) {
                             player.createConnectionRequest(defaultServer.get()).connectWithIndication();
                         } else {
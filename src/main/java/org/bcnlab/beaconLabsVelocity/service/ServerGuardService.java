@@ -4,6 +4,7 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.bcnlab.beaconLabsVelocity.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
@@ -11,25 +12,44 @@ import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
- * Service to manage server guard functionality, controlling which servers players can access
+ * Service to manage server guard functionality, controlling which servers players can access.
+ * <p>
+ * {@code servers.yml} is compiled into an immutable {@link RuleSet} published through one volatile field, so a
+ * reload swaps all rules at once and checks never lock. Server names in {@code always-allowed} and
+ * {@code permissions} may be exact names, wildcards ({@code bedwars-*}) or {@code @group} references to
+ * {@code server-groups} (or {@code lobby-groups}). Exact rules win over wildcard and group rules.
+ * <p>
+ * Each player's decisions are memoized per server until LuckPerms recalculates their permissions, the rules
+ * are reloaded, or {@link #DECISION_TTL_MILLIS} passes (for permission changes LuckPerms does not report).
  */
 public class ServerGuardService {
 
+    private static final String ADMIN_PERMISSION = "beaconlabs.admin";
+    private static final long DECISION_TTL_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
     private final BeaconLabsVelocity plugin;
     private final ProxyServer server;
     private final Logger logger;
-    private ConfigurationNode config;
-    
-    private boolean defaultAllow = false;
-    private List<String> alwaysAllowedServers = Collections.emptyList();
-    private Map<String, String> serverPermissions = new HashMap<>();
+    private volatile ConfigurationNode config;
+    private volatile RuleSet rules = RuleSet.EMPTY;
+    private final Map<UUID, PlayerDecisions> decisions = new ConcurrentHashMap<>();
+    private final MetricsRegistry.Counter memoHits;
+    private final MetricsRegistry.Counter memoMisses;
     
     /**
      * Access action for the server guard
@@ -38,11 +58,64 @@ public class ServerGuardService {
         ALLOW,
         BLOCK
     }
+
+    /** What the rules say about one server: always allowed, a required permission, or the default action. */
+    private record ServerRule(boolean alwaysAllowed, String permission, String source) {}
+
+    /** Memoized decisions of one player under one rule set. */
+    private record PlayerDecisions(RuleSet rules, long createdAt, Map<String, Boolean> byServer) {}
+
+    /** A wildcard or group rule: servers matching {@code pattern} are always allowed or need {@code permission}. */
+    private record PatternRule(Pattern pattern, String permission, String source) {}
+
+    /** Compiled servers.yml rules; never modified after construction. */
+    private static final class RuleSet {
+        static final RuleSet EMPTY = new RuleSet(false, Set.of(), Map.of(), List.of(), List.of());
+
+        final boolean defaultAllow;
+        final Set<String> alwaysAllowed;
+        final Map<String, String> permissions;
+        final List<PatternRule> alwaysAllowedPatterns;
+        final List<PatternRule> permissionPatterns;
+        /** Resolved rule per server name; server names are few, so this stays small. */
+        final Map<String, ServerRule> resolved = new ConcurrentHashMap<>();
+
+        RuleSet(boolean defaultAllow, Set<String> alwaysAllowed, Map<String, String> permissions,
+                List<PatternRule> alwaysAllowedPatterns, List<PatternRule> permissionPatterns) {
+            this.defaultAllow = defaultAllow;
+            this.alwaysAllowed = alwaysAllowed;
+            this.permissions = permissions;
+            this.alwaysAllowedPatterns = alwaysAllowedPatterns;
+            this.permissionPatterns = permissionPatterns;
+        }
+
+        ServerRule resolve(String normalizedName) {
+            return resolved.computeIfAbsent(normalizedName, this::compute);
+        }
+
+        private ServerRule compute(String name) {
+            if (alwaysAllowed.contains(name)) return new ServerRule(true, null, "Always allowed server");
+            String permission = permissions.get(name);
+            if (permission != null) return new ServerRule(false, permission, null);
+            for (PatternRule rule : alwaysAllowedPatterns) {
+                if (rule.pattern().matcher(name).matches()) {
+                    return new ServerRule(true, null, "Always allowed (" + rule.source() + ")");
+                }
+            }
+            for (PatternRule rule : permissionPatterns) {
+                if (rule.pattern().matcher(name).matches()) return new ServerRule(false, rule.permission(), rule.source());
+            }
+            return new ServerRule(false, null, null);
+        }
+    }
     
     public ServerGuardService(BeaconLabsVelocity plugin, ProxyServer server, Logger logger) {
         this.plugin = plugin;
         this.server = server;
         this.logger = logger;
+        this.memoHits = plugin.getMetrics().counter("blv_server_guard_decision_cache_total", "Server guard decision lookups by result", "result", "hit");
+        this.memoMisses = plugin.getMetrics().counter("blv_server_guard_decision_cache_total", "Server guard decision lookups by result", "result", "miss");
+        plugin.getMetrics().gauge("blv_server_guard_cached_players", "Players with memoized server guard decisions", decisions::size);
         loadConfig();
     }
     
@@ -65,34 +138,93 @@ public class ServerGuardService {
                     .path(configFile)
                     .build();
                     
-            config = loader.load();
-            
-            // Parse default action
-            String defaultActionStr = config.node("default-action").getString("BLOCK");
-            defaultAllow = "ALLOW".equalsIgnoreCase(defaultActionStr);
-            
-            // Parse always allowed servers
-            alwaysAllowedServers = config.node("always-allowed").getList(String.class, Collections.emptyList());
-            
-            // Parse permission mappings
-            serverPermissions.clear();
-            ConfigurationNode permissionsNode = config.node("permissions");
+            ConfigurationNode loaded = loader.load();
+            RuleSet compiled = compile(loaded);
+            config = loaded;
+            rules = compiled;
+            decisions.clear();
             
-            for (Map.Entry<Object, ? extends ConfigurationNode> entry : permissionsNode.childrenMap().entrySet()) {
-                String serverName = entry.getKey().toString();
-                String permission = entry.getValue().getString();
-                
-                if (permission != null && !permission.isEmpty()) {
-                    serverPermissions.put(serverName.toLowerCase(), permission);
-                }
+            logger.info("Loaded server guard configuration with {} permission rules", compiled.permissions.size() + compiled.permissionPatterns.size());
+
+            // Health checks and lobby groups live in the same file
+            if (plugin.getBackendHealthService() != null) {
+                plugin.getBackendHealthService().loadConfig(loaded);
             }
             
-            logger.info("Loaded server guard configuration with {} permission rules", serverPermissions.size());
-            
         } catch (IOException e) {
             logger.error("Failed to load server guard configuration", e);
         }
     }
+
+    private RuleSet compile(ConfigurationNode root) throws IOException {
+        boolean defaultAllow = "ALLOW".equalsIgnoreCase(root.node("default-action").getString("BLOCK"));
+
+        // Named groups for @group references; server-groups first, lobby groups as a fallback
+        Map<String, List<String>> groups = new HashMap<>();
+        for (String section : new String[] {"lobby-groups", "server-groups"}) {
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : root.node(section).childrenMap().entrySet()) {
+                groups.put(entry.getKey().toString().toLowerCase(Locale.ROOT), entry.getValue().getList(String.class, Collections.emptyList()));
+            }
+        }
+
+        Set<String> alwaysAllowed = new HashSet<>();
+        List<PatternRule> alwaysAllowedPatterns = new ArrayList<>();
+        for (String entry : root.node("always-allowed").getList(String.class, Collections.emptyList())) {
+            addRule(entry, null, groups, alwaysAllowed, null, alwaysAllowedPatterns);
+        }
+
+        Map<String, String> permissions = new HashMap<>();
+        List<PatternRule> permissionPatterns = new ArrayList<>();
+        for (Map.Entry<Object, ? extends ConfigurationNode> entry : root.node("permissions").childrenMap().entrySet()) {
+            String permission = entry.getValue().getString();
+            if (permission != null && !permission.isEmpty()) {
+                addRule(entry.getKey().toString(), permission, groups, null, permissions, permissionPatterns);
+            }
+        }
+        return new RuleSet(defaultAllow, Set.copyOf(alwaysAllowed), Map.copyOf(permissions),
+                List.copyOf(alwaysAllowedPatterns), List.copyOf(permissionPatterns));
+    }
+
+    /** Add one rule: exact names go to the set or map, wildcards and groups become patterns. */
+    private void addRule(String entry, String permission, Map<String, List<String>> groups,
+                         Set<String> exactSet, Map<String, String> exactMap, List<PatternRule> patterns) {
+        String name = entry.trim().toLowerCase(Locale.ROOT);
+        if (name.isEmpty()) return;
+        if (name.startsWith("@")) {
+            List<String> members = groups.get(name.substring(1));
+            if (members == null) {
+                logger.warn("Server guard rule refers to unknown group '{}'", entry);
+                return;
+            }
+            for (String member : members) {
+                String memberName = member.trim().toLowerCase(Locale.ROOT);
+                if (memberName.isEmpty() || memberName.startsWith("@")) continue; // no nested groups
+                patterns.add(new PatternRule(glob(memberName), permission, "group " + entry.trim()));
+            }
+        } else if (name.indexOf('*') >= 0 || name.indexOf('?') >= 0) {
+            patterns.add(new PatternRule(glob(name), permission, "pattern " + entry.trim()));
+        } else if (exactSet != null) {
+            exactSet.add(name);
+        } else {
+            exactMap.put(name, permission);
+        }
+    }
+
+    /** Compile a server name glob ({@code *} any run of characters, {@code ?} one character). */
+    private static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > literalStart) regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < glob.length()) regex.append(Pattern.quote(glob.substring(literalStart)));
+        return Pattern.compile(regex.toString());
+    }
     
     /**
      * Check if a player can access a specific server
@@ -102,25 +234,41 @@ public class ServerGuardService {
      * @return true if the player can access the server, false otherwise
      */
     public boolean canAccess(Player player, String serverName) {
-        // Staff with admin permission can access any server
-        if (player.hasPermission("beaconlabs.admin")) {
-            return true;
+        RuleSet current = rules;
+        String normalizedName = serverName.toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        PlayerDecisions memo = decisions.get(player.getUniqueId());
+        if (memo == null || memo.rules() != current || now - memo.createdAt() > DECISION_TTL_MILLIS) {
+            memo = new PlayerDecisions(current, now, new ConcurrentHashMap<>());
+            decisions.put(player.getUniqueId(), memo);
         }
-        
-        // Check if server is in always allowed list
-        String normalizedName = serverName.toLowerCase();
-        if (alwaysAllowedServers.contains(normalizedName)) {
-            return true;
+        Boolean cached = memo.byServer().get(normalizedName);
+        if (cached != null) {
+            memoHits.inc();
+            return cached;
         }
-        
-        // Check if server has a permission requirement
-        String requiredPermission = serverPermissions.get(normalizedName);
-        if (requiredPermission != null) {
-            return player.hasPermission(requiredPermission);
+        memoMisses.inc();
+
+        boolean allowed = evaluate(current, player, normalizedName);
+        // An invalidation in between drops this memo, so the decision is never served stale
+        if (player.isActive()) memo.byServer().put(normalizedName, allowed);
+        return allowed;
+    }
+
+    private static boolean evaluate(RuleSet current, Player player, String normalizedName) {
+        // Staff with admin permission can access any server
+        if (player.hasPermission(ADMIN_PERMISSION)) {
+            return true;
         }
-        
-        // Return default action if no specific rules match
-        return defaultAllow;
+        ServerRule rule = current.resolve(normalizedName);
+        if (rule.alwaysAllowed()) return true;
+        if (rule.permission() != null) return player.hasPermission(rule.permission());
+        return current.defaultAllow;
+    }
+
+    /** Drop a player's memoized decisions, e.g. after LuckPerms recalculated their permissions. */
+    public void invalidatePlayer(UUID playerUuid) {
+        if (playerUuid != null) decisions.remove(playerUuid);
     }
     
     /**
@@ -129,7 +277,7 @@ public class ServerGuardService {
      * @return true if default is to allow, false if default is to block
      */
     public boolean isDefaultAllow() {
-        return defaultAllow;
+        return rules.defaultAllow;
     }
     
     /**
@@ -140,8 +288,6 @@ public class ServerGuardService {
      * @return A GuardStatus object containing access information
      */
     public GuardStatus getServerStatus(Player player, String serverName) {
-        String normalizedName = serverName.toLowerCase();
-        
         // Check if server exists
         Optional<RegisteredServer> registeredServer = server.getServer(serverName);
         if (registeredServer.isEmpty()) {
@@ -149,31 +295,32 @@ public class ServerGuardService {
         }
         
         // Check if player has admin permission
-        if (player.hasPermission("beaconlabs.admin")) {
-            return new GuardStatus(serverName, GuardAction.ALLOW, "Admin permission", "beaconlabs.admin");
+        if (player.hasPermission(ADMIN_PERMISSION)) {
+            return new GuardStatus(serverName, GuardAction.ALLOW, "Admin permission", ADMIN_PERMISSION);
         }
-        
-        // Check if server is in always allowed list
-        if (alwaysAllowedServers.contains(normalizedName)) {
-            return new GuardStatus(serverName, GuardAction.ALLOW, "Always allowed server", null);
+
+        RuleSet current = rules;
+        ServerRule rule = current.resolve(serverName.toLowerCase(Locale.ROOT));
+        if (rule.alwaysAllowed()) {
+            return new GuardStatus(serverName, GuardAction.ALLOW, rule.source(), null);
         }
         
         // Check if server has a permission requirement
-        String requiredPermission = serverPermissions.get(normalizedName);
-        if (requiredPermission != null) {
-            boolean hasPermission = player.hasPermission(requiredPermission);
+        if (rule.permission() != null) {
+            boolean hasPermission = player.hasPermission(rule.permission());
+            String reason = hasPermission ? "Has required permission" : "Missing required permission";
             return new GuardStatus(
                 serverName,
                 hasPermission ? GuardAction.ALLOW : GuardAction.BLOCK,
-                hasPermission ? "Has required permission" : "Missing required permission",
-                requiredPermission
+                rule.source() != null ? reason + " (" + rule.source() + ")" : reason,
+                rule.permission()
             );
         }
         
         // Return default action if no specific rules match
         return new GuardStatus(
             serverName,
-            defaultAllow ? GuardAction.ALLOW : GuardAction.BLOCK,
+            current.defaultAllow ? GuardAction.ALLOW : GuardAction.BLOCK,
             "Default action",
             null
         );
@@ -186,34 +333,33 @@ public class ServerGuardService {
      * @return A GuardStatus object containing access information
      */
     public GuardStatus getDefaultPlayerStatus(String serverName) {
-        String normalizedName = serverName.toLowerCase();
-        
         // Check if server exists
         Optional<RegisteredServer> registeredServer = server.getServer(serverName);
         if (registeredServer.isEmpty()) {
             return new GuardStatus(serverName, GuardAction.BLOCK, "Server does not exist", null);
         }
-        
-        // Check if server is in always allowed list (even a default player can access these)
-        if (alwaysAllowedServers.contains(normalizedName)) {
-            return new GuardStatus(serverName, GuardAction.ALLOW, "Always allowed server", null);
+
+        RuleSet current = rules;
+        ServerRule rule = current.resolve(serverName.toLowerCase(Locale.ROOT));
+        // Always allowed servers (even a default player can access these)
+        if (rule.alwaysAllowed()) {
+            return new GuardStatus(serverName, GuardAction.ALLOW, rule.source(), null);
         }
         
         // Check if server has a permission requirement (default player won't have permissions)
-        String requiredPermission = serverPermissions.get(normalizedName);
-        if (requiredPermission != null) {
+        if (rule.permission() != null) {
             return new GuardStatus(
                 serverName,
                 GuardAction.BLOCK,
-                "Missing required permission",
-                requiredPermission
+                rule.source() != null ? "Missing required permission (" + rule.source() + ")" : "Missing required permission",
+                rule.permission()
             );
         }
         
         // Return default action if no specific rules match
         return new GuardStatus(
             serverName,
-            defaultAllow ? GuardAction.ALLOW : GuardAction.BLOCK,
+            current.defaultAllow ? GuardAction.ALLOW : GuardAction.BLOCK,
             "Default action",
             null
         );
@@ -0,0 +1,150 @@
+package org.bcnlab.beaconLabsVelocity.service;
+
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import net.kyori.adventure.text.Component;
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import org.bcnlab.beaconLabsVelocity.BeaconLabsVelocity;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the set of online players holding each staff permission, so permission-filtered broadcasts (team chat,
+ * report and bad-word alerts, staff list) iterate only the members instead of checking every online player.
+ * <p>
+ * Membership is computed on join (after the permission provider), dropped on leave and recomputed when
+ * LuckPerms recalculates a user's data.
+ * A periodic rescan catches permission changes from other sources.
+ */
+public class StaffAudienceService {
+
+    public static final String TEAM_CHAT = "beaconlabs.teamchat";
+    public static final String CHATFILTER_ALERT = "beaconlabs.chatfilter.alert";
+    public static final String REPORT_NOTIFY = "beaconlabs.reports.notify";
+    public static final String CHAT_REPORT = "beaconlabs.chat.chatreport";
+    public static final String STAFF = "beaconlabs.visual.staff";
+    public static final String ANTI_ABUSE = "beaconlabs.antiabuse";
+
+    private static final List<String> TRACKED = List.of(TEAM_CHAT, CHATFILTER_ALERT, REPORT_NOTIFY, CHAT_REPORT, STAFF, ANTI_ABUSE);
+    private static final long RESCAN_INTERVAL_SECONDS = 60L;
+
+    private final BeaconLabsVelocity plugin;
+    private final ProxyServer server;
+    private final Logger logger;
+    private final Map<String, Map<UUID, Player>> audiences = new ConcurrentHashMap<>();
+    /** Notified with the player's UUID whenever their permissions were recalculated. */
+    private final List<Consumer<UUID>> permissionListeners = new CopyOnWriteArrayList<>();
+
+    public StaffAudienceService(BeaconLabsVelocity plugin, ProxyServer server, Logger logger) {
+        this.plugin = plugin;
+        this.server = server;
+        this.logger = logger;
+        for (String permission : TRACKED) {
+            audiences.put(permission, new ConcurrentHashMap<>());
+        }
+        // LuckPerms may enable after us; hook in with a delay like MessageService does
+        server.getScheduler().buildTask(plugin, this::hookLuckPerms).delay(2, TimeUnit.SECONDS).schedule();
+        server.getScheduler().buildTask(plugin, this::rescanAll).repeat(RESCAN_INTERVAL_SECONDS, TimeUnit.SECONDS).schedule();
+    }
+
+    /** Runs last, after the permission provider has set up the player, so the checks see their final permissions. */
+    @Subscribe(order = PostOrder.LAST)
+    public void onPostLogin(PostLoginEvent event) {
+        Player player = event.getPlayer();
+        UUID uuid = player.getUniqueId();
+        for (Map.Entry<String, Map<UUID, Player>> entry : audiences.entrySet()) {
+            if (player.hasPermission(entry.getKey())) {
+                entry.getValue().put(uuid, player);
+            }
+        }
+    }
+
+    @Subscribe
+    public void onDisconnect(DisconnectEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        for (Map<UUID, Player> members : audiences.values()) {
+            members.remove(uuid);
+        }
+    }
+
+    /**
+     * Online players holding the permission. Tracked permissions are served from the registry; anything else
+     * falls back to checking every online player.
+     */
+    public Collection<Player> getMembers(String permission) {
+        Map<UUID, Player> members = audiences.get(permission);
+        if (members != null) return members.values();
+        return server.getAllPlayers().stream().filter(p -> p.hasPermission(permission)).toList();
+    }
+
+    /** Whether the player holds the permission, answered from the registry for tracked permissions. */
+    public boolean isMember(String permission, Player player) {
+        Map<UUID, Player> members = audiences.get(permission);
+        return members != null ? members.containsKey(player.getUniqueId()) : player.hasPermission(permission);
+    }
+
+    /** Send a message to every online player holding the permission. */
+    public void broadcast(String permission, Component message) {
+        for (Player player : getMembers(permission)) {
+            player.sendMessage(message);
+        }
+    }
+
+    /** Register a callback for LuckPerms recalculations (e.g. to drop per-player caches). */
+    public void addPermissionListener(Consumer<UUID> listener) {
+        permissionListeners.add(listener);
+    }
+
+    /** Recompute one player's memberships, e.g. after a permission change. */
+    public void recompute(UUID uuid) {
+        server.getPlayer(uuid).ifPresent(this::recompute);
+    }
+
+    private void recompute(Player player) {
+        UUID uuid = player.getUniqueId();
+        boolean online = player.isActive();
+        for (Map.Entry<String, Map<UUID, Player>> entry : audiences.entrySet()) {
+            if (online && player.hasPermission(entry.getKey())) {
+                entry.getValue().put(uuid, player);
+            } else {
+                entry.getValue().remove(uuid);
+            }
+        }
+    }
+
+    private void rescanAll() {
+        for (Player player : server.getAllPlayers()) {
+            recompute(player);
+        }
+        for (Map<UUID, Player> members : audiences.values()) {
+            members.values().removeIf(p -> !p.isActive());
+        }
+    }
+
+    private void hookLuckPerms() {
+        try {
+            LuckPermsProvider.get().getEventBus().subscribe(plugin, UserDataRecalculateEvent.class, event -> {
+                UUID uuid = event.getUser().getUniqueId();
+                recompute(uuid);
+                for (Consumer<UUID> listener : permissionListeners) {
+                    listener.accept(uuid);
+                }
+            });
+        } catch (Exception | LinkageError e) {
+            logger.warn("LuckPerms not available; staff audiences will refresh every {} seconds instead.", RESCAN_INTERVAL_SECONDS);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aho-Corasick automaton over a bad-word list, compiled once and immutable afterwards (safe to share between
+ * threads). A message is scanned in a single pass, independent of the number of words.
+ * <p>
+ * Matching is normalized: case is folded, common leetspeak substitutions are mapped to letters
+ * ({@code 4 -> a}, {@code 3 -> e}, {@code $ -> s}, ...), punctuation inside a word is skipped, and a repeated
+ * letter is absorbed when the word does not itself continue with that letter, so {@code "b.a.a.d-w0rd"} matches
+ * {@code "badword"}. Whitespace is a word break: a run of it is matched as a single space, so a word never
+ * matches across two words of the message ({@code "at it"} does not contain {@code "tit"}) and configured
+ * phrases such as {@code "bad word"} still match. The exception is a word spelled out letter by letter: a gap
+ * between two single-letter tokens is skipped, so {@code "b a d w o r d"} matches {@code "badword"}. Words are
+ * normalized the same way when compiled, except that their own repeated letters are kept. Matches report
+ * positions in the original message.
+ */
+public final class BadWordMatcher {
+
+    /** A match: [start, end) in the original message, and the configured word that matched. */
+    public record Match(int start, int end, String word) {}
+
+    private static final char[] LEET = new char[128];
+
+    static {
+        LEET['0'] = 'o';
+        LEET['1'] = 'i';
+        LEET['3'] = 'e';
+        LEET['4'] = 'a';
+        LEET['5'] = 's';
+        LEET['7'] = 't';
+        LEET['8'] = 'b';
+        LEET['9'] = 'g';
+        LEET['@'] = 'a';
+        LEET['$'] = 's';
+        LEET['!'] = 'i';
+        LEET['+'] = 't';
+    }
+
+    private static final BadWordMatcher EMPTY = new BadWordMatcher(List.of());
+    /** Normalized form of any whitespace run. */
+    private static final char SPACE = ' ';
+
+    private final String[] words;
+    /** Character class per ASCII char; 0 is "not in any word". */
+    private final int[] asciiClass = new int[128];
+    private final Map<Character, Integer> otherClass = new HashMap<>();
+    private final int alphabetSize;
+    /** Full transition table: next state = delta[state * alphabetSize + class]. */
+    private final int[] delta;
+    /** Class of the character that leads into each state (0 for the root). */
+    private final int[] incoming;
+    /** Trie depth of each state, i.e. normalized length of the matched suffix. */
+    private final int[] depth;
+    /** Word ending exactly at this state, or -1. */
+    private final int[] output;
+    /** Nearest state on the failure chain that has an output, or -1. */
+    private final int[] outputLink;
+    private final int maxDepth;
+
+    private BadWordMatcher(Collection<String> source) {
+        // Normalize and de-duplicate words; keep the configured spelling for reporting
+        Map<String, String> byNormalized = new java.util.LinkedHashMap<>();
+        for (String word : source) {
+            if (word == null) continue;
+            String normalized = normalizeWord(word);
+            if (!normalized.isEmpty()) byNormalized.putIfAbsent(normalized, word);
+        }
+        this.words = byNormalized.values().toArray(new String[0]);
+        String[] patterns = byNormalized.keySet().toArray(new String[0]);
+
+        // Alphabet: every distinct character in the normalized words, plus class 0 for everything else
+        Set<Character> chars = new LinkedHashSet<>();
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) chars.add(pattern.charAt(i));
+        }
+        int next = 1;
+        for (char c : chars) {
+            if (c < 128) asciiClass[c] = next++;
+            else otherClass.put(c, next++);
+        }
+        this.alphabetSize = next;
+
+        // Trie with per-node maps during construction
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<Integer> incomingList = new ArrayList<>();
+        List<Integer> depthList = new ArrayList<>();
+        List<Integer> outputList = new ArrayList<>();
+        children.add(new HashMap<>());
+        incomingList.add(0);
+        depthList.add(0);
+        outputList.add(-1);
+        int longest = 0;
+        for (int w = 0; w < patterns.length; w++) {
+            String pattern = patterns[w];
+            longest = Math.max(longest, pattern.length());
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cls = classOf(pattern.charAt(i));
+                Integer child = children.get(state).get(cls);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new HashMap<>());
+                    incomingList.add(cls);
+                    depthList.add(i + 1);
+                    outputList.add(-1);
+                    children.get(state).put(cls, child);
+                }
+                state = child;
+            }
+            outputList.set(state, w);
+        }
+        this.maxDepth = longest;
+
+        int states = children.size();
+        this.delta = new int[states * alphabetSize];
+        this.incoming = new int[states];
+        this.depth = new int[states];
+        this.output = new int[states];
+        this.outputLink = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) {
+            incoming[s] = incomingList.get(s);
+            depth[s] = depthList.get(s);
+            output[s] = outputList.get(s);
+        }
+
+        // BFS to fill failure links and complete the transition table
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputLink[0] = -1;
+        for (int cls = 0; cls < alphabetSize; cls++) {
+            Integer child = children.get(0).get(cls);
+            if (child != null) {
+                delta[cls] = child;
+                fail[child] = 0;
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                Integer child = children.get(state).get(cls);
+                int viaFail = delta[fail[state] * alphabetSize + cls];
+                if (child == null) {
+                    delta[state * alphabetSize + cls] = viaFail;
+                } else {
+                    delta[state * alphabetSize + cls] = child;
+                    fail[child] = viaFail;
+                    outputLink[child] = output[viaFail] >= 0 ? viaFail : outputLink[viaFail];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /** Compile a matcher for the given words. Null and blank entries are ignored. */
+    public static BadWordMatcher compile(Collection<String> words) {
+        if (words == null || words.isEmpty()) return EMPTY;
+        return new BadWordMatcher(words);
+    }
+
+    public static BadWordMatcher empty() {
+        return EMPTY;
+    }
+
+    /** Number of distinct (normalized) words in the automaton. */
+    public int size() {
+        return words.length;
+    }
+
+    /** First match in the message, or null. Stops scanning at the first hit. */
+    public Match findFirst(String message) {
+        List<Match> matches = scan(message, true);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public boolean containsAny(String message) {
+        return findFirst(message) != null;
+    }
+
+    /** All matches in the message, in order of their end position (overlapping matches included). */
+    public List<Match> findAll(String message) {
+        return scan(message, false);
+    }
+
+    /**
+     * Runs two cursors over the normalized text: a plain Aho-Corasick cursor, and one that absorbs repeated
+     * letters. The plain cursor finds every literal occurrence; the second one finds stretched spellings
+     * ("baaaad") that the plain cursor cannot.
+     */
+    private List<Match> scan(String message, boolean firstOnly) {
+        if (message == null || message.isEmpty() || words.length == 0) return List.of();
+        List<Match> matches = null;
+        // Rings of original positions of the last maxDepth characters each cursor consumed, to map matches back
+        int[] plainPositions = new int[maxDepth];
+        int[] stretchPositions = new int[maxDepth];
+        int plainConsumed = 0;
+        int stretchConsumed = 0;
+        int plain = 0;
+        int stretch = 0;
+        int len = message.length();
+        // Letters in the current whitespace-delimited token, and whether the last character fed was a space
+        int tokenLetters = 0;
+        boolean lastWasSpace = true;
+        for (int i = 0; i < len; i++) {
+            char c = fold(message.charAt(i));
+            if (c == 0) continue; // punctuation inside a word
+            if (c == SPACE) {
+                while (i + 1 < len && fold(message.charAt(i + 1)) == SPACE) i++; // the whole run is one gap
+                int letters = tokenLetters;
+                tokenLetters = 0;
+                if (lastWasSpace) continue; // leading whitespace, or a gap after a token without letters
+                if (letters == 1 && nextTokenIsSingleLetter(message, i + 1)) continue; // spelled out: "b a d"
+                lastWasSpace = true;
+            } else {
+                tokenLetters++;
+                lastWasSpace = false;
+            }
+            int cls = classOf(c);
+
+            plain = delta[plain * alphabetSize + cls];
+            plainPositions[plainConsumed++ % maxDepth] = i;
+            for (int s = output[plain] >= 0 ? plain : outputLink[plain]; s >= 0; s = outputLink[s]) {
+                if (matches == null) matches = new ArrayList<>(firstOnly ? 1 : 4);
+                matches.add(new Match(plainPositions[(plainConsumed - depth[s]) % maxDepth], i + 1, words[output[s]]));
+                if (firstOnly) return matches;
+            }
+
+            int next = delta[stretch * alphabetSize + cls];
+            if (stretch != 0 && cls != 0 && incoming[stretch] == cls && depth[next] != depth[stretch] + 1) {
+                continue; // repeated letter the current word doesn't continue with: absorb it
+            }
+            stretch = next;
+            stretchPositions[stretchConsumed++ % maxDepth] = i;
+            if (stretch == plain) continue; // same matches as the plain cursor
+            for (int s = output[stretch] >= 0 ? stretch : outputLink[stretch]; s >= 0; s = outputLink[s]) {
+                if (reportsWord(plain, output[s])) continue;
+                if (matches == null) matches = new ArrayList<>(firstOnly ? 1 : 4);
+                matches.add(new Match(stretchPositions[(stretchConsumed - depth[s]) % maxDepth], i + 1, words[output[s]]));
+                if (firstOnly) return matches;
+            }
+        }
+        return matches != null ? matches : List.of();
+    }
+
+    /** Whether the token after the whitespace starting at {@code from} consists of exactly one letter or digit. */
+    private static boolean nextTokenIsSingleLetter(String message, int from) {
+        int i = from;
+        int len = message.length();
+        while (i < len && fold(message.charAt(i)) == SPACE) i++;
+        int letters = 0;
+        for (; i < len; i++) {
+            char c = fold(message.charAt(i));
+            if (c == SPACE) break;
+            if (c != 0 && ++letters > 1) return false;
+        }
+        return letters == 1;
+    }
+
+    private boolean reportsWord(int state, int word) {
+        for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+            if (output[s] == word) return true;
+        }
+        return false;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) return asciiClass[c];
+        Integer cls = otherClass.get(c);
+        return cls != null ? cls : 0;
+    }
+
+    /** Normalized form of one message character: {@link #SPACE} for whitespace, 0 for other separators. */
+    private static char fold(char c) {
+        if (c < 128 && LEET[c] != 0) return LEET[c];
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) return SPACE;
+        if (!Character.isLetterOrDigit(c)) return 0;
+        return Character.toLowerCase(c);
+    }
+
+    /** Folded word with whitespace runs collapsed to one space and trimmed. */
+    private static String normalizeWord(String word) {
+        StringBuilder out = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = fold(word.charAt(i));
+            if (c == 0) continue;
+            if (c == SPACE && (out.length() == 0 || out.charAt(out.length() - 1) == SPACE)) continue;
+            out.append(c);
+        }
+        int end = out.length();
+        if (end > 0 && out.charAt(end - 1) == SPACE) out.setLength(end - 1);
+        return out.toString();
+    }
+}
@@ -5,12 +5,67 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 public class CaptchaGenerator {
 
     private static final SecureRandom RANDOM = new SecureRandom();
     private static final String CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789"; // Removed confusing chars like I, 1, O, 0
+    private static final int SIZE = 128;
+
+    private static final byte MAP_BLACK = 119; // COLOR_BLACK, darkest shade
+    private static final byte MAP_WHITE = 34;  // SNOW, normal shade
+
+    /**
+     * Threshold lookup indexed by r + g + b (0..765). Replaces the per-pixel Color allocation and division
+     * of the old path with a single array read.
+     */
+    private static final byte[] BRIGHTNESS_LUT = new byte[766];
+
+    /**
+     * Base map colors 1..35 (RGB). Limited to the 1.8 palette so the map renders identically on every client
+     * version ViaVersion may be translating for. Each base expands to 4 shades; map byte = base * 4 + shade.
+     */
+    private static final int[] BASE_COLORS = {
+            0x7FB238, 0xF7E9A3, 0xC7C7C7, 0xFF0000, 0xA0A0FF, 0xA7A7A7, 0x007C00, 0xFFFFFF, 0xA4A8B8,
+            0x976D4D, 0x707070, 0x4040FF, 0x8F7748, 0xFFFCF5, 0xD87F33, 0xB24CD8, 0x6699D8, 0xE5E533,
+            0x7FCC19, 0xF27FA5, 0x4C4C4C, 0x999999, 0x4C7F99, 0x7F3FB2, 0x334CB2, 0x664C33, 0x667F33,
+            0x993333, 0x191919, 0xFAEE4D, 0x5CDBD5, 0x4A80FF, 0x00D93A, 0x815631, 0x700200
+    };
+    private static final int[] SHADE_MULTIPLIERS = {180, 220, 255, 135};
+
+    /** Full palette expanded from {@link #BASE_COLORS}, indexed by map byte. Index 0..3 (transparent) unused. */
+    private static final int[] PALETTE_RGB = new int[(BASE_COLORS.length + 1) * 4];
+
+    /** Nearest palette entry for each 5-bit-per-channel RGB cube cell; built lazily on first palette captcha. */
+    private static volatile byte[] nearestColorCube;
+
+    static {
+        for (int sum = 0; sum < BRIGHTNESS_LUT.length; sum++) {
+            BRIGHTNESS_LUT[sum] = sum / 3 < 128 ? MAP_BLACK : MAP_WHITE;
+        }
+        for (int base = 1; base <= BASE_COLORS.length; base++) {
+            int rgb = BASE_COLORS[base - 1];
+            for (int shade = 0; shade < 4; shade++) {
+                int m = SHADE_MULTIPLIERS[shade];
+                int r = ((rgb >> 16) & 0xFF) * m / 255;
+                int g = ((rgb >> 8) & 0xFF) * m / 255;
+                int b = (rgb & 0xFF) * m / 255;
+                PALETTE_RGB[base * 4 + shade] = (r << 16) | (g << 8) | b;
+            }
+        }
+    }
+
+    /** How the rendered captcha is reduced to map colors. */
+    public enum Style {
+        /** Black text on white, thresholded. Cheapest and readable on every client. */
+        MONOCHROME,
+        /** Colored noise and text quantized to the nearest map color. Harder for OCR bots to segment. */
+        PALETTE
+    }
 
     public static class CaptchaResult {
         public final String text;
@@ -23,10 +78,23 @@ public class CaptchaGenerator {
     }
 
     public static CaptchaResult generate() {
+        return generate(Style.MONOCHROME, false);
+    }
+
+    /**
+     * Generate a captcha with the given map color style.
+     *
+     * @param style  color reduction style
+     * @param dither apply Floyd-Steinberg dithering (only used with {@link Style#PALETTE})
+     */
+    public static CaptchaResult generate(Style style, boolean dither) {
         String text = generateText(5);
+        if (style == Style.PALETTE) {
+            BufferedImage image = renderColoredText(text);
+            return new CaptchaResult(text, quantizeToPalette(image, dither));
+        }
         BufferedImage image = renderText(text);
-        byte[] colors = convertToMapColors(image);
-        return new CaptchaResult(text, colors);
+        return new CaptchaResult(text, convertToMapColors(image));
     }
 
     private static String generateText(int length) {
@@ -75,21 +143,180 @@ public class CaptchaGenerator {
         return image;
     }
 
+    private static BufferedImage renderColoredText(String text) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+
+        // Light, random-hued background so thresholding alone cannot isolate the glyphs
+        g.setColor(Color.getHSBColor(RANDOM.nextFloat(), 0.25f, 0.95f));
+        g.fillRect(0, 0, SIZE, SIZE);
+
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // Colored noise lines and dots
+        for (int i = 0; i < 25; i++) {
+            g.setColor(Color.getHSBColor(RANDOM.nextFloat(), 0.6f, 0.4f + RANDOM.nextFloat() * 0.5f));
+            g.drawLine(RANDOM.nextInt(SIZE), RANDOM.nextInt(SIZE), RANDOM.nextInt(SIZE), RANDOM.nextInt(SIZE));
+        }
+        for (int i = 0; i < 200; i++) {
+            g.setColor(Color.getHSBColor(RANDOM.nextFloat(), 0.7f, RANDOM.nextFloat()));
+            g.fillRect(RANDOM.nextInt(SIZE), RANDOM.nextInt(SIZE), 1, 1);
+        }
+
+        // Dark, saturated glyphs with per-character hue
+        g.setFont(new Font("Arial", Font.BOLD, 32));
+        int x = 10;
+        for (int i = 0; i < text.length(); i++) {
+            g.setColor(Color.getHSBColor(RANDOM.nextFloat(), 0.9f, 0.35f));
+            int y = 60 + RANDOM.nextInt(20);
+            g.drawString(String.valueOf(text.charAt(i)), x, y);
+            x += 22;
+        }
+
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Direct access to the packed RGB pixels of an int-backed image, or {@code null} when the raster
+     * is not a single-bank {@link DataBufferInt} (callers then fall back to {@link BufferedImage#getRGB}).
+     */
+    private static int[] intPixels(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB && image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            return null;
+        }
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        if (!(buffer instanceof DataBufferInt) || buffer.getNumBanks() != 1) {
+            return null;
+        }
+        int[] data = ((DataBufferInt) buffer).getData();
+        return data.length >= SIZE * SIZE ? data : null;
+    }
+
     private static byte[] convertToMapColors(BufferedImage image) {
-        byte[] mapColors = new byte[128 * 128];
-        for (int y = 0; y < 128; y++) {
-            for (int x = 0; x < 128; x++) {
+        byte[] mapColors = new byte[SIZE * SIZE];
+        int[] pixels = intPixels(image);
+        if (pixels != null) {
+            for (int i = 0; i < mapColors.length; i++) {
+                int rgb = pixels[i];
+                mapColors[i] = BRIGHTNESS_LUT[((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)];
+            }
+            return mapColors;
+        }
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
                 int rgb = image.getRGB(x, y);
-                Color c = new Color(rgb);
-                // Simple threshold: if it's dark, make it black (119). If it's light, make it white (34).
-                int brightness = (c.getRed() + c.getGreen() + c.getBlue()) / 3;
-                if (brightness < 128) {
-                    mapColors[y * 128 + x] = 119; // Map color for Black
-                } else {
-                    mapColors[y * 128 + x] = 34; // Map color for White
-                }
+                mapColors[y * SIZE + x] = BRIGHTNESS_LUT[((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)];
+            }
+        }
+        return mapColors;
+    }
+
+    private static byte[] quantizeToPalette(BufferedImage image, boolean dither) {
+        byte[] cube = nearestColorCube();
+        int[] pixels = intPixels(image);
+        if (pixels == null) {
+            pixels = image.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+        }
+        byte[] mapColors = new byte[SIZE * SIZE];
+
+        if (!dither) {
+            for (int i = 0; i < mapColors.length; i++) {
+                int rgb = pixels[i];
+                mapColors[i] = cube[cubeIndex((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF)];
+            }
+            return mapColors;
+        }
+
+        // Floyd-Steinberg; error for the current and next row, 3 channels each, padded by one pixel on both sides
+        int rowLen = (SIZE + 2) * 3;
+        int[] errCur = new int[rowLen];
+        int[] errNext = new int[rowLen];
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int rgb = pixels[y * SIZE + x];
+                int e = (x + 1) * 3;
+                int r = clamp(((rgb >> 16) & 0xFF) + (errCur[e] >> 4));
+                int g = clamp(((rgb >> 8) & 0xFF) + (errCur[e + 1] >> 4));
+                int b = clamp((rgb & 0xFF) + (errCur[e + 2] >> 4));
+
+                byte color = cube[cubeIndex(r, g, b)];
+                mapColors[y * SIZE + x] = color;
+
+                int chosen = PALETTE_RGB[color & 0xFF];
+                int er = r - ((chosen >> 16) & 0xFF);
+                int eg = g - ((chosen >> 8) & 0xFF);
+                int eb = b - (chosen & 0xFF);
+
+                // Weights in sixteenths: right 7, below-left 3, below 5, below-right 1
+                errCur[e + 3] += er * 7;
+                errCur[e + 4] += eg * 7;
+                errCur[e + 5] += eb * 7;
+                errNext[e - 3] += er * 3;
+                errNext[e - 2] += eg * 3;
+                errNext[e - 1] += eb * 3;
+                errNext[e] += er * 5;
+                errNext[e + 1] += eg * 5;
+                errNext[e + 2] += eb * 5;
+                errNext[e + 3] += er;
+                errNext[e + 4] += eg;
+                errNext[e + 5] += eb;
             }
+            int[] swap = errCur;
+            errCur = errNext;
+            errNext = swap;
+            Arrays.fill(errNext, 0);
         }
         return mapColors;
     }
+
+    private static int clamp(int v) {
+        return v < 0 ? 0 : Math.min(v, 255);
+    }
+
+    private static int cubeIndex(int r, int g, int b) {
+        return ((r >> 3) << 10) | ((g >> 3) << 5) | (b >> 3);
+    }
+
+    private static byte[] nearestColorCube() {
+        byte[] cube = nearestColorCube;
+        if (cube != null) return cube;
+        synchronized (CaptchaGenerator.class) {
+            if (nearestColorCube == null) {
+                nearestColorCube = buildNearestColorCube();
+            }
+            return nearestColorCube;
+        }
+    }
+
+    private static byte[] buildNearestColorCube() {
+        byte[] cube = new byte[32 * 32 * 32];
+        for (int ri = 0; ri < 32; ri++) {
+            for (int gi = 0; gi < 32; gi++) {
+                for (int bi = 0; bi < 32; bi++) {
+                    // Sample the cell center
+                    int r = (ri << 3) | 4;
+                    int g = (gi << 3) | 4;
+                    int b = (bi << 3) | 4;
+                    int best = 4;
+                    long bestDist = Long.MAX_VALUE;
+                    for (int i = 4; i < PALETTE_RGB.length; i++) {
+                        int p = PALETTE_RGB[i];
+                        int dr = r - ((p >> 16) & 0xFF);
+                        int dg = g - ((p >> 8) & 0xFF);
+                        int db = b - (p & 0xFF);
+                        // Weighted euclidean distance (approximates perceived difference)
+                        long dist = 2L * dr * dr + 4L * dg * dg + 3L * db * db;
+                        if (dist < bestDist) {
+                            bestDist = dist;
+                            best = i;
+                        }
+                    }
+                    cube[(ri << 10) | (gi << 5) | bi] = (byte) best;
+                }
+            }
+        }
+        return cube;
+    }
 }
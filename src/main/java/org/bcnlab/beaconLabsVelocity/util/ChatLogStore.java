@@ -0,0 +1,453 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only per-player log files written by a single background thread.
+ * <p>
+ * Lines are queued by any thread and encoded into a per-player buffer on the writer thread. Buffers are written
+ * when they fill up, when {@link #FLUSH_BYTES} are pending in total, or {@link #FLUSH_INTERVAL_MS} after the
+ * last write, so a busy chat costs well under one write call per line. Open files are kept in an LRU of
+ * {@link FileChannel}s, so active players never reopen their file.
+ * <p>
+ * The active segment is {@code <uuid>.log}. Once it passes {@link #SEGMENT_BYTES} it is renamed to
+ * {@code <uuid>.<millis>.log.gz} (gzip-compressed), and only the newest {@link #MAX_OLD_SEGMENTS} rotated
+ * segments per player are kept.
+ */
+public class ChatLogStore {
+
+    public static final long SEGMENT_BYTES = 1024L * 1024L;
+    public static final int MAX_OLD_SEGMENTS = 3;
+    private static final int MAX_OPEN_FILES = 64;
+    private static final int PLAYER_BUFFER_BYTES = 16 * 1024;
+    private static final int FLUSH_BYTES = 64 * 1024;
+    private static final long FLUSH_INTERVAL_MS = 250L;
+    private static final int MAX_BATCH = 1024;
+    /** Queued by {@link #shutdown()}; the writer is not interrupted, since that would close open channels. */
+    private static final Object STOP = new Object();
+
+    public static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("dd.MM.yyyy - HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+    /** Length of a formatted timestamp, e.g. "19.10.2026 - 18:12:38". */
+    private static final int TIMESTAMP_LENGTH = 21;
+
+    private final Path directory;
+    private final Logger logger;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private boolean stopped;
+
+    /** Open files, least recently used first. Writer thread only. */
+    private final LinkedHashMap<UUID, OpenLog> open = new LinkedHashMap<>(MAX_OPEN_FILES * 2, 0.75f, true);
+    private int pendingBytes;
+    private long firstPendingAt;
+
+    private record Line(UUID playerId, String playerName, String text) {}
+
+    private record Flush(CompletableFuture<Void> done) {}
+
+    private static final class OpenLog {
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocate(PLAYER_BUFFER_BYTES);
+        long size;
+
+        OpenLog(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    public ChatLogStore(Path directory, Logger logger) {
+        this.directory = directory;
+        this.logger = logger;
+        this.writerThread = new Thread(this::writeLoop, "BeaconLabsVelocity-ChatLogger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** Active segment of the player's log; it may not exist yet. */
+    public Path activeSegment(UUID playerId) {
+        return directory.resolve(playerId + ".log");
+    }
+
+    /** A log line: {@code <timestamp> | <message>}. */
+    public static String formatLine(long timeMillis, String message) {
+        return TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(timeMillis)) + " | " + message;
+    }
+
+    /** Queue a line (without line terminator). Never blocks. */
+    public void append(UUID playerId, String playerName, String text) {
+        if (!running) return;
+        queue.offer(new Line(playerId, playerName, text));
+    }
+
+    /** Write everything queued so far; waits up to the timeout. */
+    public void flush(long timeout, TimeUnit unit) throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.offer(new Flush(done));
+        try {
+            done.get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing chat logs", e);
+        } catch (java.util.concurrent.ExecutionException | java.util.concurrent.TimeoutException e) {
+            throw new IOException("Timed out while flushing chat logs", e);
+        }
+    }
+
+    /** Stop accepting lines, write what is queued and close all files. */
+    public void shutdown() {
+        running = false;
+        queue.offer(STOP);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH);
+        while (!stopped) {
+            try {
+                long wait = pendingBytes > 0
+                        ? Math.max(1L, FLUSH_INTERVAL_MS - (System.currentTimeMillis() - firstPendingAt))
+                        : FLUSH_INTERVAL_MS;
+                Object first = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    handleBatch(batch);
+                    batch.clear();
+                }
+                if (pendingBytes >= FLUSH_BYTES
+                        || (pendingBytes > 0 && System.currentTimeMillis() - firstPendingAt >= FLUSH_INTERVAL_MS)) {
+                    flushAll();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                logger.error("Chat log writer error", e);
+            }
+        }
+        // Drain what is left, then close everything
+        queue.drainTo(batch);
+        handleBatch(batch);
+        flushAll();
+        for (OpenLog log : open.values()) {
+            closeQuietly(log.channel);
+        }
+        open.clear();
+    }
+
+    private void handleBatch(List<Object> batch) {
+        for (Object item : batch) {
+            if (item == STOP) {
+                stopped = true;
+            } else if (item instanceof Line line) {
+                try {
+                    write(line);
+                } catch (RuntimeException e) {
+                    // One bad line must not drop the rest of the batch or leave flush waiters hanging
+                    logger.error("Failed to write chat log", e);
+                }
+            } else if (item instanceof Flush flush) {
+                flushAll();
+                flush.done().complete(null);
+            }
+        }
+    }
+
+    private void write(Line line) {
+        try {
+            OpenLog log = openLog(line.playerId(), line.playerName());
+            byte[] bytes = (line.text() + "\n").getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > log.buffer.remaining()) {
+                flush(line.playerId(), log);
+                log = openLog(line.playerId(), line.playerName()); // flushing may have rotated the segment
+            }
+            if (bytes.length > log.buffer.capacity()) {
+                // Larger than the whole buffer: write it directly (the buffer was just flushed)
+                writeFully(log, ByteBuffer.wrap(bytes));
+                rotateIfFull(line.playerId(), log);
+            } else {
+                log.buffer.put(bytes);
+                if (pendingBytes == 0) firstPendingAt = System.currentTimeMillis();
+                pendingBytes += bytes.length;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write chat log", e);
+        }
+    }
+
+    private OpenLog openLog(UUID playerId, String playerName) throws IOException {
+        OpenLog log = open.get(playerId);
+        if (log != null) return log;
+        if (open.size() >= MAX_OPEN_FILES) {
+            // Unlink before flushing: a flush can rotate the segment, which modifies the map itself
+            Iterator<Map.Entry<UUID, OpenLog>> eldest = open.entrySet().iterator();
+            Map.Entry<UUID, OpenLog> entry = eldest.next();
+            UUID evictedId = entry.getKey();
+            OpenLog evicted = entry.getValue();
+            eldest.remove();
+            try {
+                flush(evictedId, evicted);
+            } catch (IOException e) {
+                logger.warn("Failed to write chat log", e);
+            } finally {
+                closeQuietly(evicted.channel);
+            }
+        }
+        FileChannel channel = FileChannel.open(activeSegment(playerId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        log = new OpenLog(channel, channel.size());
+        open.put(playerId, log);
+        if (log.size == 0) {
+            String header = "Username: " + playerName + "\n"
+                    + "UUID: " + playerId + "\n"
+                    + "File created: " + TIMESTAMP_FORMAT.format(Instant.now()) + "\n\n";
+            writeFully(log, ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
+        }
+        return log;
+    }
+
+    private void flushAll() {
+        // Copy: flushing may rotate a segment and remove it from the map
+        for (Map.Entry<UUID, OpenLog> entry : new ArrayList<>(open.entrySet())) {
+            try {
+                flush(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                logger.warn("Failed to write chat log", e);
+            }
+        }
+        pendingBytes = 0;
+    }
+
+    private void flush(UUID playerId, OpenLog log) throws IOException {
+        if (log.buffer.position() == 0) return;
+        log.buffer.flip();
+        int bytes = log.buffer.remaining();
+        try {
+            writeFully(log, log.buffer);
+        } finally {
+            log.buffer.clear();
+            pendingBytes = Math.max(0, pendingBytes - bytes);
+        }
+        rotateIfFull(playerId, log);
+    }
+
+    private void rotateIfFull(UUID playerId, OpenLog log) {
+        if (log.size >= SEGMENT_BYTES) {
+            rotate(playerId, log);
+        }
+    }
+
+    private static void writeFully(OpenLog log, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            log.size += log.channel.write(buffer);
+        }
+    }
+
+    /** Close the active segment, compress it under a timestamped name and drop the oldest rotated segments. */
+    private void rotate(UUID playerId, OpenLog log) {
+        open.remove(playerId, log);
+        closeQuietly(log.channel);
+        Path active = activeSegment(playerId);
+        Path rotated = directory.resolve(playerId + "." + System.currentTimeMillis() + ".log");
+        try {
+            Files.move(active, rotated, StandardCopyOption.REPLACE_EXISTING);
+            Path compressed = rotated.resolveSibling(rotated.getFileName() + ".gz");
+            try (InputStream in = Files.newInputStream(rotated);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                in.transferTo(out);
+            }
+            Files.delete(rotated);
+            pruneOldSegments(playerId);
+        } catch (IOException e) {
+            logger.warn("Failed to rotate chat log for {}", playerId, e);
+        }
+    }
+
+    /**
+     * The newest lines of the player's log, oldest first: at most {@code maxLines} lines, none older than
+     * {@code sinceMillis} (0 for no limit), and at most {@code maxBytes} in total. Call {@link #flush} first
+     * to include queued lines.
+     * <p>
+     * Only the last {@code maxBytes} of the active segment are read, scanning backwards from the end, so the
+     * cost does not depend on the file size. If that does not fill the request because the segment was just
+     * rotated, the newest rotated segment (at most {@link #SEGMENT_BYTES} uncompressed) supplies the rest.
+     *
+     * @return the lines, or null if the player has no log
+     */
+    public List<String> tail(UUID playerId, int maxLines, long sinceMillis, int maxBytes) throws IOException {
+        Path active = activeSegment(playerId);
+        List<Path> rotated = rotatedSegments(playerId);
+        if (!Files.exists(active) && rotated.isEmpty()) return null;
+
+        ArrayDeque<String> newestFirst = new ArrayDeque<>();
+        int[] budget = {maxBytes};
+        boolean complete = false;
+        if (Files.exists(active)) {
+            complete = tailActive(active, maxLines, sinceMillis, budget, newestFirst);
+        }
+        if (!complete && !rotated.isEmpty() && newestFirst.size() < maxLines && budget[0] > 0) {
+            tailCompressed(rotated.get(rotated.size() - 1), maxLines - newestFirst.size(), sinceMillis, budget, newestFirst);
+        }
+        List<String> out = new ArrayList<>(newestFirst.size());
+        Iterator<String> it = newestFirst.descendingIterator();
+        while (it.hasNext()) out.add(it.next());
+        return out;
+    }
+
+    /** Lines from the end of the active segment; returns true if the request was satisfied without older segments. */
+    private static boolean tailActive(Path file, int maxLines, long sinceMillis, int[] budget, ArrayDeque<String> newestFirst) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int window = (int) Math.min(size, budget[0]);
+            long start = size - window;
+            ByteBuffer buffer = ByteBuffer.allocate(window);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) break;
+            }
+            byte[] bytes = buffer.array();
+            int end = buffer.position();
+            // Scan backwards line by line; the first line of the window is partial unless it starts the file
+            for (int i = end - 1; i >= -1; i--) {
+                if (i >= 0 && bytes[i] != '\n') continue;
+                if (i < 0 && start > 0) return true; // window exhausted: the byte budget is used up
+                int lineStart = i + 1;
+                if (lineStart < end) {
+                    String line = new String(bytes, lineStart, end - lineStart, StandardCharsets.UTF_8);
+                    if (isLogLine(line)) {
+                        if (sinceMillis > 0 && lineTime(line) < sinceMillis) return true;
+                        newestFirst.addLast(line);
+                        budget[0] -= end - lineStart + 1;
+                        if (newestFirst.size() >= maxLines) return true;
+                    }
+                }
+                end = i;
+            }
+            return false;
+        }
+    }
+
+    private static void tailCompressed(Path file, int maxLines, long sinceMillis, int[] budget, ArrayDeque<String> newestFirst) throws IOException {
+        // Keep a bounded window of the newest matching lines while streaming the segment
+        ArrayDeque<String> window = new ArrayDeque<>();
+        int windowBytes = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!isLogLine(line) || (sinceMillis > 0 && lineTime(line) < sinceMillis)) continue;
+                window.addLast(line);
+                windowBytes += line.length() + 1;
+                while (window.size() > maxLines || windowBytes > budget[0]) {
+                    windowBytes -= window.removeFirst().length() + 1;
+                }
+            }
+        }
+        Iterator<String> it = window.descendingIterator();
+        while (it.hasNext()) newestFirst.addLast(it.next());
+        budget[0] -= windowBytes;
+    }
+
+    /** The header lines written when the segment was created ("Username: ...", "UUID: ..."). */
+    public List<String> header(UUID playerId) throws IOException {
+        Path active = activeSegment(playerId);
+        if (!Files.exists(active)) return List.of();
+        List<String> out = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(active, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && !line.isEmpty() && out.size() < 4) {
+                out.add(line);
+            }
+        }
+        return out;
+    }
+
+    /** Whether the line is a timestamped entry (and not a header line). */
+    private static boolean isLogLine(String line) {
+        return line.length() >= TIMESTAMP_LENGTH + 3 && line.startsWith(" | ", TIMESTAMP_LENGTH);
+    }
+
+    /** Timestamp of a log line in epoch millis, or -1 if it cannot be parsed. Reads the fixed-width digits directly. */
+    private static long lineTime(String line) {
+        int day = digits(line, 0), month = digits(line, 3), year = digits(line, 6) * 100 + digits(line, 8);
+        int hour = digits(line, 13), minute = digits(line, 16), second = digits(line, 19);
+        if (day < 0 || month < 0 || year < 0 || hour < 0 || minute < 0 || second < 0) return -1L;
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeException e) {
+            return -1L;
+        }
+    }
+
+    private static int digits(String s, int at) {
+        int hi = s.charAt(at) - '0', lo = s.charAt(at + 1) - '0';
+        return hi >= 0 && hi <= 9 && lo >= 0 && lo <= 9 ? hi * 10 + lo : -1;
+    }
+
+    /** Rotated segments of the player, oldest first. */
+    public List<Path> rotatedSegments(UUID playerId) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, playerId + ".*.log.gz")) {
+            for (Path path : stream) segments.add(path);
+        }
+        // Names differ only in the millisecond timestamp, which has a fixed width for centuries
+        segments.sort(null);
+        return segments;
+    }
+
+    private void pruneOldSegments(UUID playerId) throws IOException {
+        List<Path> segments = rotatedSegments(playerId);
+        for (int i = 0; i < segments.size() - MAX_OLD_SEGMENTS; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) { }
+    }
+}
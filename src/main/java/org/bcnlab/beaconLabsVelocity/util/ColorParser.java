@@ -3,42 +3,90 @@ package org.bcnlab.beaconLabsVelocity.util;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ColorParser {
     private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
 
-    
+    /** MiniMessage tag for each legacy code character (after '&'); null for characters that are not codes. */
+    private static final String[] LEGACY_TAGS = new String[128];
+
+    /** Upper bound for {@link #parseCached}; the cache is simply dropped when it grows past this. */
+    private static final int MAX_CACHED_TEMPLATES = 512;
+    private static final Map<String, Component> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
+    static {
+        LEGACY_TAGS['0'] = "<black>";
+        LEGACY_TAGS['1'] = "<dark_blue>";
+        LEGACY_TAGS['2'] = "<dark_green>";
+        LEGACY_TAGS['3'] = "<dark_aqua>";
+        LEGACY_TAGS['4'] = "<dark_red>";
+        LEGACY_TAGS['5'] = "<dark_purple>";
+        LEGACY_TAGS['6'] = "<gold>";
+        LEGACY_TAGS['7'] = "<gray>";
+        LEGACY_TAGS['8'] = "<dark_gray>";
+        LEGACY_TAGS['9'] = "<blue>";
+        LEGACY_TAGS['a'] = "<green>";
+        LEGACY_TAGS['b'] = "<gold>";
+        LEGACY_TAGS['c'] = "<red>";
+        LEGACY_TAGS['d'] = "<light_purple>";
+        LEGACY_TAGS['e'] = "<gold>";
+        LEGACY_TAGS['f'] = "<gray>";
+        LEGACY_TAGS['k'] = "<obfuscated>";
+        LEGACY_TAGS['l'] = "<bold>";
+        LEGACY_TAGS['m'] = "<strikethrough>";
+        LEGACY_TAGS['n'] = "<underlined>";
+        LEGACY_TAGS['o'] = "<italic>";
+        LEGACY_TAGS['r'] = "<reset>";
+    }
+
     public static Component heading(String title) {
-        return parse("&6&m-------&r&6 " + title + " &6&m--------");
+        return parseCached("&6&m-------&r&6 " + title + " &6&m--------");
     }
 
     public static Component parse(String text) {
         if (text == null) return Component.empty();
-        
-        // Convert legacy color codes to MiniMessage tags
-        String parsed = text
-            .replace("&0", "<black>")
-            .replace("&1", "<dark_blue>")
-            .replace("&2", "<dark_green>")
-            .replace("&3", "<dark_aqua>")
-            .replace("&4", "<dark_red>")
-            .replace("&5", "<dark_purple>")
-            .replace("&6", "<gold>")
-            .replace("&7", "<gray>")
-            .replace("&8", "<dark_gray>")
-            .replace("&9", "<blue>")
-            .replace("&a", "<green>")
-            .replace("&b", "<gold>")
-            .replace("&c", "<red>")
-            .replace("&d", "<light_purple>")
-            .replace("&e", "<gold>")
-            .replace("&f", "<gray>")
-            .replace("&k", "<obfuscated>")
-            .replace("&l", "<bold>")
-            .replace("&m", "<strikethrough>")
-            .replace("&n", "<underlined>")
-            .replace("&o", "<italic>")
-            .replace("&r", "<reset>");
-            
-        return MINI_MESSAGE.deserialize(parsed);
+        return MINI_MESSAGE.deserialize(translateLegacy(text));
+    }
+
+    /**
+     * Same as {@link #parse} but memoizes the result. Use for static templates (config messages, usage lines,
+     * headings) that are rendered repeatedly; components are immutable, so the result can be shared.
+     */
+    public static Component parseCached(String text) {
+        if (text == null) return Component.empty();
+        Component cached = TEMPLATE_CACHE.get(text);
+        if (cached != null) return cached;
+        Component parsed = parse(text);
+        if (TEMPLATE_CACHE.size() >= MAX_CACHED_TEMPLATES) {
+            TEMPLATE_CACHE.clear();
+        }
+        TEMPLATE_CACHE.put(text, parsed);
+        return parsed;
+    }
+
+    /** Convert legacy '&' color codes to MiniMessage tags in a single scan. */
+    public static String translateLegacy(String text) {
+        int first = text.indexOf('&');
+        if (first < 0) return text;
+
+        int len = text.length();
+        StringBuilder out = new StringBuilder(len + 32);
+        out.append(text, 0, first);
+        for (int i = first; i < len; i++) {
+            char c = text.charAt(i);
+            if (c == '&' && i + 1 < len) {
+                char code = text.charAt(i + 1);
+                String tag = code < 128 ? LEGACY_TAGS[code] : null;
+                if (tag != null) {
+                    out.append(tag);
+                    i++;
+                    continue;
+                }
+            }
+            out.append(c);
+        }
+        return out.toString();
     }
 }
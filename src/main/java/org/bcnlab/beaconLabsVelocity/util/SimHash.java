@@ -0,0 +1,66 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+/**
+ * 64-bit SimHash over character trigrams, for near-duplicate text detection. Similar texts get fingerprints
+ * with a small Hamming distance ({@link #distance}), so "buy now!!" and "Buy n0w" land a few bits apart while
+ * unrelated texts differ in about half the bits.
+ * <p>
+ * Case is folded and anything that is not a letter or digit is skipped. Hashing allocates nothing: the caller
+ * passes a reusable scratch array of {@link #SCRATCH_SIZE} ints.
+ */
+public final class SimHash {
+
+    public static final int SCRATCH_SIZE = 64;
+
+    private SimHash() {}
+
+    /**
+     * Fingerprint of the text, or 0 if it has no letters or digits.
+     *
+     * @param scratch reusable array of at least {@link #SCRATCH_SIZE} ints (overwritten)
+     */
+    public static long hash(CharSequence text, int[] scratch) {
+        java.util.Arrays.fill(scratch, 0, SCRATCH_SIZE, 0);
+        long a = 0, b = 0, c = 0;
+        int count = 0;
+        int len = text.length();
+        for (int i = 0; i < len; i++) {
+            char ch = text.charAt(i);
+            if (!Character.isLetterOrDigit(ch)) continue;
+            a = b;
+            b = c;
+            c = Character.toLowerCase(ch);
+            if (++count >= 3) {
+                add(scratch, mix((a << 32) | (b << 16) | c));
+            }
+        }
+        if (count == 0) return 0L;
+        if (count < 3) {
+            // Too short for a trigram: the whole text is the only feature
+            add(scratch, mix((a << 32) | (b << 16) | c | ((long) count << 48)));
+        }
+        long out = 0L;
+        for (int bit = 0; bit < SCRATCH_SIZE; bit++) {
+            if (scratch[bit] > 0) out |= 1L << bit;
+        }
+        return out;
+    }
+
+    /** Number of differing bits between two fingerprints (0..64). */
+    public static int distance(long x, long y) {
+        return Long.bitCount(x ^ y);
+    }
+
+    private static void add(int[] acc, long h) {
+        for (int bit = 0; bit < SCRATCH_SIZE; bit++) {
+            acc[bit] += ((h >>> bit) & 1L) != 0 ? 1 : -1;
+        }
+    }
+
+    private static long mix(long key) {
+        // SplitMix64 finalizer
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+}
@@ -0,0 +1,187 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size table of token buckets keyed by a {@code long} (e.g. a packed IP address).
+ * <p>
+ * Buckets live in primitive open-addressing arrays, so tracking a key allocates nothing. Expiry uses a
+ * two-slot time wheel: keys touched in the current window live in the current slot, and every
+ * {@code windowNanos} the previous slot is discarded and the current one becomes previous. A key idle for
+ * two windows is therefore forgotten (its bucket would have refilled anyway). When a slot is full, new keys
+ * share one overflow bucket, so memory stays bounded and a spoofed-source flood is still rate limited as a
+ * whole. The table is split into independently locked stripes to keep contention low on Netty threads.
+ */
+public class TokenBucketTable {
+
+    private static final int STRIPES = 16;
+    /** Token amounts are stored in millionths so refills need no floating point. */
+    private static final long UNIT = 1_000_000L;
+
+    private final long burstUnits;
+    private final long unitsPerSecond;
+    private final long fullRefillNanos;
+    private final long windowNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param ratePerSecond sustained tokens per second per key
+     * @param burst         bucket capacity per key (1..1000)
+     * @param maxKeys       maximum number of tracked keys (split across stripes and wheel slots)
+     * @param windowNanos   length of one wheel slot; keys idle for two slots are dropped
+     */
+    public TokenBucketTable(double ratePerSecond, int burst, int maxKeys, long windowNanos) {
+        this.burstUnits = Math.max(1, Math.min(1000, burst)) * UNIT;
+        this.unitsPerSecond = Math.max(1L, Math.round(ratePerSecond * UNIT));
+        this.fullRefillNanos = (long) Math.ceil(burstUnits * 1e9 / unitsPerSecond);
+        this.windowNanos = Math.max(1L, windowNanos);
+        int perSlot = Integer.highestOneBit(Math.max(64, maxKeys / STRIPES / 2) * 2); // power of two, ~50% load
+        long now = System.nanoTime();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perSlot, now);
+        }
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return true if the key had a token, false if it is over its rate
+     */
+    public boolean tryAcquire(long key, long nowNanos) {
+        if (key == 0) key = 1; // 0 marks empty cells
+        long hash = mix(key);
+        Stripe stripe = stripes[(int) (hash >>> 60) & (STRIPES - 1)];
+        synchronized (stripe) {
+            stripe.rotateIfDue(nowNanos, windowNanos);
+            return stripe.tryAcquire(key, hash, nowNanos);
+        }
+    }
+
+    /** Number of keys currently tracked (both wheel slots). Approximate under concurrent use. */
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.current.size + stripe.previous.size;
+            }
+        }
+        return total;
+    }
+
+    private static long mix(long key) {
+        // SplitMix64 finalizer
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+
+    private final class Stripe {
+        Slot current;
+        Slot previous;
+        long windowStart;
+        long overflowUnits;
+        long overflowRefill;
+
+        Stripe(int capacity, long now) {
+            this.current = new Slot(capacity);
+            this.previous = new Slot(capacity);
+            this.windowStart = now;
+            this.overflowUnits = burstUnits;
+            this.overflowRefill = now;
+        }
+
+        void rotateIfDue(long now, long window) {
+            if (now - windowStart < window) return;
+            Slot recycled = previous;
+            recycled.clear();
+            previous = current;
+            current = recycled;
+            windowStart = now;
+        }
+
+        boolean tryAcquire(long key, long hash, long now) {
+            int idx = current.find(key, hash);
+            if (idx < 0) {
+                // Not seen this window: carry the bucket over from the previous slot if present
+                int prev = previous.find(key, hash);
+                long units = prev >= 0 ? previous.units[prev] : burstUnits;
+                long refill = prev >= 0 ? previous.refill[prev] : now;
+                idx = current.insert(key, hash);
+                if (idx < 0) {
+                    return takeOverflow(now);
+                }
+                current.units[idx] = units;
+                current.refill[idx] = refill;
+            }
+            long units = refill(current.units[idx], current.refill[idx], now);
+            current.refill[idx] = now;
+            if (units < UNIT) {
+                current.units[idx] = units;
+                return false;
+            }
+            current.units[idx] = units - UNIT;
+            return true;
+        }
+
+        private boolean takeOverflow(long now) {
+            overflowUnits = refill(overflowUnits, overflowRefill, now);
+            overflowRefill = now;
+            if (overflowUnits < UNIT) return false;
+            overflowUnits -= UNIT;
+            return true;
+        }
+    }
+
+    private long refill(long units, long lastRefill, long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed <= 0) return units;
+        // Anything past a full refill is capped anyway; this also keeps the multiplication below in range
+        if (elapsed >= fullRefillNanos) return burstUnits;
+        return Math.min(burstUnits, units + elapsed * unitsPerSecond / 1_000_000_000L);
+    }
+
+    /** One wheel slot: linear-probing hash table with parallel primitive arrays. Key 0 marks an empty cell. */
+    private static final class Slot {
+        final long[] keys;
+        final long[] units;
+        final long[] refill;
+        final int mask;
+        final int maxSize;
+        int size;
+
+        Slot(int capacity) {
+            this.keys = new long[capacity];
+            this.units = new long[capacity];
+            this.refill = new long[capacity];
+            this.mask = capacity - 1;
+            this.maxSize = capacity / 2;
+        }
+
+        int find(long key, long hash) {
+            int i = (int) hash & mask;
+            while (true) {
+                long k = keys[i];
+                if (k == key) return i;
+                if (k == 0) return -1;
+                i = (i + 1) & mask;
+            }
+        }
+
+        int insert(long key, long hash) {
+            if (size >= maxSize) return -1;
+            int i = (int) hash & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            size++;
+            return i;
+        }
+
+        void clear() {
+            if (size == 0) return;
+            Arrays.fill(keys, 0L);
+            size = 0;
+        }
+    }
+}
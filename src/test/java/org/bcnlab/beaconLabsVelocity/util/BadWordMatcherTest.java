@@ -0,0 +1,79 @@
+package org.bcnlab.beaconLabsVelocity.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BadWordMatcherTest {
+
+    private static final BadWordMatcher MATCHER = BadWordMatcher.compile(
+            List.of("tit", "hell", "ass", "shit", "badword", "bad word"));
+
+    /** Harmless text where a word only appears when the gap between two words is ignored. */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "look at it",
+            "what it is",
+            "I think that it works",
+            "the llama is cute",
+            "she llama",
+            "say hi, he llama",
+            "was silly",
+            "as sad",
+            "this hit hard",
+            "e.g. a s  p",
+    })
+    void doesNotMatchAcrossWordBoundaries(String message) {
+        assertNull(MATCHER.findFirst(message), () -> "unexpected match in \"" + message + "\"");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "tit",
+            "T1T",
+            "t.i.t",
+            "sh!t",
+            "you are an a$$",
+            "heeellll",
+            "b.a.a.d-w0rd",
+            "badword!",
+    })
+    void matchesObfuscatedWords(String message) {
+        assertNotNull(MATCHER.findFirst(message), () -> "no match in \"" + message + "\"");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "t i t",
+            "h e l l",
+            "  h  e  l  l  ",
+            "b a d w o r d",
+    })
+    void matchesWordsSpelledOutLetterByLetter(String message) {
+        assertNotNull(MATCHER.findFirst(message), () -> "no match in \"" + message + "\"");
+    }
+
+    @Test
+    void matchesConfiguredPhraseAcrossWhitespaceRun() {
+        BadWordMatcher.Match match = MATCHER.findFirst("so   bad \t word here");
+        assertNotNull(match);
+        assertEquals("bad word", match.word());
+        assertEquals(5, match.start());
+        assertEquals(15, match.end());
+    }
+
+    @Test
+    void reportsPositionsInOriginalMessage() {
+        BadWordMatcher.Match match = MATCHER.findFirst("oh h.e.l.l no");
+        assertNotNull(match);
+        assertEquals("hell", match.word());
+        assertEquals(3, match.start());
+        assertEquals(10, match.end());
+    }
+}